@@ -0,0 +1,38 @@
+package com.sgivu.purchasesale.client;
+
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * Crea las peticiones con el cliente HTTP compartido y un tiempo máximo de lectura que nunca supera
+ * el tiempo restante de la petición en curso, para que una llamada lenta se aborte al vencer el
+ * plazo.
+ */
+public class DeadlineAwareRequestFactory implements ClientHttpRequestFactory {
+
+  private final HttpClient httpClient;
+  private final Executor executor = new SimpleAsyncTaskExecutor("downstream-body-");
+  private final Duration readTimeout;
+
+  public DeadlineAwareRequestFactory(HttpClient httpClient, Duration readTimeout) {
+    this.httpClient = httpClient;
+    this.readTimeout = readTimeout;
+  }
+
+  @Override
+  public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+    JdkClientHttpRequestFactory requestFactory =
+        new JdkClientHttpRequestFactory(httpClient, executor);
+    requestFactory.setReadTimeout(RequestDeadline.cap(readTimeout));
+    return requestFactory.createRequest(uri, httpMethod);
+  }
+}
@@ -0,0 +1,43 @@
+package com.sgivu.purchasesale.client;
+
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Reenvía el tiempo restante de la petición en {@link RequestDeadline#HEADER} para que el servicio
+ * llamado descarte trabajo que ya llega tarde. Sin tiempo restante la llamada no se hace, y si se
+ * interrumpe porque el plazo venció se informa como {@link DeadlineExceededException}.
+ */
+public class DeadlinePropagationInterceptor implements ClientHttpRequestInterceptor {
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    Optional<Duration> remaining = RequestDeadline.remaining();
+    if (remaining.isEmpty()) {
+      return execution.execute(request, body);
+    }
+    long remainingMillis = remaining.get().toMillis();
+    if (remainingMillis <= 0) {
+      throw new DeadlineExceededException(
+          "Se agotó el plazo de la petición antes de llamar a " + request.getURI().getPath());
+    }
+    request.getHeaders().set(RequestDeadline.HEADER, Long.toString(remainingMillis));
+    try {
+      return execution.execute(request, body);
+    } catch (IOException ex) {
+      if (RequestDeadline.isExpired()) {
+        throw new DeadlineExceededException(
+            "Se agotó el plazo de la petición esperando a " + request.getURI().getPath(), ex);
+      }
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.sgivu.purchasesale.client;
+
+import com.sgivu.purchasesale.exception.DownstreamUnavailableException;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Llamadas con cobertura (hedging) para un servicio: si la respuesta tarda más que el percentil
+ * configurado de las latencias recientes, se lanza una segunda llamada, que el balanceador envía a
+ * la siguiente instancia, y gana la primera respuesta. La perdedora no se cancela: termina o vence
+ * por su tiempo de lectura, y su resultado cuenta para el circuit breaker como cualquier otro.
+ *
+ * <p>La carga extra se limita con un cupo de fichas: cada llamada suma {@code maxExtraLoad} fichas
+ * (hasta {@value #MAX_TOKENS}) y cada segunda llamada gasta una.
+ */
+public class HedgingPolicy {
+
+  static final int WINDOW = 256;
+  static final int MIN_SAMPLES = 20;
+  static final double MAX_TOKENS = 10;
+  private static final int RECOMPUTE_EVERY = 8;
+
+  private static final HedgingPolicy DIRECT = new HedgingPolicy();
+
+  private final String service;
+  private final double percentile;
+  private final long minDelayNanos;
+  private final double maxExtraLoad;
+  private final ExecutorService executor;
+
+  private final long[] samples = new long[WINDOW];
+  private int sampleCount;
+  private int nextSample;
+  private double tokens;
+  private volatile long delayNanos = -1;
+
+  private final Counter answeredCounter;
+  private final Counter hedgedCounter;
+  private final Counter throttledCounter;
+  private final Counter primaryWinsCounter;
+  private final Counter hedgeWinsCounter;
+
+  public HedgingPolicy(
+      String service,
+      double percentile,
+      Duration minDelay,
+      double maxExtraLoad,
+      ExecutorService executor,
+      MeterRegistry meterRegistry) {
+    this.service = service;
+    this.percentile = percentile;
+    this.minDelayNanos = minDelay.toNanos();
+    this.maxExtraLoad = maxExtraLoad;
+    this.executor = executor;
+    this.answeredCounter = callCounter(meterRegistry, "answered");
+    this.hedgedCounter = callCounter(meterRegistry, "hedged");
+    this.throttledCounter = callCounter(meterRegistry, "throttled");
+    this.primaryWinsCounter = winCounter(meterRegistry, "primary");
+    this.hedgeWinsCounter = winCounter(meterRegistry, "hedge");
+    TimeGauge.builder(
+            "purchase_sale.downstream.hedge.delay",
+            this,
+            TimeUnit.NANOSECONDS,
+            policy -> Math.max(policy.delayNanos, 0))
+        .tag("service", service)
+        .register(meterRegistry);
+  }
+
+  private HedgingPolicy() {
+    this.service = null;
+    this.percentile = 0;
+    this.minDelayNanos = 0;
+    this.maxExtraLoad = 0;
+    this.executor = null;
+    this.answeredCounter = null;
+    this.hedgedCounter = null;
+    this.throttledCounter = null;
+    this.primaryWinsCounter = null;
+    this.hedgeWinsCounter = null;
+  }
+
+  /** Sin cobertura: cada llamada se hace una sola vez en el hilo que la pide. */
+  public static HedgingPolicy direct() {
+    return DIRECT;
+  }
+
+  public <T> T call(Supplier<T> attempt) {
+    if (executor == null) {
+      return attempt.get();
+    }
+    earnToken();
+    long delay = delayNanos;
+    Optional<Duration> remaining = RequestDeadline.remaining();
+    if (delay < 0 || remaining.map(left -> left.toNanos() <= delay).orElse(false)) {
+      // Sin latencias suficientes o sin tiempo para una segunda llamada.
+      return timed(attempt);
+    }
+
+    CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+    try {
+      Future<T> primary = completion.submit(RequestDeadline.propagate(() -> timed(attempt)));
+      if (completion.poll(delay, TimeUnit.NANOSECONDS) != null) {
+        answeredCounter.increment();
+        return result(primary);
+      }
+      if (!tryAcquireToken()) {
+        throttledCounter.increment();
+        return result(primary);
+      }
+      hedgedCounter.increment();
+      Future<T> hedge = completion.submit(RequestDeadline.propagate(() -> timed(attempt)));
+      return firstSuccessful(completion, hedge);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new DownstreamUnavailableException(service, ex);
+    }
+  }
+
+  /** Si la primera respuesta falla se espera la otra; si ambas fallan, se lanza el primer error. */
+  private <T> T firstSuccessful(CompletionService<T> completion, Future<T> hedge)
+      throws InterruptedException {
+    Future<T> first = completion.take();
+    try {
+      T value = result(first);
+      countWin(first == hedge);
+      return value;
+    } catch (RuntimeException | Error firstFailure) {
+      Future<T> second = completion.take();
+      try {
+        T value = result(second);
+        countWin(second == hedge);
+        return value;
+      } catch (RuntimeException | Error secondFailure) {
+        throw firstFailure;
+      }
+    }
+  }
+
+  private void countWin(boolean hedgeWon) {
+    (hedgeWon ? hedgeWinsCounter : primaryWinsCounter).increment();
+  }
+
+  private <T> T timed(Supplier<T> attempt) {
+    long start = System.nanoTime();
+    T value = attempt.get();
+    record(System.nanoTime() - start);
+    return value;
+  }
+
+  private static <T> T result(Future<T> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  private synchronized void record(long latencyNanos) {
+    samples[nextSample] = latencyNanos;
+    nextSample = (nextSample + 1) % WINDOW;
+    sampleCount = Math.min(sampleCount + 1, WINDOW);
+    if (sampleCount >= MIN_SAMPLES
+        && (delayNanos < 0 || nextSample % RECOMPUTE_EVERY == 0)) {
+      long[] sorted = Arrays.copyOf(samples, sampleCount);
+      Arrays.sort(sorted);
+      int index = Math.max((int) Math.ceil(percentile * sampleCount) - 1, 0);
+      delayNanos = Math.max(sorted[index], minDelayNanos);
+    }
+  }
+
+  private synchronized void earnToken() {
+    tokens = Math.min(tokens + maxExtraLoad, MAX_TOKENS);
+  }
+
+  private synchronized boolean tryAcquireToken() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("purchase_sale.downstream.hedge.calls")
+        .tag("service", service)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private Counter winCounter(MeterRegistry meterRegistry, String winner) {
+    return Counter.builder("purchase_sale.downstream.hedge.wins")
+        .tag("service", service)
+        .tag("winner", winner)
+        .register(meterRegistry);
+  }
+}
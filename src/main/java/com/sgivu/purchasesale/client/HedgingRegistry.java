@@ -0,0 +1,49 @@
+package com.sgivu.purchasesale.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/** Una {@link HedgingPolicy} por servicio, todas con la misma configuración y el mismo ejecutor. */
+public class HedgingRegistry implements AutoCloseable {
+
+  private final boolean enabled;
+  private final double percentile;
+  private final Duration minDelay;
+  private final double maxExtraLoad;
+  private final ExecutorService executor;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, HedgingPolicy> policies = new ConcurrentHashMap<>();
+
+  public HedgingRegistry(
+      boolean enabled,
+      double percentile,
+      Duration minDelay,
+      double maxExtraLoad,
+      ExecutorService executor,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.percentile = percentile;
+    this.minDelay = minDelay;
+    this.maxExtraLoad = maxExtraLoad;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public HedgingPolicy policy(String service) {
+    if (!enabled) {
+      return HedgingPolicy.direct();
+    }
+    return policies.computeIfAbsent(
+        service,
+        name ->
+            new HedgingPolicy(name, percentile, minDelay, maxExtraLoad, executor, meterRegistry));
+  }
+
+  @Override
+  public void close() {
+    executor.close();
+  }
+}
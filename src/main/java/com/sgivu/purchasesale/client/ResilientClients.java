@@ -0,0 +1,82 @@
+package com.sgivu.purchasesale.client;
+
+import com.sgivu.purchasesale.exception.DownstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+import org.springframework.web.service.annotation.GetExchange;
+
+/**
+ * Envuelve un cliente HTTP para que cada llamada pase por el bulkhead y el circuit breaker de su
+ * servicio. Si el circuito está abierto o no queda cupo, la llamada falla de inmediato con {@link
+ * DownstreamUnavailableException}. Las consultas ({@link GetExchange}) son idempotentes y pueden
+ * repetirse según la {@link HedgingPolicy} del servicio; cada intento pasa por su propio cupo.
+ */
+public final class ResilientClients {
+
+  private ResilientClients() {}
+
+  public static <T> T wrap(
+      Class<T> clientType, T client, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+    return wrap(clientType, client, circuitBreaker, bulkhead, HedgingPolicy.direct());
+  }
+
+  public static <T> T wrap(
+      Class<T> clientType,
+      T client,
+      CircuitBreaker circuitBreaker,
+      Bulkhead bulkhead,
+      HedgingPolicy hedgingPolicy) {
+    Object proxy =
+        Proxy.newProxyInstance(
+            clientType.getClassLoader(),
+            new Class<?>[] {clientType},
+            (instance, method, args) -> {
+              if (method.getDeclaringClass() == Object.class) {
+                return invoke(client, method, args);
+              }
+              Supplier<Object> call = () -> guarded(client, method, args, circuitBreaker, bulkhead);
+              return method.isAnnotationPresent(GetExchange.class)
+                  ? hedgingPolicy.call(call)
+                  : call.get();
+            });
+    return clientType.cast(proxy);
+  }
+
+  private static Object guarded(
+      Object client,
+      Method method,
+      Object[] args,
+      CircuitBreaker circuitBreaker,
+      Bulkhead bulkhead) {
+    Supplier<Object> call = () -> invoke(client, method, args);
+    try {
+      return Bulkhead.decorateSupplier(
+              bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call))
+          .get();
+    } catch (CallNotPermittedException | BulkheadFullException ex) {
+      throw new DownstreamUnavailableException(circuitBreaker.getName(), ex);
+    }
+  }
+
+  private static Object invoke(Object client, Method method, Object[] args) {
+    try {
+      return method.invoke(client, args);
+    } catch (InvocationTargetException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (IllegalAccessException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.sgivu.purchasesale.config;
+
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class AnalyticsConfig {
+
+  /**
+   * Recalcula el agregado diario al arrancar. Útil tras crear la tabla sobre una base con datos o
+   * después de cargas masivas que no pasan por el servicio.
+   */
+  @Bean
+  @ConditionalOnProperty(
+      name = "purchase-sale.analytics.rollup.rebuild-on-startup",
+      havingValue = "true")
+  ApplicationRunner dailyRollupRebuildRunner(PurchaseSaleRollupService purchaseSaleRollupService) {
+    return args -> purchaseSaleRollupService.rebuild();
+  }
+}
@@ -1,9 +1,17 @@
 package com.sgivu.purchasesale.config;
 
 import com.sgivu.purchasesale.client.ClientServiceClient;
+import com.sgivu.purchasesale.client.DeadlineAwareRequestFactory;
+import com.sgivu.purchasesale.client.DeadlinePropagationInterceptor;
+import com.sgivu.purchasesale.client.HedgingRegistry;
+import com.sgivu.purchasesale.client.ResilientClients;
 import com.sgivu.purchasesale.client.UserServiceClient;
 import com.sgivu.purchasesale.client.VehicleServiceClient;
 import com.sgivu.purchasesale.security.JwtAuthorizationInterceptor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
@@ -19,56 +27,70 @@ public class AppConfig {
   private String internalServiceKey;
 
   private final ServicesProperties servicesProperties;
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final BulkheadRegistry bulkheadRegistry;
+  private final HedgingRegistry hedgingRegistry;
 
-  public AppConfig(ServicesProperties servicesProperties) {
+  public AppConfig(
+      ServicesProperties servicesProperties,
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      BulkheadRegistry bulkheadRegistry,
+      HedgingRegistry hedgingRegistry) {
     this.servicesProperties = servicesProperties;
+    this.circuitBreakerRegistry = circuitBreakerRegistry;
+    this.bulkheadRegistry = bulkheadRegistry;
+    this.hedgingRegistry = hedgingRegistry;
   }
 
+  /**
+   * Sin tiempos máximos, un servicio lento retiene los hilos de las peticiones indefinidamente; con
+   * ellos, sus llamadas fallan y cuentan para el circuit breaker. El tiempo de lectura se acota
+   * además por el plazo de la petición en curso, que se reenvía a cada servicio.
+   */
   @Bean
   @LoadBalanced
-  RestClient.Builder restClientBuilder(JwtAuthorizationInterceptor jwtAuthorizationInterceptor) {
-    return RestClient.builder().requestInterceptor(jwtAuthorizationInterceptor);
+  RestClient.Builder restClientBuilder(
+      JwtAuthorizationInterceptor jwtAuthorizationInterceptor,
+      @Value("${purchase-sale.downstream.connect-timeout:PT2S}") Duration connectTimeout,
+      @Value("${purchase-sale.downstream.read-timeout:PT5S}") Duration readTimeout) {
+    HttpClient httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+    return RestClient.builder()
+        .requestFactory(new DeadlineAwareRequestFactory(httpClient, readTimeout))
+        .requestInterceptor(jwtAuthorizationInterceptor)
+        .requestInterceptor(new DeadlinePropagationInterceptor());
   }
 
   @Bean
   ClientServiceClient clientServiceClient(RestClient.Builder restClientBuilder) {
-    RestClient restClient =
-        restClientBuilder
-            .clone()
-            .baseUrl(servicesProperties.getMap().get("sgivu-client").getUrl())
-            .defaultHeader("X-Internal-Service-Key", internalServiceKey)
-            .build();
-
-    RestClientAdapter adapter = RestClientAdapter.create(restClient);
-    HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(adapter).build();
-    return factory.createClient(ClientServiceClient.class);
+    return createClient(restClientBuilder, "sgivu-client", ClientServiceClient.class);
   }
 
   @Bean
   UserServiceClient userServiceClient(RestClient.Builder restClientBuilder) {
-    RestClient restClient =
-        restClientBuilder
-            .clone()
-            .baseUrl(servicesProperties.getMap().get("sgivu-user").getUrl())
-            .defaultHeader("X-Internal-Service-Key", internalServiceKey)
-            .build();
-
-    RestClientAdapter adapter = RestClientAdapter.create(restClient);
-    HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(adapter).build();
-    return factory.createClient(UserServiceClient.class);
+    return createClient(restClientBuilder, "sgivu-user", UserServiceClient.class);
   }
 
   @Bean
   VehicleServiceClient vehicleServiceClient(RestClient.Builder restClientBuilder) {
+    return createClient(restClientBuilder, "sgivu-vehicle", VehicleServiceClient.class);
+  }
+
+  private <T> T createClient(
+      RestClient.Builder restClientBuilder, String service, Class<T> clientType) {
     RestClient restClient =
         restClientBuilder
             .clone()
-            .baseUrl(servicesProperties.getMap().get("sgivu-vehicle").getUrl())
+            .baseUrl(servicesProperties.getMap().get(service).getUrl())
             .defaultHeader("X-Internal-Service-Key", internalServiceKey)
             .build();
 
     RestClientAdapter adapter = RestClientAdapter.create(restClient);
     HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(adapter).build();
-    return factory.createClient(VehicleServiceClient.class);
+    return ResilientClients.wrap(
+        clientType,
+        factory.createClient(clientType),
+        circuitBreakerRegistry.circuitBreaker(service),
+        bulkheadRegistry.bulkhead(service),
+        hedgingRegistry.policy(service));
   }
 }
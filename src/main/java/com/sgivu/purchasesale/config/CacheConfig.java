@@ -0,0 +1,78 @@
+package com.sgivu.purchasesale.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import java.time.Duration;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché de segundo nivel de Hibernate sobre JCache (Caffeine). Cada región tiene tamaño máximo y
+ * expiración propios; las escrituras por JPA invalidan las entidades y, mediante la región de
+ * marcas de tiempo, las consultas cacheadas que leen {@code purchase_sales}.
+ */
+@Configuration
+public class CacheConfig {
+
+  /** Región de las consultas de contratos por cliente, usuario y vehículo. */
+  public static final String CONTRACT_QUERY_REGION = "purchase-sale-queries";
+
+  static final String ENTITY_REGION = PurchaseSale.class.getName();
+  static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+  static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+
+  @Bean(destroyMethod = "close")
+  CacheManager hibernateCacheManager(
+      @Value("${purchase-sale.cache.entity.max-size:10000}") long entityMaxSize,
+      @Value("${purchase-sale.cache.entity.ttl:PT10M}") Duration entityTtl,
+      @Value("${purchase-sale.cache.query.max-size:2000}") long queryMaxSize,
+      @Value("${purchase-sale.cache.query.ttl:PT2M}") Duration queryTtl) {
+    CacheManager cacheManager =
+        Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    createIfAbsent(cacheManager, ENTITY_REGION, region(entityMaxSize, entityTtl));
+    createIfAbsent(cacheManager, CONTRACT_QUERY_REGION, region(queryMaxSize, queryTtl));
+    createIfAbsent(cacheManager, DEFAULT_QUERY_REGION, region(queryMaxSize, queryTtl));
+    // Las marcas de tiempo no deben expirar antes que los resultados que validan.
+    createIfAbsent(cacheManager, UPDATE_TIMESTAMPS_REGION, region(queryMaxSize, null));
+    return cacheManager;
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+      CacheManager hibernateCacheManager,
+      @Value("${purchase-sale.cache.enabled:true}") boolean enabled) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+      // Necesario para publicar aciertos y fallos por región en /actuator/metrics.
+      properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    };
+  }
+
+  private static void createIfAbsent(
+      CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration) {
+    if (cacheManager.getCache(name) == null) {
+      cacheManager.createCache(name, configuration);
+    }
+  }
+
+  private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxSize));
+    if (ttl != null) {
+      configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    }
+    return configuration;
+  }
+}
@@ -0,0 +1,62 @@
+package com.sgivu.purchasesale.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Plazos por petición. {@code endpoints} se indexa por método y patrón de la ruta, por ejemplo
+ * {@code "[POST /v1/purchase-sales]": PT5S}; un plazo cero desactiva el límite de esa ruta.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "purchase-sale.deadline")
+public class DeadlineProperties {
+
+  private Duration defaultTimeout = Duration.ofSeconds(10);
+
+  /** Tope para el plazo pedido en la cabecera. */
+  private Duration maxTimeout = Duration.ofSeconds(60);
+
+  private Map<String, Duration> endpoints =
+      new HashMap<>(
+          Map.of(
+              "GET /v1/purchase-sales/detailed", Duration.ofMinutes(1),
+              "GET /v1/purchase-sales/page/{page}/detailed", Duration.ofMinutes(1),
+              "GET /v1/purchase-sales/report/pdf", Duration.ofMinutes(2),
+              "GET /v1/purchase-sales/report/excel", Duration.ofMinutes(2)));
+
+  /**
+   * Plazo de una petición: el de la cabecera (acotado por {@code maxTimeout}) o, sin ella, el de la
+   * ruta o el predeterminado. Vacío si la ruta no tiene límite.
+   */
+  public Optional<Duration> budgetFor(String method, String pattern, String headerValue) {
+    Optional<Duration> requested = parseMillis(headerValue);
+    if (requested.isPresent()) {
+      Duration budget = requested.get();
+      return Optional.of(budget.compareTo(maxTimeout) > 0 ? maxTimeout : budget);
+    }
+    Duration configured = endpoints.getOrDefault(method + " " + pattern, defaultTimeout);
+    return configured == null || configured.isZero() || configured.isNegative()
+        ? Optional.empty()
+        : Optional.of(configured);
+  }
+
+  private static Optional<Duration> parseMillis(String headerValue) {
+    if (headerValue == null || headerValue.isBlank()) {
+      return Optional.empty();
+    }
+    try {
+      long millis = Long.parseLong(headerValue.trim());
+      return Optional.of(Duration.ofMillis(Math.max(millis, 0)));
+    } catch (NumberFormatException ex) {
+      return Optional.empty();
+    }
+  }
+}
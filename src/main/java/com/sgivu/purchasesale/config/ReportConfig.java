@@ -0,0 +1,30 @@
+package com.sgivu.purchasesale.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+@Configuration
+public class ReportConfig {
+
+  /**
+   * Ejecutor para el render de reportes particionados por mes. Usa hilos virtuales con un máximo de
+   * particiones simultáneas (por defecto, el número de núcleos) y propaga el contexto de seguridad
+   * para que el enriquecimiento reenvíe el JWT a los demás servicios.
+   */
+  @Bean(destroyMethod = "close")
+  ExecutorService reportExecutor(
+      @Value("${purchase-sale.report.partition-parallelism:0}") int partitionParallelism) {
+    int parallelism =
+        partitionParallelism > 0
+            ? partitionParallelism
+            : Runtime.getRuntime().availableProcessors();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism, Thread.ofVirtual().name("report-partition-", 0).factory());
+    return new DelegatingSecurityContextExecutorService(executor);
+  }
+}
@@ -0,0 +1,56 @@
+package com.sgivu.purchasesale.config;
+
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Fija el plazo de cada petición según {@link DeadlineProperties} antes de invocar al controlador
+ * y lo libera al terminar. Una petición que llega con el plazo agotado se rechaza con 504.
+ */
+@Component
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+  private final DeadlineProperties deadlineProperties;
+
+  public RequestDeadlineInterceptor(DeadlineProperties deadlineProperties) {
+    this.deadlineProperties = deadlineProperties;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod)) {
+      return true;
+    }
+    String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    RequestDeadline.clear();
+    deadlineProperties
+        .budgetFor(request.getMethod(), pattern, request.getHeader(RequestDeadline.HEADER))
+        .ifPresent(RequestDeadline::start);
+    if (RequestDeadline.isExpired()) {
+      // Si preHandle falla no se invoca afterCompletion de este interceptor.
+      RequestDeadline.clear();
+      throw new DeadlineExceededException("La petición llegó con el plazo agotado.");
+    }
+    return true;
+  }
+
+  /** Las respuestas asíncronas (SSE, streaming) continúan en otro hilo, sin plazo. */
+  @Override
+  public void afterConcurrentHandlingStarted(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    RequestDeadline.clear();
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    RequestDeadline.clear();
+  }
+}
@@ -0,0 +1,94 @@
+package com.sgivu.purchasesale.config;
+
+import com.sgivu.purchasesale.client.HedgingRegistry;
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Circuit breakers y bulkheads de los servicios remotos (una instancia de cada uno por servicio,
+ * con la misma configuración). Los errores 4xx no cuentan como fallos (un 404 es una respuesta
+ * válida), ni las llamadas omitidas o cortadas porque se agotó el plazo de la petición. Estados,
+ * llamadas y cupos se publican en /actuator/metrics como {@code resilience4j.*}.
+ */
+@Configuration
+public class ResilienceConfig {
+
+  @Bean
+  CircuitBreakerRegistry circuitBreakerRegistry(
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.downstream.circuit-breaker.failure-rate-threshold:50}")
+          float failureRateThreshold,
+      @Value("${purchase-sale.downstream.circuit-breaker.slow-call-duration:PT2S}")
+          Duration slowCallDuration,
+      @Value("${purchase-sale.downstream.circuit-breaker.sliding-window-size:20}")
+          int slidingWindowSize,
+      @Value("${purchase-sale.downstream.circuit-breaker.minimum-calls:10}") int minimumCalls,
+      @Value("${purchase-sale.downstream.circuit-breaker.open-duration:PT30S}")
+          Duration openDuration) {
+    CircuitBreakerConfig config =
+        CircuitBreakerConfig.custom()
+            .failureRateThreshold(failureRateThreshold)
+            .slowCallRateThreshold(failureRateThreshold)
+            .slowCallDurationThreshold(slowCallDuration)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumCalls)
+            .waitDurationInOpenState(openDuration)
+            .permittedNumberOfCallsInHalfOpenState(3)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .ignoreExceptions(HttpClientErrorException.class, DeadlineExceededException.class)
+            .build();
+    CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+
+  @Bean
+  BulkheadRegistry bulkheadRegistry(
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.downstream.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls,
+      @Value("${purchase-sale.downstream.bulkhead.max-wait:PT0S}") Duration maxWait) {
+    BulkheadConfig config =
+        BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .maxWaitDuration(maxWait)
+            .build();
+    BulkheadRegistry registry = BulkheadRegistry.of(config);
+    TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+
+  /**
+   * Segundas llamadas para las consultas lentas, desactivadas por defecto. Se lanzan cuando la
+   * respuesta tarda más que el percentil {@code percentile} de las latencias recientes (nunca antes
+   * de {@code min-delay}) y como mucho suman {@code max-extra-load} de carga extra. Los intentos
+   * corren en hilos virtuales con el contexto de seguridad de la petición.
+   */
+  @Bean
+  HedgingRegistry hedgingRegistry(
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.downstream.hedging.enabled:false}") boolean enabled,
+      @Value("${purchase-sale.downstream.hedging.percentile:0.95}") double percentile,
+      @Value("${purchase-sale.downstream.hedging.min-delay:PT0.02S}") Duration minDelay,
+      @Value("${purchase-sale.downstream.hedging.max-extra-load:0.1}") double maxExtraLoad) {
+    ExecutorService executor =
+        new DelegatingSecurityContextExecutorService(
+            Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("downstream-hedge-", 0).factory()));
+    return new HedgingRegistry(
+        enabled, percentile, minDelay, maxExtraLoad, executor, meterRegistry);
+  }
+}
@@ -0,0 +1,20 @@
+package com.sgivu.purchasesale.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+
+  public WebConfig(RequestDeadlineInterceptor requestDeadlineInterceptor) {
+    this.requestDeadlineInterceptor = requestDeadlineInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(requestDeadlineInterceptor);
+  }
+}
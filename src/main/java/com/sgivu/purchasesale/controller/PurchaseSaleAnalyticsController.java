@@ -0,0 +1,117 @@
+package com.sgivu.purchasesale.controller;
+
+import com.sgivu.purchasesale.dto.AnalyticsSummaryResponse;
+import com.sgivu.purchasesale.dto.PaymentMethodCount;
+import com.sgivu.purchasesale.dto.SnapshotSliceResponse;
+import com.sgivu.purchasesale.dto.StatusBreakdown;
+import com.sgivu.purchasesale.dto.TransactionMargin;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.enums.SnapshotDimension;
+import com.sgivu.purchasesale.service.ContractSnapshotService;
+import com.sgivu.purchasesale.service.ContractSnapshotService.SliceFilter;
+import com.sgivu.purchasesale.service.PurchaseSaleAnalyticsService;
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService;
+import com.sgivu.purchasesale.util.DateRange;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/purchase-sales/analytics")
+public class PurchaseSaleAnalyticsController {
+
+  private final PurchaseSaleAnalyticsService purchaseSaleAnalyticsService;
+  private final PurchaseSaleRollupService purchaseSaleRollupService;
+  private final ContractSnapshotService contractSnapshotService;
+
+  public PurchaseSaleAnalyticsController(
+      PurchaseSaleAnalyticsService purchaseSaleAnalyticsService,
+      PurchaseSaleRollupService purchaseSaleRollupService,
+      ContractSnapshotService contractSnapshotService) {
+    this.purchaseSaleAnalyticsService = purchaseSaleAnalyticsService;
+    this.purchaseSaleRollupService = purchaseSaleRollupService;
+    this.contractSnapshotService = contractSnapshotService;
+  }
+
+  @GetMapping("/summary")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<AnalyticsSummaryResponse> getSummary(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate) {
+    return ResponseEntity.ok(
+        purchaseSaleAnalyticsService.getSummary(DateRange.of(startDate, endDate)));
+  }
+
+  @GetMapping("/payment-methods")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<List<PaymentMethodCount>> getPaymentMethodDistribution(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate) {
+    return ResponseEntity.ok(
+        purchaseSaleAnalyticsService.getPaymentMethodDistribution(
+            DateRange.of(startDate, endDate)));
+  }
+
+  @GetMapping("/status-breakdown")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<List<StatusBreakdown>> getStatusBreakdown(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate) {
+    return ResponseEntity.ok(
+        purchaseSaleAnalyticsService.getStatusBreakdown(DateRange.of(startDate, endDate)));
+  }
+
+  @GetMapping("/margins/page/{page}")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<Page<TransactionMargin>> getCompletedSaleMargins(
+      @PathVariable Integer page,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate) {
+    return ResponseEntity.ok(
+        purchaseSaleAnalyticsService.getCompletedSaleMargins(
+            DateRange.of(startDate, endDate), PageRequest.of(page, 10)));
+  }
+
+  @GetMapping("/slice")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<SnapshotSliceResponse> slice(
+      @RequestParam(required = false) ContractType contractType,
+      @RequestParam(required = false) ContractStatus contractStatus,
+      @RequestParam(required = false) PaymentMethod paymentMethod,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+      @RequestParam(required = false) Long userId,
+      @RequestParam(required = false) SnapshotDimension groupBy) {
+    return ResponseEntity.ok(
+        contractSnapshotService.slice(
+            new SliceFilter(contractType, contractStatus, paymentMethod, month, userId),
+            groupBy));
+  }
+
+  @PostMapping("/daily-rollup/rebuild")
+  @PreAuthorize("hasAuthority('purchase_sale:update')")
+  public ResponseEntity<Map<String, Integer>> rebuildDailyRollup() {
+    return ResponseEntity.ok(Map.of("rows", purchaseSaleRollupService.rebuild()));
+  }
+}
@@ -0,0 +1,50 @@
+package com.sgivu.purchasesale.controller;
+
+import com.sgivu.purchasesale.dto.ChangeFeedResponse;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.service.PurchaseSaleChangeFeedService;
+import com.sgivu.purchasesale.service.PurchaseSaleEventStreamService;
+import com.sgivu.purchasesale.service.PurchaseSaleEventStreamService.SubscriptionFilter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/purchase-sales/changes")
+public class PurchaseSaleChangeFeedController {
+
+  private final PurchaseSaleChangeFeedService purchaseSaleChangeFeedService;
+  private final PurchaseSaleEventStreamService purchaseSaleEventStreamService;
+
+  public PurchaseSaleChangeFeedController(
+      PurchaseSaleChangeFeedService purchaseSaleChangeFeedService,
+      PurchaseSaleEventStreamService purchaseSaleEventStreamService) {
+    this.purchaseSaleChangeFeedService = purchaseSaleChangeFeedService;
+    this.purchaseSaleEventStreamService = purchaseSaleEventStreamService;
+  }
+
+  @GetMapping
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<ChangeFeedResponse> getChanges(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100") int limit) {
+    return ResponseEntity.ok(purchaseSaleChangeFeedService.getChanges(cursor, limit));
+  }
+
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public SseEmitter stream(
+      @RequestParam(required = false) Long vehicleId,
+      @RequestParam(required = false) Long clientId,
+      @RequestParam(required = false) ContractStatus contractStatus,
+      @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+    return purchaseSaleEventStreamService.subscribe(
+        new SubscriptionFilter(vehicleId, clientId, contractStatus), lastEventId);
+  }
+}
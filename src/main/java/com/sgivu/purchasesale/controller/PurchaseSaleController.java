@@ -1,16 +1,25 @@
 package com.sgivu.purchasesale.controller;
 
-import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionRequest;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionResult;
+import com.sgivu.purchasesale.dto.PurchaseSaleBatchItem;
 import com.sgivu.purchasesale.dto.PurchaseSaleRequest;
 import com.sgivu.purchasesale.dto.PurchaseSaleResponse;
 import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
+import com.sgivu.purchasesale.service.PurchaseSaleBatchService;
+import com.sgivu.purchasesale.service.PurchaseSaleCsvExportService;
 import com.sgivu.purchasesale.service.PurchaseSaleDetailService;
+import com.sgivu.purchasesale.service.PurchaseSaleNdjsonExportService;
+import com.sgivu.purchasesale.service.PurchaseSaleProjectionService;
 import com.sgivu.purchasesale.service.PurchaseSaleReportService;
 import com.sgivu.purchasesale.service.PurchaseSaleService;
+import com.sgivu.purchasesale.util.DateRange;
+import com.sgivu.purchasesale.util.DetailSelection;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -20,6 +29,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -29,25 +39,42 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/v1/purchase-sales")
 public class PurchaseSaleController {
 
+  private static final MediaType CSV_MEDIA_TYPE =
+      MediaType.parseMediaType("text/csv;charset=UTF-8");
+  private static final MediaType GZIP_MEDIA_TYPE = MediaType.parseMediaType("application/gzip");
+
   private final PurchaseSaleService purchaseSaleService;
   private final PurchaseSaleMapper purchaseSaleMapper;
   private final PurchaseSaleReportService purchaseSaleReportService;
   private final PurchaseSaleDetailService purchaseSaleDetailService;
+  private final PurchaseSaleCsvExportService purchaseSaleCsvExportService;
+  private final PurchaseSaleNdjsonExportService purchaseSaleNdjsonExportService;
+  private final PurchaseSaleBatchService purchaseSaleBatchService;
+  private final PurchaseSaleProjectionService purchaseSaleProjectionService;
 
   public PurchaseSaleController(
       PurchaseSaleService purchaseSaleService,
       PurchaseSaleMapper purchaseSaleMapper,
       PurchaseSaleReportService purchaseSaleReportService,
-      PurchaseSaleDetailService purchaseSaleDetailService) {
+      PurchaseSaleDetailService purchaseSaleDetailService,
+      PurchaseSaleCsvExportService purchaseSaleCsvExportService,
+      PurchaseSaleNdjsonExportService purchaseSaleNdjsonExportService,
+      PurchaseSaleBatchService purchaseSaleBatchService,
+      PurchaseSaleProjectionService purchaseSaleProjectionService) {
     this.purchaseSaleService = purchaseSaleService;
     this.purchaseSaleMapper = purchaseSaleMapper;
     this.purchaseSaleReportService = purchaseSaleReportService;
     this.purchaseSaleDetailService = purchaseSaleDetailService;
+    this.purchaseSaleCsvExportService = purchaseSaleCsvExportService;
+    this.purchaseSaleNdjsonExportService = purchaseSaleNdjsonExportService;
+    this.purchaseSaleBatchService = purchaseSaleBatchService;
+    this.purchaseSaleProjectionService = purchaseSaleProjectionService;
   }
 
   @PostMapping
@@ -70,6 +97,13 @@ public class PurchaseSaleController {
         .orElse(ResponseEntity.notFound().build());
   }
 
+  @GetMapping("/batch")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<List<PurchaseSaleBatchItem>> getBatch(
+      @RequestParam List<Long> ids, @RequestParam(defaultValue = "false") boolean detailed) {
+    return ResponseEntity.ok(purchaseSaleBatchService.getByIds(ids, detailed));
+  }
+
   @GetMapping
   @PreAuthorize("hasAuthority('purchase_sale:read')")
   public ResponseEntity<List<PurchaseSaleResponse>> getAll() {
@@ -80,13 +114,37 @@ public class PurchaseSaleController {
     return ResponseEntity.ok(responses);
   }
 
+  /**
+   * Con {@code fields} o {@code include} la respuesta es parcial: solo los campos pedidos (más
+   * {@code id}) y los resúmenes indicados ({@code client}, {@code user}, {@code vehicle}).
+   */
   @GetMapping("/detailed")
   @PreAuthorize("hasAuthority('purchase_sale:read')")
-  public ResponseEntity<List<PurchaseSaleDetailResponse>> getAllDetailed() {
+  public ResponseEntity<List<?>> getAllDetailed(
+      @RequestParam(required = false) List<String> fields,
+      @RequestParam(required = false) List<String> include) {
+    if (DetailSelection.isRequested(fields, include)) {
+      return ResponseEntity.ok(
+          purchaseSaleProjectionService.findDetailed(DetailSelection.parse(fields, include)));
+    }
     return ResponseEntity.ok(
         purchaseSaleDetailService.toDetails(purchaseSaleService.findAll()));
   }
 
+  /** Misma colección que {@link #getAll()}, una línea JSON por contrato. */
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<StreamingResponseBody> streamAll() {
+    return ndjson(outputStream -> purchaseSaleNdjsonExportService.writeAll(false, outputStream));
+  }
+
+  /** Misma colección que {@code GET /detailed}, enriquecida línea a línea. */
+  @GetMapping(value = "/detailed", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<StreamingResponseBody> streamAllDetailed() {
+    return ndjson(outputStream -> purchaseSaleNdjsonExportService.writeAll(true, outputStream));
+  }
+
   @GetMapping("/page/{page}")
   @PreAuthorize("hasAuthority('purchase_sale:read')")
   public ResponseEntity<Page<PurchaseSaleResponse>> getByPage(@PathVariable Integer page) {
@@ -99,9 +157,16 @@ public class PurchaseSaleController {
 
   @GetMapping("/page/{page}/detailed")
   @PreAuthorize("hasAuthority('purchase_sale:read')")
-  public ResponseEntity<Page<PurchaseSaleDetailResponse>> getDetailedPage(
-      @PathVariable Integer page) {
+  public ResponseEntity<Page<?>> getDetailedPage(
+      @PathVariable Integer page,
+      @RequestParam(required = false) List<String> fields,
+      @RequestParam(required = false) List<String> include) {
     var pageable = PageRequest.of(page, 10);
+    if (DetailSelection.isRequested(fields, include)) {
+      return ResponseEntity.ok(
+          purchaseSaleProjectionService.findDetailed(
+              DetailSelection.parse(fields, include), pageable));
+    }
     var pagedContracts = purchaseSaleService.findAll(pageable);
     var detailed = purchaseSaleDetailService.toDetails(pagedContracts.getContent());
     return ResponseEntity.ok(
@@ -120,17 +185,19 @@ public class PurchaseSaleController {
         .orElse(ResponseEntity.notFound().build());
   }
 
+  @PostMapping("/status-transitions")
+  @PreAuthorize("hasAuthority('purchase_sale:update')")
+  public ResponseEntity<List<ContractStatusTransitionResult>> transitionStatus(
+      @Valid @RequestBody ContractStatusTransitionRequest transitionRequest) {
+    return ResponseEntity.ok(purchaseSaleService.transitionStatus(transitionRequest));
+  }
+
   @DeleteMapping("/{id}")
   @PreAuthorize("hasAuthority('purchase_sale:delete')")
   public ResponseEntity<Void> deleteById(@PathVariable Long id) {
-    return purchaseSaleService
-        .findById(id)
-        .map(
-            purchaseSale -> {
-              purchaseSaleService.deleteById(id);
-              return ResponseEntity.noContent().<Void>build();
-            })
-        .orElse(ResponseEntity.notFound().build());
+    return purchaseSaleService.deleteById(id)
+        ? ResponseEntity.noContent().build()
+        : ResponseEntity.notFound().build();
   }
 
   @GetMapping("/client/{clientId}")
@@ -169,8 +236,9 @@ public class PurchaseSaleController {
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
           LocalDate startDate,
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-          LocalDate endDate) {
-    byte[] report = purchaseSaleReportService.generatePdf(startDate, endDate);
+          LocalDate endDate,
+      @RequestParam(defaultValue = "false") boolean partitionByMonth) {
+    byte[] report = purchaseSaleReportService.generatePdf(startDate, endDate, partitionByMonth);
     return ResponseEntity.ok()
         .header(HttpHeaders.CONTENT_DISPOSITION, buildContentDisposition("pdf"))
         .contentType(MediaType.APPLICATION_PDF)
@@ -185,8 +253,9 @@ public class PurchaseSaleController {
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
           LocalDate startDate,
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-          LocalDate endDate) {
-    byte[] report = purchaseSaleReportService.generateExcel(startDate, endDate);
+          LocalDate endDate,
+      @RequestParam(defaultValue = "false") boolean partitionByMonth) {
+    byte[] report = purchaseSaleReportService.generateExcel(startDate, endDate, partitionByMonth);
     return ResponseEntity.ok()
         .header(HttpHeaders.CONTENT_DISPOSITION, buildContentDisposition("xlsx"))
         .contentType(
@@ -195,6 +264,37 @@ public class PurchaseSaleController {
         .body(report);
   }
 
+  @GetMapping(value = "/report/csv")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<StreamingResponseBody> exportCsvReport(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate,
+      @RequestParam(defaultValue = "false") boolean gzip) {
+    DateRange dateRange = DateRange.of(startDate, endDate);
+    StreamingResponseBody body =
+        outputStream -> {
+          if (gzip) {
+            // Cerrarlo libera el Deflater nativo aunque la exportación falle.
+            try (GZIPOutputStream gzipOutputStream =
+                new GZIPOutputStream(StreamUtils.nonClosing(outputStream))) {
+              purchaseSaleCsvExportService.exportCsv(dateRange, gzipOutputStream);
+            }
+          } else {
+            purchaseSaleCsvExportService.exportCsv(dateRange, outputStream);
+          }
+        };
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, buildContentDisposition(gzip ? "csv.gz" : "csv"))
+        .contentType(gzip ? GZIP_MEDIA_TYPE : CSV_MEDIA_TYPE)
+        .body(body);
+  }
+
+  private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
   private String buildContentDisposition(String extension) {
     String timestamp = LocalDate.now().format(DateTimeFormatter.ISO_DATE);
     return "attachment; filename=\"reporte-compras-ventas-" + timestamp + "." + extension + "\"";
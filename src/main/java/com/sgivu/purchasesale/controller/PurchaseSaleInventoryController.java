@@ -0,0 +1,63 @@
+package com.sgivu.purchasesale.controller;
+
+import com.sgivu.purchasesale.dto.InventoryAgingSummary;
+import com.sgivu.purchasesale.dto.UnsoldVehicleAging;
+import com.sgivu.purchasesale.dto.VehicleHoldingTime;
+import com.sgivu.purchasesale.service.PurchaseSaleInventoryService;
+import com.sgivu.purchasesale.util.DateRange;
+import java.time.LocalDate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/purchase-sales/inventory")
+public class PurchaseSaleInventoryController {
+
+  private final PurchaseSaleInventoryService purchaseSaleInventoryService;
+
+  public PurchaseSaleInventoryController(
+      PurchaseSaleInventoryService purchaseSaleInventoryService) {
+    this.purchaseSaleInventoryService = purchaseSaleInventoryService;
+  }
+
+  @GetMapping("/summary")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<InventoryAgingSummary> getSummary(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate) {
+    return ResponseEntity.ok(
+        purchaseSaleInventoryService.getSummary(DateRange.of(startDate, endDate)));
+  }
+
+  @GetMapping("/holding-times/page/{page}")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<Page<VehicleHoldingTime>> getHoldingTimes(
+      @PathVariable Integer page,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate,
+      @RequestParam(defaultValue = "false") boolean ascending) {
+    return ResponseEntity.ok(
+        purchaseSaleInventoryService.getHoldingTimes(
+            DateRange.of(startDate, endDate), ascending, PageRequest.of(page, 10)));
+  }
+
+  @GetMapping("/aging/page/{page}")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<Page<UnsoldVehicleAging>> getUnsoldAging(
+      @PathVariable Integer page, @RequestParam(defaultValue = "false") boolean ascending) {
+    return ResponseEntity.ok(
+        purchaseSaleInventoryService.getUnsoldAging(ascending, PageRequest.of(page, 10)));
+  }
+}
@@ -0,0 +1,69 @@
+package com.sgivu.purchasesale.controller;
+
+import com.sgivu.purchasesale.dto.ClientLeaderboardEntry;
+import com.sgivu.purchasesale.dto.UserLeaderboardEntry;
+import com.sgivu.purchasesale.dto.VehicleLeaderboardEntry;
+import com.sgivu.purchasesale.enums.UserRankingMetric;
+import com.sgivu.purchasesale.service.PurchaseSaleLeaderboardService;
+import com.sgivu.purchasesale.util.DateRange;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/purchase-sales/leaderboards")
+public class PurchaseSaleLeaderboardController {
+
+  private final PurchaseSaleLeaderboardService purchaseSaleLeaderboardService;
+
+  public PurchaseSaleLeaderboardController(
+      PurchaseSaleLeaderboardService purchaseSaleLeaderboardService) {
+    this.purchaseSaleLeaderboardService = purchaseSaleLeaderboardService;
+  }
+
+  @GetMapping("/clients")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<List<ClientLeaderboardEntry>> getTopClients(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate,
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(
+        purchaseSaleLeaderboardService.getTopClientsByRevenue(
+            DateRange.of(startDate, endDate), limit));
+  }
+
+  @GetMapping("/users")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<List<UserLeaderboardEntry>> getTopUsers(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate,
+      @RequestParam(defaultValue = "COMPLETED_SALES") UserRankingMetric metric,
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(
+        purchaseSaleLeaderboardService.getTopUsers(
+            DateRange.of(startDate, endDate), metric, limit));
+  }
+
+  @GetMapping("/vehicles")
+  @PreAuthorize("hasAuthority('purchase_sale:read')")
+  public ResponseEntity<List<VehicleLeaderboardEntry>> getMostTradedVehicles(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate,
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(
+        purchaseSaleLeaderboardService.getMostTradedVehicles(
+            DateRange.of(startDate, endDate), limit));
+  }
+}
@@ -0,0 +1,15 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.AgingBucket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgingBucketTotals {
+  private AgingBucket agingBucket;
+  private Long vehicles;
+  private Double capitalTied;
+}
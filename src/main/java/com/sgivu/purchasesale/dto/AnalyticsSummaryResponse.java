@@ -0,0 +1,14 @@
+package com.sgivu.purchasesale.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class AnalyticsSummaryResponse {
+  long completedSales;
+  double completedSalesTotal;
+  long completedPurchases;
+  double completedPurchasesTotal;
+  Double averageMargin;
+}
@@ -0,0 +1,15 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.ChangeOperation;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ChangeFeedEntry {
+  ChangeOperation operation;
+  Long contractId;
+  LocalDateTime changedAt;
+  PurchaseSaleResponse contract;
+}
@@ -0,0 +1,13 @@
+package com.sgivu.purchasesale.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ChangeFeedResponse {
+  List<ChangeFeedEntry> changes;
+  String nextCursor;
+  boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.sgivu.purchasesale.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ClientLeaderboardEntry {
+  private int rank;
+  private Long clientId;
+  private Long completedSales;
+  private Double revenue;
+  private ClientSummary clientSummary;
+
+  public ClientLeaderboardEntry(Long clientId, Long completedSales, Double revenue) {
+    this.clientId = clientId;
+    this.completedSales = completedSales;
+    this.revenue = revenue;
+  }
+}
@@ -4,7 +4,7 @@ import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class ClientSummary {
   Long id;
   String type;
@@ -12,4 +12,30 @@ public class ClientSummary {
   String identifier;
   String email;
   Long phoneNumber;
+
+  /** Resumen de respaldo (último conocido o genérico) porque el servicio no estaba disponible. */
+  boolean degraded;
+
+  public static ClientSummary of(Person person) {
+    return ClientSummary.builder()
+        .id(person.getId())
+        .type("PERSON")
+        .name((person.getFirstName() + " " + person.getLastName()).trim())
+        .identifier(
+            person.getNationalId() != null ? "CC " + person.getNationalId() : "Persona natural")
+        .email(person.getEmail())
+        .phoneNumber(person.getPhoneNumber())
+        .build();
+  }
+
+  public static ClientSummary of(Company company) {
+    return ClientSummary.builder()
+        .id(company.getId())
+        .type("COMPANY")
+        .name(company.getCompanyName())
+        .identifier(company.getTaxId() != null ? "NIT " + company.getTaxId() : "Empresa registrada")
+        .email(company.getEmail())
+        .phoneNumber(company.getPhoneNumber())
+        .build();
+  }
 }
@@ -0,0 +1,24 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractSnapshotRow {
+  private Long id;
+  private Long userId;
+  private ContractType contractType;
+  private ContractStatus contractStatus;
+  private PaymentMethod paymentMethod;
+  private Double purchasePrice;
+  private Double salePrice;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transición de estado masiva. Los contratos se eligen por {@code ids} o, si no se informan, por
+ * los criterios de filtro ({@code contractType}, {@code clientId}, {@code vehicleId}, {@code
+ * createdBefore}); al menos uno de los dos modos es obligatorio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractStatusTransitionRequest {
+
+  private List<Long> ids;
+
+  @NotNull(message = "El estado de origen es obligatorio.")
+  private ContractStatus fromStatus;
+
+  @NotNull(message = "El estado de destino es obligatorio.")
+  private ContractStatus toStatus;
+
+  private ContractType contractType;
+
+  private Long clientId;
+
+  private Long vehicleId;
+
+  private LocalDateTime createdBefore;
+
+  public boolean hasFilter() {
+    return contractType != null || clientId != null || vehicleId != null || createdBefore != null;
+  }
+}
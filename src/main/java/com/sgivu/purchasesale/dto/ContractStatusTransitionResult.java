@@ -0,0 +1,14 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.TransitionOutcome;
+import lombok.Builder;
+import lombok.Value;
+
+/** Resultado de un contrato en una transición masiva; {@code message} explica los rechazos. */
+@Value
+@Builder
+public class ContractStatusTransitionResult {
+  Long id;
+  TransitionOutcome outcome;
+  String message;
+}
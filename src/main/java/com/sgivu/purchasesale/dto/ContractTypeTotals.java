@@ -0,0 +1,16 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.ContractType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractTypeTotals {
+  private ContractType contractType;
+  private Long contracts;
+  private Double purchasePriceTotal;
+  private Double salePriceTotal;
+}
@@ -0,0 +1,16 @@
+package com.sgivu.purchasesale.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class InventoryAgingSummary {
+  long soldVehicles;
+  Double averageHoldingDays;
+  Double averageRealizedMargin;
+  long unsoldVehicles;
+  double capitalTied;
+  List<AgingBucketTotals> agingBuckets;
+}
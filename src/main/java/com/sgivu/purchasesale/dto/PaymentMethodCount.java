@@ -0,0 +1,14 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentMethodCount {
+  private PaymentMethod paymentMethod;
+  private Long contracts;
+}
@@ -0,0 +1,13 @@
+package com.sgivu.purchasesale.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** Resultado de un id pedido en lote; {@code contract} es nulo cuando {@code found} es falso. */
+@Value
+@Builder
+public class PurchaseSaleBatchItem {
+  Long id;
+  boolean found;
+  PurchaseSaleResponse contract;
+}
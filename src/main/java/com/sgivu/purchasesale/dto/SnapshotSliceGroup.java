@@ -0,0 +1,11 @@
+package com.sgivu.purchasesale.dto;
+
+import lombok.Value;
+
+@Value
+public class SnapshotSliceGroup {
+  String key;
+  long contracts;
+  double purchasePriceTotal;
+  double salePriceTotal;
+}
@@ -0,0 +1,16 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.SnapshotDimension;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SnapshotSliceResponse {
+  SnapshotDimension groupBy;
+  int snapshotContracts;
+  LocalDateTime snapshotRefreshedAt;
+  List<SnapshotSliceGroup> groups;
+}
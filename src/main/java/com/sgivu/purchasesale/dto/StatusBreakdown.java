@@ -0,0 +1,18 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusBreakdown {
+  private ContractType contractType;
+  private ContractStatus contractStatus;
+  private Long contracts;
+  private Double averagePurchasePrice;
+  private Double averageSalePrice;
+}
@@ -0,0 +1,18 @@
+package com.sgivu.purchasesale.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMargin {
+  private Long id;
+  private Long vehicleId;
+  private Double purchasePrice;
+  private Double salePrice;
+  private Double grossMargin;
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.sgivu.purchasesale.dto;
+
+import com.sgivu.purchasesale.enums.AgingBucket;
+import java.time.LocalDateTime;
+
+/** Compra vigente que aún no tiene una venta completada posterior. */
+public interface UnsoldVehicleAging {
+  Long getVehicleId();
+
+  Long getPurchaseContractId();
+
+  LocalDateTime getPurchasedAt();
+
+  Double getPurchasePrice();
+
+  Integer getAgeDays();
+
+  AgingBucket getAgingBucket();
+}
@@ -0,0 +1,22 @@
+package com.sgivu.purchasesale.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class UserLeaderboardEntry {
+  private int rank;
+  private Long userId;
+  private Long completedSales;
+  private Double revenue;
+  private Double margin;
+  private UserSummary userSummary;
+
+  public UserLeaderboardEntry(Long userId, Long completedSales, Double revenue, Double margin) {
+    this.userId = userId;
+    this.completedSales = completedSales;
+    this.revenue = revenue;
+    this.margin = margin;
+  }
+}
@@ -4,10 +4,20 @@ import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class UserSummary {
   Long id;
   String fullName;
   String email;
   String username;
+  boolean degraded;
+
+  public static UserSummary of(User user) {
+    return UserSummary.builder()
+        .id(user.getId())
+        .fullName(String.format("%s %s", user.getFirstName(), user.getLastName()).trim())
+        .email(user.getEmail())
+        .username(user.getUsername())
+        .build();
+  }
 }
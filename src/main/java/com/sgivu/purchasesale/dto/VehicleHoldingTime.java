@@ -0,0 +1,24 @@
+package com.sgivu.purchasesale.dto;
+
+import java.time.LocalDateTime;
+
+/** Compra emparejada con la venta completada que la sucede para el mismo vehículo. */
+public interface VehicleHoldingTime {
+  Long getVehicleId();
+
+  Long getPurchaseContractId();
+
+  Long getSaleContractId();
+
+  LocalDateTime getPurchasedAt();
+
+  LocalDateTime getSoldAt();
+
+  Integer getHoldingDays();
+
+  Double getPurchasePrice();
+
+  Double getSalePrice();
+
+  Double getRealizedMargin();
+}
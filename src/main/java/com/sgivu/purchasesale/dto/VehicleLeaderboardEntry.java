@@ -0,0 +1,22 @@
+package com.sgivu.purchasesale.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class VehicleLeaderboardEntry {
+  private int rank;
+  private Long vehicleId;
+  private Long contracts;
+  private Long purchases;
+  private Long sales;
+  private VehicleSummary vehicleSummary;
+
+  public VehicleLeaderboardEntry(Long vehicleId, Long contracts, Long purchases, Long sales) {
+    this.vehicleId = vehicleId;
+    this.contracts = contracts;
+    this.purchases = purchases;
+    this.sales = sales;
+  }
+}
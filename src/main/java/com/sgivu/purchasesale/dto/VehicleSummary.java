@@ -4,7 +4,7 @@ import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class VehicleSummary {
   Long id;
   String type;
@@ -12,4 +12,24 @@ public class VehicleSummary {
   String model;
   String plate;
   String status;
+  boolean degraded;
+
+  public static VehicleSummary of(Car car) {
+    return of(car, "CAR");
+  }
+
+  public static VehicleSummary of(Motorcycle motorcycle) {
+    return of(motorcycle, "MOTORCYCLE");
+  }
+
+  private static VehicleSummary of(Vehicle vehicle, String type) {
+    return VehicleSummary.builder()
+        .id(vehicle.getId())
+        .type(type)
+        .brand(vehicle.getBrand())
+        .model(vehicle.getModel())
+        .plate(vehicle.getPlate())
+        .status(null)
+        .build();
+  }
 }
@@ -0,0 +1,33 @@
+package com.sgivu.purchasesale.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Datos del cliente tal como constaban al firmar el contrato. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ClientSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @Column(name = "client_type", length = 20)
+  private String type;
+
+  @Column(name = "client_name")
+  private String name;
+
+  @Column(name = "client_identifier")
+  private String identifier;
+
+  @Column(name = "client_email")
+  private String email;
+
+  @Column(name = "client_phone_number")
+  private Long phoneNumber;
+}
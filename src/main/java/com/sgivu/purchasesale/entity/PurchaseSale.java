@@ -3,7 +3,9 @@ package com.sgivu.purchasesale.entity;
 import com.sgivu.purchasesale.enums.ContractStatus;
 import com.sgivu.purchasesale.enums.ContractType;
 import com.sgivu.purchasesale.enums.PaymentMethod;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -24,12 +26,16 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "purchase_sales")
 public class PurchaseSale implements Serializable {
 
@@ -85,6 +91,16 @@ public class PurchaseSale implements Serializable {
   @Column(name = "observations", length = 500)
   private String observations;
 
+  /**
+   * Resúmenes de cliente, usuario y vehículo guardados al firmar el contrato. Son nulos en los
+   * contratos registrados antes de que existieran.
+   */
+  @Embedded private ClientSnapshot clientSnapshot;
+
+  @Embedded private UserSnapshot userSnapshot;
+
+  @Embedded private VehicleSnapshot vehicleSnapshot;
+
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
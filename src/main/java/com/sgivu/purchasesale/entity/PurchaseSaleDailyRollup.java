@@ -0,0 +1,35 @@
+package com.sgivu.purchasesale.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de {@code purchase_sales_daily_rollup}: conteo y sumas de precios de los contratos creados
+ * en un día, agrupados por tipo, estado y método de pago.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "purchase_sales_daily_rollup")
+public class PurchaseSaleDailyRollup implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @EmbeddedId private PurchaseSaleDailyRollupId id;
+
+  @Column(name = "contract_count", nullable = false)
+  private Long contractCount;
+
+  @Column(name = "purchase_price_sum", nullable = false)
+  private Double purchasePriceSum;
+
+  @Column(name = "sale_price_sum", nullable = false)
+  private Double salePriceSum;
+}
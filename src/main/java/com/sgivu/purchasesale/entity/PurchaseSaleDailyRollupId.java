@@ -0,0 +1,38 @@
+package com.sgivu.purchasesale.entity;
+
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class PurchaseSaleDailyRollupId implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @Column(name = "day", nullable = false)
+  private LocalDate day;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "contract_type", nullable = false)
+  private ContractType contractType;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "contract_status", nullable = false)
+  private ContractStatus contractStatus;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "payment_method", nullable = false)
+  private PaymentMethod paymentMethod;
+}
@@ -0,0 +1,67 @@
+package com.sgivu.purchasesale.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del modelo de lectura {@code purchase_sale_details}: resúmenes remotos de un contrato ya
+ * resueltos. {@code contractUpdatedAt} es la versión del contrato con la que se resolvió la fila;
+ * si el contrato tiene otra, la fila está desactualizada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "purchase_sale_details")
+public class PurchaseSaleDetail implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @Id
+  @Column(name = "contract_id")
+  private Long contractId;
+
+  private Long clientId;
+
+  private String clientType;
+
+  private String clientName;
+
+  private String clientIdentifier;
+
+  private String clientEmail;
+
+  private Long clientPhoneNumber;
+
+  private Long userId;
+
+  private String userFullName;
+
+  private String userEmail;
+
+  private String userUsername;
+
+  private Long vehicleId;
+
+  private String vehicleType;
+
+  private String vehicleBrand;
+
+  private String vehicleModel;
+
+  private String vehiclePlate;
+
+  private String vehicleStatus;
+
+  private LocalDateTime contractUpdatedAt;
+
+  @Column(name = "refreshed_at", nullable = false)
+  private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,32 @@
+package com.sgivu.purchasesale.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Marca de un contrato eliminado, expuesta en el feed de cambios como operación de borrado. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "purchase_sale_tombstones")
+public class PurchaseSaleTombstone implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @Id
+  @Column(name = "contract_id")
+  private Long contractId;
+
+  @Column(name = "vehicle_id")
+  private Long vehicleId;
+
+  @Column(name = "deleted_at", nullable = false)
+  private LocalDateTime deletedAt;
+}
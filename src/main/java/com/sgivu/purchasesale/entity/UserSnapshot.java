@@ -0,0 +1,27 @@
+package com.sgivu.purchasesale.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Datos del usuario que registró el contrato, tal como constaban al firmarlo. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class UserSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @Column(name = "user_full_name")
+  private String fullName;
+
+  @Column(name = "user_email")
+  private String email;
+
+  @Column(name = "user_username")
+  private String username;
+}
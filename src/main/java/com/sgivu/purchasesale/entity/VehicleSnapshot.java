@@ -0,0 +1,30 @@
+package com.sgivu.purchasesale.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Datos del vehículo tal como constaban al firmar el contrato. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class VehicleSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @Column(name = "vehicle_type", length = 20)
+  private String type;
+
+  @Column(name = "vehicle_brand")
+  private String brand;
+
+  @Column(name = "vehicle_model")
+  private String model;
+
+  @Column(name = "vehicle_plate")
+  private String plate;
+}
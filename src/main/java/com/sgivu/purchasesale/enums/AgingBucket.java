@@ -0,0 +1,22 @@
+package com.sgivu.purchasesale.enums;
+
+/**
+ * Rangos de antigüedad del inventario sin vender, en días desde la compra. Los nombres coinciden
+ * con los valores que calculan las consultas de {@code PurchaseSaleInventoryRepository}.
+ */
+public enum AgingBucket {
+  /** Hasta 30 días en inventario. */
+  DAYS_0_30,
+
+  /** Entre 31 y 60 días. */
+  DAYS_31_60,
+
+  /** Entre 61 y 90 días. */
+  DAYS_61_90,
+
+  /** Entre 91 y 180 días. */
+  DAYS_91_180,
+
+  /** Más de 180 días. */
+  DAYS_181_PLUS
+}
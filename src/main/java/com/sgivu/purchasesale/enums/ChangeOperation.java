@@ -0,0 +1,10 @@
+package com.sgivu.purchasesale.enums;
+
+/** Tipo de cambio publicado en el feed de contratos. */
+public enum ChangeOperation {
+  /** Contrato creado o actualizado; la entrada incluye su estado actual. */
+  UPSERT,
+
+  /** Contrato eliminado; la entrada solo incluye su id. */
+  DELETE
+}
@@ -0,0 +1,8 @@
+package com.sgivu.purchasesale.enums;
+
+/** Tipo de cambio confirmado sobre un contrato, publicado a los suscriptores en tiempo real. */
+public enum ContractEventType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
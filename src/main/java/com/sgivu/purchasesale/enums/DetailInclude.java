@@ -0,0 +1,26 @@
+package com.sgivu.purchasesale.enums;
+
+/** Resúmenes remotos que se pueden solicitar en las respuestas detalladas. */
+public enum DetailInclude {
+  CLIENT("clientId", "clientSummary"),
+  USER("userId", "userSummary"),
+  VEHICLE("vehicleId", "vehicleSummary");
+
+  private final String idField;
+  private final String summaryField;
+
+  DetailInclude(String idField, String summaryField) {
+    this.idField = idField;
+    this.summaryField = summaryField;
+  }
+
+  /** Campo del contrato que referencia la entidad remota. */
+  public String getIdField() {
+    return idField;
+  }
+
+  /** Nombre del campo en la respuesta JSON. */
+  public String getSummaryField() {
+    return summaryField;
+  }
+}
@@ -0,0 +1,10 @@
+package com.sgivu.purchasesale.enums;
+
+/** Dimensiones por las que se pueden agrupar las consultas sobre la instantánea en memoria. */
+public enum SnapshotDimension {
+  CONTRACT_TYPE,
+  CONTRACT_STATUS,
+  PAYMENT_METHOD,
+  MONTH,
+  USER
+}
@@ -0,0 +1,16 @@
+package com.sgivu.purchasesale.enums;
+
+/** Resultado de un contrato dentro de una transición de estado masiva. */
+public enum TransitionOutcome {
+  /** El contrato cambió al estado de destino. */
+  UPDATED,
+
+  /** No existe un contrato con el id indicado. */
+  NOT_FOUND,
+
+  /** El contrato no estaba en el estado de origen. */
+  STATUS_MISMATCH,
+
+  /** El estado de destino incumple las reglas del vehículo. */
+  RULE_VIOLATION
+}
@@ -0,0 +1,10 @@
+package com.sgivu.purchasesale.enums;
+
+/** Criterio de ordenamiento del ranking de asesores comerciales. */
+public enum UserRankingMetric {
+  /** Número de ventas completadas. */
+  COMPLETED_SALES,
+
+  /** Utilidad bruta acumulada de las ventas completadas. */
+  MARGIN
+}
@@ -0,0 +1,46 @@
+package com.sgivu.purchasesale.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Agrega cada evento como una línea JSON al final de un archivo. */
+@Component
+@ConditionalOnProperty(name = "purchase-sale.outbox.sink", havingValue = "file")
+public class FileOutboxEventSink implements OutboxEventSink {
+
+  private final Path path;
+  private final ObjectMapper objectMapper;
+
+  public FileOutboxEventSink(
+      @Value("${purchase-sale.outbox.file.path:purchase-sale-outbox.ndjson}") Path path,
+      ObjectMapper objectMapper) {
+    this.path = path;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public synchronized void publish(OutboxMessage message) {
+    try {
+      String line = objectMapper.writeValueAsString(message) + System.lineSeparator();
+      Files.writeString(
+          path,
+          line,
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No fue posible serializar el evento del outbox", ex);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("No fue posible escribir el evento del outbox", ex);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.sgivu.purchasesale.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Conserva los eventos en memoria; pensado para pruebas y entornos locales. */
+@Component
+@ConditionalOnProperty(name = "purchase-sale.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+
+  private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(OutboxMessage message) {
+    messages.add(message);
+  }
+
+  public List<OutboxMessage> messages() {
+    return List.copyOf(messages);
+  }
+
+  public void clear() {
+    messages.clear();
+  }
+}
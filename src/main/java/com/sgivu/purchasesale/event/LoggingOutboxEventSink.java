@@ -0,0 +1,27 @@
+package com.sgivu.purchasesale.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Destino por defecto: registra cada evento en el log. */
+@Component
+@ConditionalOnProperty(
+    name = "purchase-sale.outbox.sink",
+    havingValue = "log",
+    matchIfMissing = true)
+public class LoggingOutboxEventSink implements OutboxEventSink {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxEventSink.class);
+
+  @Override
+  public void publish(OutboxMessage message) {
+    logger.info(
+        "Evento {} #{} del contrato {}: {}",
+        message.type(),
+        message.id(),
+        message.contractId(),
+        message.payload());
+  }
+}
@@ -0,0 +1,10 @@
+package com.sgivu.purchasesale.event;
+
+/**
+ * Destino de los eventos del outbox. Una excepción indica que el evento no fue aceptado y se
+ * reintentará; la entrega es al menos una vez.
+ */
+public interface OutboxEventSink {
+
+  void publish(OutboxMessage message);
+}
@@ -0,0 +1,28 @@
+package com.sgivu.purchasesale.event;
+
+import com.sgivu.purchasesale.entity.PurchaseSaleOutboxEvent;
+import com.sgivu.purchasesale.enums.ContractEventType;
+import java.time.LocalDateTime;
+
+/**
+ * Evento entregado a un {@link OutboxEventSink}. {@code id} es estable entre reintentos, por lo que
+ * los consumidores pueden usarlo para descartar duplicados.
+ */
+public record OutboxMessage(
+    long id,
+    ContractEventType type,
+    Long contractId,
+    Long vehicleId,
+    String payload,
+    LocalDateTime createdAt) {
+
+  public static OutboxMessage of(PurchaseSaleOutboxEvent event) {
+    return new OutboxMessage(
+        event.getId(),
+        event.getEventType(),
+        event.getContractId(),
+        event.getVehicleId(),
+        event.getPayload(),
+        event.getCreatedAt());
+  }
+}
@@ -0,0 +1,30 @@
+package com.sgivu.purchasesale.event;
+
+import com.sgivu.purchasesale.enums.ContractEventType;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Cambio confirmado tal como viaja por {@code NOTIFY} y se entrega a los suscriptores SSE. El id
+ * proviene de {@code purchase_sale_event_seq} y es el mismo en todas las réplicas.
+ */
+public record PurchaseSaleChangeNotification(
+    long id,
+    ContractEventType type,
+    Long contractId,
+    Long vehicleId,
+    Long clientId,
+    ContractStatus contractStatus,
+    LocalDateTime occurredAt) {
+
+  public static PurchaseSaleChangeNotification of(long id, PurchaseSaleChangedEvent event) {
+    return new PurchaseSaleChangeNotification(
+        id,
+        event.type(),
+        event.contractId(),
+        event.vehicleId(),
+        event.clientId(),
+        event.contractStatus(),
+        event.occurredAt());
+  }
+}
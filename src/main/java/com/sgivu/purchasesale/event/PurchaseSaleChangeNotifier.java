@@ -0,0 +1,41 @@
+package com.sgivu.purchasesale.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Emite cada cambio con {@code pg_notify} en la transacción del contrato. PostgreSQL solo entrega
+ * la notificación si la transacción se confirma, y lo hace en orden de confirmación a todas las
+ * réplicas que escuchan el canal.
+ */
+@Component
+public class PurchaseSaleChangeNotifier {
+
+  public static final String CHANNEL = "purchase_sale_changes";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public PurchaseSaleChangeNotifier(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  @EventListener
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onChange(PurchaseSaleChangedEvent event) {
+    Long id = jdbcTemplate.queryForObject("SELECT nextval('purchase_sale_event_seq')", Long.class);
+    try {
+      String payload =
+          objectMapper.writeValueAsString(PurchaseSaleChangeNotification.of(id, event));
+      jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No fue posible serializar el cambio del contrato", ex);
+    }
+  }
+}
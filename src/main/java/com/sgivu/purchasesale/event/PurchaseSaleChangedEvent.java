@@ -0,0 +1,42 @@
+package com.sgivu.purchasesale.event;
+
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractEventType;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de aplicación publicado por {@code PurchaseSaleServiceImpl} dentro de la transacción que
+ * modifica el contrato. Los oyentes que escriben en la base de datos participan de esa misma
+ * transacción.
+ */
+public record PurchaseSaleChangedEvent(
+    ContractEventType type,
+    Long contractId,
+    Long vehicleId,
+    Long clientId,
+    Long userId,
+    ContractType contractType,
+    ContractStatus contractStatus,
+    PaymentMethod paymentMethod,
+    Double purchasePrice,
+    Double salePrice,
+    LocalDateTime occurredAt) {
+
+  public static PurchaseSaleChangedEvent of(ContractEventType type, PurchaseSale contract) {
+    return new PurchaseSaleChangedEvent(
+        type,
+        contract.getId(),
+        contract.getVehicleId(),
+        contract.getClientId(),
+        contract.getUserId(),
+        contract.getContractType(),
+        contract.getContractStatus(),
+        contract.getPaymentMethod(),
+        contract.getPurchasePrice(),
+        contract.getSalePrice(),
+        LocalDateTime.now());
+  }
+}
@@ -0,0 +1,117 @@
+package com.sgivu.purchasesale.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgivu.purchasesale.service.PurchaseSaleEventStreamService;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Escucha {@value PurchaseSaleChangeNotifier#CHANNEL} en una conexión dedicada, fuera del pool, y
+ * entrega cada notificación al servicio de streaming. Si la conexión se pierde, se reabre con una
+ * espera fija; como los cambios emitidos mientras tanto no se reciben, al reconectar se pide a los
+ * suscriptores que resincronicen.
+ */
+@Component
+public class PurchaseSaleNotificationListener implements SmartLifecycle {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(PurchaseSaleNotificationListener.class);
+
+  private static final int POLL_TIMEOUT_MILLIS = 5_000;
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+  private final DataSourceProperties dataSourceProperties;
+  private final PurchaseSaleEventStreamService purchaseSaleEventStreamService;
+  private final ObjectMapper objectMapper;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public PurchaseSaleNotificationListener(
+      DataSourceProperties dataSourceProperties,
+      PurchaseSaleEventStreamService purchaseSaleEventStreamService,
+      ObjectMapper objectMapper) {
+    this.dataSourceProperties = dataSourceProperties;
+    this.purchaseSaleEventStreamService = purchaseSaleEventStreamService;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    worker = Thread.ofPlatform().daemon().name("purchase-sale-listen").start(this::listenLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listenLoop() {
+    boolean reconnecting = false;
+    while (running) {
+      try (Connection connection =
+          DriverManager.getConnection(
+              dataSourceProperties.determineUrl(),
+              dataSourceProperties.determineUsername(),
+              dataSourceProperties.determinePassword())) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + PurchaseSaleChangeNotifier.CHANNEL);
+        }
+        if (reconnecting) {
+          purchaseSaleEventStreamService.resetHistory();
+          reconnecting = false;
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              dispatch(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException ex) {
+        if (!running) {
+          return;
+        }
+        logger.warn("Conexión LISTEN interrumpida, reintentando: {}", ex.getMessage());
+        reconnecting = true;
+        try {
+          Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void dispatch(String payload) {
+    try {
+      purchaseSaleEventStreamService.publish(
+          objectMapper.readValue(payload, PurchaseSaleChangeNotification.class));
+    } catch (JsonProcessingException ex) {
+      logger.warn("Notificación de contrato con formato inválido descartada: {}", payload);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.sgivu.purchasesale.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgivu.purchasesale.entity.PurchaseSaleOutboxEvent;
+import com.sgivu.purchasesale.repository.PurchaseSaleOutboxRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registra cada cambio de contrato en {@code purchase_sale_outbox} dentro de la transacción de
+ * escritura: el evento existe si y solo si el cambio se confirmó.
+ */
+@Component
+public class PurchaseSaleOutboxWriter {
+
+  private final PurchaseSaleOutboxRepository purchaseSaleOutboxRepository;
+  private final ObjectMapper objectMapper;
+
+  public PurchaseSaleOutboxWriter(
+      PurchaseSaleOutboxRepository purchaseSaleOutboxRepository, ObjectMapper objectMapper) {
+    this.purchaseSaleOutboxRepository = purchaseSaleOutboxRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  @EventListener
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onChange(PurchaseSaleChangedEvent event) {
+    PurchaseSaleOutboxEvent outboxEvent = new PurchaseSaleOutboxEvent();
+    outboxEvent.setContractId(event.contractId());
+    outboxEvent.setVehicleId(event.vehicleId());
+    outboxEvent.setEventType(event.type());
+    outboxEvent.setPayload(toJson(event));
+    outboxEvent.setCreatedAt(event.occurredAt());
+    outboxEvent.setNextAttemptAt(event.occurredAt());
+    purchaseSaleOutboxRepository.save(outboxEvent);
+  }
+
+  private String toJson(PurchaseSaleChangedEvent event) {
+    try {
+      return objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No fue posible serializar el cambio del contrato", ex);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.sgivu.purchasesale.exception;
+
+/** Se agotó el plazo de la petición antes de terminar el trabajo; se responde con 504. */
+public class DeadlineExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+
+  public DeadlineExceededException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,21 @@
+package com.sgivu.purchasesale.exception;
+
+/**
+ * Un servicio remoto no admite más llamadas por ahora (circuito abierto o sin cupo de
+ * concurrencia); se responde con 503 sin esperar al servicio.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String service;
+
+  public DownstreamUnavailableException(String service, Throwable cause) {
+    super("El servicio " + service + " no está disponible temporalmente.", cause);
+    this.service = service;
+  }
+
+  public String getService() {
+    return service;
+  }
+}
@@ -47,6 +47,18 @@ public class GlobalExceptionHandler {
     return ResponseEntity.badRequest().body(body);
   }
 
+  @ExceptionHandler(ResourceNotFoundException.class)
+  public ResponseEntity<Object> handleResourceNotFoundException(
+      ResourceNotFoundException exception) {
+    logger.warn("Recurso no encontrado: {}", exception.getMessage());
+
+    Map<String, Object> body = new HashMap<>();
+    body.put(MESSAGE_KEY, "Recurso no encontrado.");
+    body.put(DETAILS_KEY, exception.getMessage());
+    body.put(STATUS_KEY, HttpStatus.NOT_FOUND.value());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+  }
+
   @ExceptionHandler(HttpClientErrorException.class)
   public ResponseEntity<Object> handleHttpClientErrorException(HttpClientErrorException exception) {
     logger.error(
@@ -62,6 +74,30 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(exception.getStatusCode()).body(body);
   }
 
+  @ExceptionHandler(DownstreamUnavailableException.class)
+  public ResponseEntity<Object> handleDownstreamUnavailableException(
+      DownstreamUnavailableException exception) {
+    logger.warn("Servicio remoto no disponible: {}", exception.getService());
+
+    Map<String, Object> body = new HashMap<>();
+    body.put(MESSAGE_KEY, "Servicio externo no disponible temporalmente.");
+    body.put(DETAILS_KEY, exception.getMessage());
+    body.put(STATUS_KEY, HttpStatus.SERVICE_UNAVAILABLE.value());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+  }
+
+  @ExceptionHandler(DeadlineExceededException.class)
+  public ResponseEntity<Object> handleDeadlineExceededException(
+      DeadlineExceededException exception) {
+    logger.warn("Plazo de la petición agotado: {}", exception.getMessage());
+
+    Map<String, Object> body = new HashMap<>();
+    body.put(MESSAGE_KEY, "Plazo de la petición agotado.");
+    body.put(DETAILS_KEY, exception.getMessage());
+    body.put(STATUS_KEY, HttpStatus.GATEWAY_TIMEOUT.value());
+    return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(body);
+  }
+
   @ExceptionHandler(AuthorizationDeniedException.class)
   public ResponseEntity<Object> handleAuthorizationDeniedException(
       AuthorizationDeniedException exception) {
@@ -0,0 +1,11 @@
+package com.sgivu.purchasesale.exception;
+
+/** El recurso solicitado no existe; se responde con 404. */
+public class ResourceNotFoundException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ResourceNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -1,9 +1,15 @@
 package com.sgivu.purchasesale.mapper;
 
+import com.sgivu.purchasesale.dto.ClientSummary;
 import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
 import com.sgivu.purchasesale.dto.PurchaseSaleRequest;
 import com.sgivu.purchasesale.dto.PurchaseSaleResponse;
+import com.sgivu.purchasesale.dto.UserSummary;
+import com.sgivu.purchasesale.dto.VehicleSummary;
+import com.sgivu.purchasesale.entity.ClientSnapshot;
 import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.UserSnapshot;
+import com.sgivu.purchasesale.entity.VehicleSnapshot;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -21,14 +27,43 @@ public interface PurchaseSaleMapper {
   PurchaseSaleDetailResponse toPurchaseSaleDetailResponse(PurchaseSale purchaseSale);
 
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "clientSnapshot", ignore = true)
+  @Mapping(target = "userSnapshot", ignore = true)
+  @Mapping(target = "vehicleSnapshot", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   PurchaseSale toPurchaseSale(PurchaseSaleRequest request);
 
+  /** Los participantes los asigna el servicio después de validarlos con los servicios remotos. */
   @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "clientId", ignore = true)
+  @Mapping(target = "userId", ignore = true)
+  @Mapping(target = "vehicleId", ignore = true)
+  @Mapping(target = "clientSnapshot", ignore = true)
+  @Mapping(target = "userSnapshot", ignore = true)
+  @Mapping(target = "vehicleSnapshot", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   void updatePurchaseSaleFromRequest(
       PurchaseSaleRequest request, @MappingTarget PurchaseSale purchaseSale);
+
+  ClientSnapshot toClientSnapshot(ClientSummary clientSummary);
+
+  UserSnapshot toUserSnapshot(UserSummary userSummary);
+
+  VehicleSnapshot toVehicleSnapshot(VehicleSummary vehicleSummary);
+
+  @Mapping(target = "id", source = "id")
+  @Mapping(target = "degraded", ignore = true)
+  ClientSummary toClientSummary(Long id, ClientSnapshot snapshot);
+
+  @Mapping(target = "id", source = "id")
+  @Mapping(target = "degraded", ignore = true)
+  UserSummary toUserSummary(Long id, UserSnapshot snapshot);
+
+  @Mapping(target = "id", source = "id")
+  @Mapping(target = "status", ignore = true)
+  @Mapping(target = "degraded", ignore = true)
+  VehicleSummary toVehicleSummary(Long id, VehicleSnapshot snapshot);
 }
@@ -0,0 +1,59 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.dto.ContractSnapshotRow;
+import com.sgivu.purchasesale.dto.TransactionMargin;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Consultas de solo lectura sobre {@code purchase_sales} que no pueden resolverse con el agregado
+ * diario. Devuelven proyecciones compactas y aceptan límites de fecha opcionales ({@code null} =
+ * sin límite) sobre {@code created_at}.
+ */
+public interface PurchaseSaleAnalyticsRepository extends Repository<PurchaseSale, Long> {
+
+  @Query(
+      value =
+          """
+          select new com.sgivu.purchasesale.dto.TransactionMargin(
+              p.id, p.vehicleId, p.purchasePrice, p.salePrice,
+              p.salePrice - p.purchasePrice, p.createdAt)
+          from PurchaseSale p
+          where p.contractType = com.sgivu.purchasesale.enums.ContractType.SALE
+            and p.contractStatus = com.sgivu.purchasesale.enums.ContractStatus.COMPLETED
+            and (cast(:from as LocalDateTime) is null or p.createdAt >= :from)
+            and (cast(:to as LocalDateTime) is null or p.createdAt < :to)
+          order by p.salePrice - p.purchasePrice desc, p.id
+          """,
+      countQuery =
+          """
+          select count(p)
+          from PurchaseSale p
+          where p.contractType = com.sgivu.purchasesale.enums.ContractType.SALE
+            and p.contractStatus = com.sgivu.purchasesale.enums.ContractStatus.COMPLETED
+            and (cast(:from as LocalDateTime) is null or p.createdAt >= :from)
+            and (cast(:to as LocalDateTime) is null or p.createdAt < :to)
+          """)
+  Page<TransactionMargin> findCompletedSaleMargins(
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+  /**
+   * Columnas que alimentan la instantánea en memoria. Con {@code since} nulo devuelve todos los
+   * contratos; de lo contrario, solo los modificados desde ese instante.
+   */
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.ContractSnapshotRow(
+          p.id, p.userId, p.contractType, p.contractStatus, p.paymentMethod,
+          p.purchasePrice, p.salePrice, p.createdAt, p.updatedAt)
+      from PurchaseSale p
+      where cast(:since as LocalDateTime) is null or p.updatedAt >= :since
+      """)
+  List<ContractSnapshotRow> findSnapshotRows(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,131 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.dto.ContractTypeTotals;
+import com.sgivu.purchasesale.dto.PaymentMethodCount;
+import com.sgivu.purchasesale.dto.StatusBreakdown;
+import com.sgivu.purchasesale.entity.PurchaseSaleDailyRollup;
+import com.sgivu.purchasesale.entity.PurchaseSaleDailyRollupId;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface PurchaseSaleDailyRollupRepository
+    extends JpaRepository<PurchaseSaleDailyRollup, PurchaseSaleDailyRollupId> {
+
+  /**
+   * Espacio de consulta declarado en las sentencias nativas de escritura. Sin él, Hibernate no sabe
+   * qué tablas modifican y vacía toda la caché de segundo nivel en cada alta o cambio de contrato.
+   */
+  String ROLLUP_TABLE = "purchase_sales_daily_rollup";
+
+  /**
+   * Suma (o resta, con valores negativos) la contribución de un contrato a su fila diaria, creando
+   * la fila si aún no existe.
+   */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+  @Query(
+      value =
+          """
+          INSERT INTO purchase_sales_daily_rollup AS r
+              (day, contract_type, contract_status, payment_method,
+               contract_count, purchase_price_sum, sale_price_sum)
+          VALUES (:day, :contractType, :contractStatus, :paymentMethod,
+                  :countDelta, :purchasePriceDelta, :salePriceDelta)
+          ON CONFLICT (day, contract_type, contract_status, payment_method) DO UPDATE
+          SET contract_count = r.contract_count + EXCLUDED.contract_count,
+              purchase_price_sum = r.purchase_price_sum + EXCLUDED.purchase_price_sum,
+              sale_price_sum = r.sale_price_sum + EXCLUDED.sale_price_sum
+          """,
+      nativeQuery = true)
+  int applyDelta(
+      @Param("day") LocalDate day,
+      @Param("contractType") String contractType,
+      @Param("contractStatus") String contractStatus,
+      @Param("paymentMethod") String paymentMethod,
+      @Param("countDelta") long countDelta,
+      @Param("purchasePriceDelta") double purchasePriceDelta,
+      @Param("salePriceDelta") double salePriceDelta);
+
+  /** Bloquea las escrituras concurrentes hasta que termine la reconstrucción en curso. */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+  @Query(
+      value = "LOCK TABLE purchase_sales_daily_rollup IN EXCLUSIVE MODE",
+      nativeQuery = true)
+  void lockForRebuild();
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+  @Query(value = "DELETE FROM purchase_sales_daily_rollup", nativeQuery = true)
+  int deleteAllRows();
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+  @Query(
+      value =
+          """
+          INSERT INTO purchase_sales_daily_rollup
+              (day, contract_type, contract_status, payment_method,
+               contract_count, purchase_price_sum, sale_price_sum)
+          SELECT CAST(created_at AS DATE), contract_type, contract_status, payment_method,
+                 COUNT(*), SUM(purchase_price), SUM(sale_price)
+          FROM purchase_sales
+          GROUP BY CAST(created_at AS DATE), contract_type, contract_status, payment_method
+          """,
+      nativeQuery = true)
+  int insertFromContracts();
+
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.ContractTypeTotals(
+          r.id.contractType, sum(r.contractCount), sum(r.purchasePriceSum), sum(r.salePriceSum))
+      from PurchaseSaleDailyRollup r
+      where r.id.contractStatus = :status
+        and (cast(:from as LocalDate) is null or r.id.day >= :from)
+        and (cast(:to as LocalDate) is null or r.id.day < :to)
+      group by r.id.contractType
+      having sum(r.contractCount) > 0
+      """)
+  List<ContractTypeTotals> sumByContractType(
+      @Param("status") ContractStatus status,
+      @Param("from") LocalDate from,
+      @Param("to") LocalDate to);
+
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.PaymentMethodCount(
+          r.id.paymentMethod, sum(r.contractCount))
+      from PurchaseSaleDailyRollup r
+      where (cast(:from as LocalDate) is null or r.id.day >= :from)
+        and (cast(:to as LocalDate) is null or r.id.day < :to)
+      group by r.id.paymentMethod
+      having sum(r.contractCount) > 0
+      order by sum(r.contractCount) desc
+      """)
+  List<PaymentMethodCount> countByPaymentMethod(
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.StatusBreakdown(
+          r.id.contractType, r.id.contractStatus, sum(r.contractCount),
+          sum(r.purchasePriceSum) / sum(r.contractCount),
+          sum(r.salePriceSum) / sum(r.contractCount))
+      from PurchaseSaleDailyRollup r
+      where (cast(:from as LocalDate) is null or r.id.day >= :from)
+        and (cast(:to as LocalDate) is null or r.id.day < :to)
+      group by r.id.contractType, r.id.contractStatus
+      having sum(r.contractCount) > 0
+      order by r.id.contractType, sum(r.contractCount) desc
+      """)
+  List<StatusBreakdown> breakdownByStatus(
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
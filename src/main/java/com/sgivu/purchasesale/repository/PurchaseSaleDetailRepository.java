@@ -0,0 +1,48 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.entity.PurchaseSaleDetail;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PurchaseSaleDetailRepository extends JpaRepository<PurchaseSaleDetail, Long> {
+
+  String DETAILS_TABLE = "purchase_sale_details";
+
+  /**
+   * Contratos sin fila en el modelo de lectura o cuya fila se resolvió con otra versión del
+   * contrato; primero los que no tienen fila. Recorre toda la tabla: solo para la puesta al día.
+   */
+  @Query(
+      value =
+          """
+          SELECT p.id
+          FROM purchase_sales p
+          LEFT JOIN purchase_sale_details d ON d.contract_id = p.id
+          WHERE d.contract_id IS NULL
+             OR d.contract_updated_at IS DISTINCT FROM p.updated_at
+          ORDER BY d.refreshed_at NULLS FIRST, p.id
+          LIMIT :limit
+          """,
+      nativeQuery = true)
+  List<Long> findStaleContractIds(@Param("limit") int limit);
+
+  /** Elimina las filas de contratos que ya no existen. */
+  @Transactional
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = DETAILS_TABLE))
+  @Query(
+      value =
+          """
+          DELETE FROM purchase_sale_details d
+          WHERE NOT EXISTS (SELECT 1 FROM purchase_sales p WHERE p.id = d.contract_id)
+          """,
+      nativeQuery = true)
+  int deleteOrphans();
+}
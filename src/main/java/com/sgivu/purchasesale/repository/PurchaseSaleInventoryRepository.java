@@ -0,0 +1,154 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.dto.UnsoldVehicleAging;
+import com.sgivu.purchasesale.dto.VehicleHoldingTime;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.AgingBucket;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Análisis de rotación de inventario. Cada compra vigente (activa o completada) se empareja con el
+ * siguiente contrato del mismo vehículo mediante {@code LEAD} sobre {@code (vehicle_id,
+ * created_at)}: si es una venta completada, el vehículo se vendió; si no existe, sigue en
+ * inventario. Todo el cálculo ocurre en PostgreSQL.
+ */
+public interface PurchaseSaleInventoryRepository extends Repository<PurchaseSale, Long> {
+
+  String PAIRED_CONTRACTS =
+      """
+      WITH paired AS (
+          SELECT id, vehicle_id, contract_type, created_at, purchase_price,
+                 LEAD(contract_type) OVER w AS next_type,
+                 LEAD(id) OVER w AS next_id,
+                 LEAD(created_at) OVER w AS next_created_at,
+                 LEAD(sale_price) OVER w AS next_sale_price
+          FROM purchase_sales
+          WHERE (contract_type = 'PURCHASE' AND contract_status IN ('ACTIVE', 'COMPLETED'))
+             OR (contract_type = 'SALE' AND contract_status = 'COMPLETED')
+          WINDOW w AS (PARTITION BY vehicle_id ORDER BY created_at, id)
+      )
+      """;
+
+  String SOLD =
+      PAIRED_CONTRACTS
+          + """
+          , sold AS (
+              SELECT vehicle_id, id AS purchase_contract_id, next_id AS sale_contract_id,
+                     created_at AS purchased_at, next_created_at AS sold_at,
+                     CAST(next_created_at AS DATE) - CAST(created_at AS DATE) AS holding_days,
+                     purchase_price, next_sale_price AS sale_price,
+                     next_sale_price - purchase_price AS realized_margin
+              FROM paired
+              WHERE contract_type = 'PURCHASE' AND next_type = 'SALE'
+                AND (CAST(:from AS TIMESTAMP) IS NULL OR next_created_at >= :from)
+                AND (CAST(:to AS TIMESTAMP) IS NULL OR next_created_at < :to)
+          )
+          """;
+
+  String UNSOLD =
+      PAIRED_CONTRACTS
+          + """
+          , unsold AS (
+              SELECT vehicle_id, id AS purchase_contract_id, created_at AS purchased_at,
+                     purchase_price, CURRENT_DATE - CAST(created_at AS DATE) AS age_days
+              FROM paired
+              WHERE contract_type = 'PURCHASE' AND next_type IS DISTINCT FROM 'SALE'
+          ), aged AS (
+              SELECT unsold.*,
+                     CASE
+                         WHEN age_days <= 30 THEN 'DAYS_0_30'
+                         WHEN age_days <= 60 THEN 'DAYS_31_60'
+                         WHEN age_days <= 90 THEN 'DAYS_61_90'
+                         WHEN age_days <= 180 THEN 'DAYS_91_180'
+                         ELSE 'DAYS_181_PLUS'
+                     END AS aging_bucket
+              FROM unsold
+          )
+          """;
+
+  @Query(
+      value =
+          SOLD
+              + """
+              SELECT vehicle_id AS vehicleId, purchase_contract_id AS purchaseContractId,
+                     sale_contract_id AS saleContractId, purchased_at AS purchasedAt,
+                     sold_at AS soldAt, holding_days AS holdingDays,
+                     purchase_price AS purchasePrice, sale_price AS salePrice,
+                     realized_margin AS realizedMargin
+              FROM sold
+              ORDER BY CASE WHEN :ascending THEN holding_days END ASC,
+                       CASE WHEN NOT :ascending THEN holding_days END DESC,
+                       purchase_contract_id
+              """,
+      countQuery = SOLD + "SELECT count(*) FROM sold",
+      nativeQuery = true)
+  Page<VehicleHoldingTime> findHoldingTimes(
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("ascending") boolean ascending,
+      Pageable pageable);
+
+  @Query(
+      value =
+          SOLD
+              + """
+              SELECT count(*) AS vehicles,
+                     avg(holding_days) AS averageHoldingDays,
+                     avg(realized_margin) AS averageRealizedMargin
+              FROM sold
+              """,
+      nativeQuery = true)
+  HoldingTimeSummaryRow summarizeHoldingTimes(
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+  @Query(
+      value =
+          UNSOLD
+              + """
+              SELECT vehicle_id AS vehicleId, purchase_contract_id AS purchaseContractId,
+                     purchased_at AS purchasedAt, purchase_price AS purchasePrice,
+                     age_days AS ageDays, aging_bucket AS agingBucket
+              FROM aged
+              ORDER BY CASE WHEN :ascending THEN age_days END ASC,
+                       CASE WHEN NOT :ascending THEN age_days END DESC,
+                       purchase_contract_id
+              """,
+      countQuery = UNSOLD + "SELECT count(*) FROM aged",
+      nativeQuery = true)
+  Page<UnsoldVehicleAging> findUnsoldAging(
+      @Param("ascending") boolean ascending, Pageable pageable);
+
+  @Query(
+      value =
+          UNSOLD
+              + """
+              SELECT aging_bucket AS agingBucket, count(*) AS vehicles,
+                     sum(purchase_price) AS capitalTied
+              FROM aged
+              GROUP BY aging_bucket
+              """,
+      nativeQuery = true)
+  List<AgingBucketRow> countUnsoldByAgingBucket();
+
+  interface HoldingTimeSummaryRow {
+    Long getVehicles();
+
+    Double getAverageHoldingDays();
+
+    Double getAverageRealizedMargin();
+  }
+
+  interface AgingBucketRow {
+    AgingBucket getAgingBucket();
+
+    Long getVehicles();
+
+    Double getCapitalTied();
+  }
+}
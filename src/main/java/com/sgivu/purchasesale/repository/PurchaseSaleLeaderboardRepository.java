@@ -0,0 +1,89 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.dto.ClientLeaderboardEntry;
+import com.sgivu.purchasesale.dto.UserLeaderboardEntry;
+import com.sgivu.purchasesale.dto.VehicleLeaderboardEntry;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Rankings acotados: la base de datos agrupa, ordena y devuelve solo las primeras filas indicadas
+ * por {@link Pageable} ({@code LIMIT}). Los desempates se resuelven por id para que el resultado
+ * sea estable.
+ */
+public interface PurchaseSaleLeaderboardRepository extends Repository<PurchaseSale, Long> {
+
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.ClientLeaderboardEntry(
+          p.clientId, count(p), sum(p.salePrice))
+      from PurchaseSale p
+      where p.contractType = com.sgivu.purchasesale.enums.ContractType.SALE
+        and p.contractStatus = com.sgivu.purchasesale.enums.ContractStatus.COMPLETED
+        and p.clientId is not null
+        and (cast(:from as LocalDateTime) is null or p.createdAt >= :from)
+        and (cast(:to as LocalDateTime) is null or p.createdAt < :to)
+      group by p.clientId
+      order by sum(p.salePrice) desc, p.clientId
+      """)
+  List<ClientLeaderboardEntry> findTopClientsByRevenue(
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable limit);
+
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.UserLeaderboardEntry(
+          p.userId, count(p), sum(p.salePrice), sum(p.salePrice - p.purchasePrice))
+      from PurchaseSale p
+      where p.contractType = com.sgivu.purchasesale.enums.ContractType.SALE
+        and p.contractStatus = com.sgivu.purchasesale.enums.ContractStatus.COMPLETED
+        and p.userId is not null
+        and (cast(:from as LocalDateTime) is null or p.createdAt >= :from)
+        and (cast(:to as LocalDateTime) is null or p.createdAt < :to)
+      group by p.userId
+      order by count(p) desc, sum(p.salePrice - p.purchasePrice) desc, p.userId
+      """)
+  List<UserLeaderboardEntry> findTopUsersByCompletedSales(
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable limit);
+
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.UserLeaderboardEntry(
+          p.userId, count(p), sum(p.salePrice), sum(p.salePrice - p.purchasePrice))
+      from PurchaseSale p
+      where p.contractType = com.sgivu.purchasesale.enums.ContractType.SALE
+        and p.contractStatus = com.sgivu.purchasesale.enums.ContractStatus.COMPLETED
+        and p.userId is not null
+        and (cast(:from as LocalDateTime) is null or p.createdAt >= :from)
+        and (cast(:to as LocalDateTime) is null or p.createdAt < :to)
+      group by p.userId
+      order by sum(p.salePrice - p.purchasePrice) desc, count(p) desc, p.userId
+      """)
+  List<UserLeaderboardEntry> findTopUsersByMargin(
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable limit);
+
+  /** Vehículos con más contratos no cancelados (compras y ventas). */
+  @Query(
+      """
+      select new com.sgivu.purchasesale.dto.VehicleLeaderboardEntry(
+          p.vehicleId,
+          count(p),
+          sum(case when p.contractType = com.sgivu.purchasesale.enums.ContractType.PURCHASE
+              then 1L else 0L end),
+          sum(case when p.contractType = com.sgivu.purchasesale.enums.ContractType.SALE
+              then 1L else 0L end))
+      from PurchaseSale p
+      where p.contractStatus <> com.sgivu.purchasesale.enums.ContractStatus.CANCELED
+        and p.vehicleId is not null
+        and (cast(:from as LocalDateTime) is null or p.createdAt >= :from)
+        and (cast(:to as LocalDateTime) is null or p.createdAt < :to)
+      group by p.vehicleId
+      order by count(p) desc, p.vehicleId
+      """)
+  List<VehicleLeaderboardEntry> findMostTradedVehicles(
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable limit);
+}
@@ -0,0 +1,47 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.entity.PurchaseSaleOutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PurchaseSaleOutboxRepository
+    extends JpaRepository<PurchaseSaleOutboxEvent, Long> {
+
+  /**
+   * Toma el candado de publicador hasta el fin de la transacción. Solo una réplica drena el outbox
+   * a la vez, lo que conserva el orden por vehículo.
+   */
+  @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+  boolean tryLockPublisher(@Param("key") long key);
+
+  /**
+   * Eventos pendientes listos para enviar, en orden de inserción. Se excluye un evento si otro
+   * anterior del mismo vehículo sigue esperando un reintento, para no adelantarlo.
+   */
+  @Query(
+      value =
+          """
+          SELECT o.* FROM purchase_sale_outbox o
+          WHERE o.published_at IS NULL
+            AND o.next_attempt_at <= :now
+            AND NOT EXISTS (
+                SELECT 1 FROM purchase_sale_outbox p
+                WHERE p.vehicle_id = o.vehicle_id
+                  AND p.published_at IS NULL
+                  AND p.id < o.id
+                  AND p.next_attempt_at > :now)
+          ORDER BY o.id
+          LIMIT :limit
+          """,
+      nativeQuery = true)
+  List<PurchaseSaleOutboxEvent> findPublishable(
+      @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  @Modifying
+  @Query("delete from PurchaseSaleOutboxEvent o where o.publishedAt < :cutoff")
+  int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,14 +1,289 @@
 package com.sgivu.purchasesale.repository;
 
+import com.sgivu.purchasesale.config.CacheConfig;
 import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface PurchaseSaleRepository extends JpaRepository<PurchaseSale, Long> {
 
+  String STREAM_FETCH_SIZE = "500";
+  String ARCHIVE_TABLE = "purchase_sales_archive";
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.CONTRACT_QUERY_REGION)
+  })
   List<PurchaseSale> findByClientId(Long clientId);
 
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.CONTRACT_QUERY_REGION)
+  })
   List<PurchaseSale> findByUserId(Long userId);
 
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.CONTRACT_QUERY_REGION)
+  })
   List<PurchaseSale> findByVehicleId(Long vehicleId);
+
+  /**
+   * Contratos del vehículo leídos de la base, sin caché de segundo nivel: las reglas de negocio de
+   * las escrituras deben ver lo que otras réplicas acaban de guardar.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+  @Query("select p from PurchaseSale p where p.vehicleId = :vehicleId")
+  List<PurchaseSale> findCurrentByVehicleId(@Param("vehicleId") Long vehicleId);
+
+  /** Lectura masiva de los reportes: no pasa por la caché de segundo nivel ni la llena. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+  List<PurchaseSale> findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+      LocalDateTime from, LocalDateTime to, Sort sort);
+
+  /** Lectura masiva de los reportes: no pasa por la caché de segundo nivel ni la llena. */
+  @Override
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+  List<PurchaseSale> findAll(Sort sort);
+
+  /**
+   * Recorre todos los contratos con un cursor del servidor: el driver trae filas de a
+   * {@code STREAM_FETCH_SIZE}. Debe consumirse dentro de una transacción y cerrarse al terminar.
+   * Hibernate restablece el modo de caché de la consulta antes de recorrer el cursor, así que quien
+   * recorre debe evitar la caché de segundo nivel en la sesión.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select p from PurchaseSale p order by p.id")
+  Stream<PurchaseSale> streamAll();
+
+  @Query("select min(p.createdAt) from PurchaseSale p")
+  Optional<LocalDateTime> findMinCreatedAt();
+
+  @Query("select max(p.createdAt) from PurchaseSale p")
+  Optional<LocalDateTime> findMaxCreatedAt();
+
+  /**
+   * Contratos modificados después de la posición {@code (updatedAt, id)} y antes de {@code until},
+   * en el orden del feed de cambios.
+   */
+  @Query(
+      """
+      select p from PurchaseSale p
+      where (p.updatedAt > :changedAt or (p.updatedAt = :changedAt and p.id > :id))
+        and p.updatedAt < :until
+      order by p.updatedAt, p.id
+      """)
+  List<PurchaseSale> findChangedAfter(
+      @Param("changedAt") LocalDateTime changedAt,
+      @Param("id") Long id,
+      @Param("until") LocalDateTime until,
+      Pageable limit);
+
+  /**
+   * Elimina el contrato en una sola sentencia que también registra la baja en {@code
+   * purchase_sale_tombstones} y descuenta su aporte de {@code purchase_sales_daily_rollup}.
+   * Devuelve la fila eliminada, o vacío si el contrato no existía.
+   */
+  @Transactional
+  @Query(
+      value =
+          """
+          WITH deleted AS (
+              DELETE FROM purchase_sales WHERE id = :id
+              RETURNING id, client_id, user_id, vehicle_id, purchase_price, sale_price,
+                        contract_type, contract_status, payment_method, created_at
+          ), tombstone AS (
+              INSERT INTO purchase_sale_tombstones (contract_id, vehicle_id, deleted_at)
+              SELECT id, vehicle_id, :deletedAt FROM deleted
+              ON CONFLICT (contract_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at
+          ), rollup AS (
+              INSERT INTO purchase_sales_daily_rollup AS r
+                  (day, contract_type, contract_status, payment_method,
+                   contract_count, purchase_price_sum, sale_price_sum)
+              SELECT CAST(created_at AS DATE), contract_type, contract_status, payment_method,
+                     -1, -purchase_price, -sale_price
+              FROM deleted
+              ON CONFLICT (day, contract_type, contract_status, payment_method) DO UPDATE
+              SET contract_count = r.contract_count + EXCLUDED.contract_count,
+                  purchase_price_sum = r.purchase_price_sum + EXCLUDED.purchase_price_sum,
+                  sale_price_sum = r.sale_price_sum + EXCLUDED.sale_price_sum
+          )
+          SELECT id, client_id AS clientId, user_id AS userId, vehicle_id AS vehicleId,
+                 purchase_price AS purchasePrice, sale_price AS salePrice,
+                 contract_type AS contractType, contract_status AS contractStatus,
+                 payment_method AS paymentMethod, created_at AS createdAt
+          FROM deleted
+          """,
+      nativeQuery = true)
+  Optional<ContractRow> deleteReturning(
+      @Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+  /**
+   * Cambia de estado, en una sola sentencia, los contratos indicados que sigan en {@code
+   * fromStatus} y traslada su aporte en {@code purchase_sales_daily_rollup} al nuevo estado.
+   * Devuelve solo las filas actualizadas; las que cambiaron de estado entretanto se omiten. El
+   * rango {@code createdFrom}-{@code createdTo} (inclusivo) de los contratos ya leídos limita las
+   * particiones mensuales que se recorren.
+   */
+  @Transactional
+  @Query(
+      value =
+          """
+          WITH updated AS (
+              UPDATE purchase_sales
+              SET contract_status = :toStatus, updated_at = :updatedAt
+              WHERE id IN (:ids) AND contract_status = :fromStatus
+                AND created_at BETWEEN :createdFrom AND :createdTo
+              RETURNING id, client_id, user_id, vehicle_id, purchase_price, sale_price,
+                        contract_type, contract_status, payment_method, created_at
+          ), deltas AS (
+              SELECT CAST(created_at AS DATE) AS day, contract_type,
+                     CAST(:fromStatus AS VARCHAR) AS contract_status, payment_method,
+                     -COUNT(*) AS contract_count, -SUM(purchase_price) AS purchase_price_sum,
+                     -SUM(sale_price) AS sale_price_sum
+              FROM updated
+              GROUP BY CAST(created_at AS DATE), contract_type, payment_method
+              UNION ALL
+              SELECT CAST(created_at AS DATE), contract_type, contract_status, payment_method,
+                     COUNT(*), SUM(purchase_price), SUM(sale_price)
+              FROM updated
+              GROUP BY CAST(created_at AS DATE), contract_type, contract_status, payment_method
+          ), rollup AS (
+              INSERT INTO purchase_sales_daily_rollup AS r
+                  (day, contract_type, contract_status, payment_method,
+                   contract_count, purchase_price_sum, sale_price_sum)
+              SELECT day, contract_type, contract_status, payment_method,
+                     contract_count, purchase_price_sum, sale_price_sum
+              FROM deltas
+              ON CONFLICT (day, contract_type, contract_status, payment_method) DO UPDATE
+              SET contract_count = r.contract_count + EXCLUDED.contract_count,
+                  purchase_price_sum = r.purchase_price_sum + EXCLUDED.purchase_price_sum,
+                  sale_price_sum = r.sale_price_sum + EXCLUDED.sale_price_sum
+          )
+          SELECT id, client_id AS clientId, user_id AS userId, vehicle_id AS vehicleId,
+                 purchase_price AS purchasePrice, sale_price AS salePrice,
+                 contract_type AS contractType, contract_status AS contractStatus,
+                 payment_method AS paymentMethod, created_at AS createdAt
+          FROM updated
+          ORDER BY id
+          """,
+      nativeQuery = true)
+  List<ContractRow> transitionStatus(
+      @Param("ids") Collection<Long> ids,
+      @Param("fromStatus") String fromStatus,
+      @Param("toStatus") String toStatus,
+      @Param("createdFrom") LocalDateTime createdFrom,
+      @Param("createdTo") LocalDateTime createdTo,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Candidatos de una transición masiva por filtro: contratos en {@code status} que cumplen los
+   * criterios informados, en orden de id.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(
+      """
+      select p from PurchaseSale p
+      where p.contractStatus = :status
+        and (:contractType is null or p.contractType = :contractType)
+        and (:clientId is null or p.clientId = :clientId)
+        and (:vehicleId is null or p.vehicleId = :vehicleId)
+        and (cast(:createdBefore as LocalDateTime) is null or p.createdAt < :createdBefore)
+      order by p.id
+      """)
+  List<PurchaseSale> findTransitionCandidates(
+      @Param("status") ContractStatus status,
+      @Param("contractType") ContractType contractType,
+      @Param("clientId") Long clientId,
+      @Param("vehicleId") Long vehicleId,
+      @Param("createdBefore") LocalDateTime createdBefore,
+      Pageable limit);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+  List<PurchaseSale> findByVehicleIdIn(Collection<Long> vehicleIds);
+
+  /** Contratos por id leídos de la base, sin caché de segundo nivel. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+  @Query("select p from PurchaseSale p where p.id in :ids")
+  List<PurchaseSale> findCurrentByIdIn(@Param("ids") Collection<Long> ids);
+
+  /** Ids en {@code status} creados antes de {@code createdBefore}, paginados por id (keyset). */
+  @Query(
+      """
+      select p.id from PurchaseSale p
+      where p.contractStatus = :status and p.createdAt < :createdBefore and p.id > :afterId
+      order by p.id
+      """)
+  List<Long> findIdsCreatedBefore(
+      @Param("status") ContractStatus status,
+      @Param("createdBefore") LocalDateTime createdBefore,
+      @Param("afterId") Long afterId,
+      Pageable limit);
+
+  /**
+   * Mueve a {@code purchase_sales_archive} hasta {@code limit} contratos completados o cancelados
+   * creados antes de {@code createdBefore}. {@code archived} no está mapeado en la entidad, así que
+   * las entidades y consultas cacheadas siguen siendo válidas y no se invalidan.
+   */
+  @Transactional
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ARCHIVE_TABLE))
+  @Query(
+      value =
+          """
+          UPDATE purchase_sales SET archived = TRUE
+          WHERE archived = FALSE
+            AND created_at < :createdBefore
+            AND (id, created_at) IN (
+                SELECT id, created_at FROM purchase_sales_live
+                WHERE contract_status IN ('COMPLETED', 'CANCELED')
+                  AND created_at < :createdBefore
+                ORDER BY created_at
+                LIMIT :limit)
+          """,
+      nativeQuery = true)
+  int archiveClosedBefore(
+      @Param("createdBefore") LocalDateTime createdBefore, @Param("limit") int limit);
+
+  /** Columnas de un contrato devueltas por una escritura nativa con {@code RETURNING}. */
+  interface ContractRow {
+    Long getId();
+
+    Long getClientId();
+
+    Long getUserId();
+
+    Long getVehicleId();
+
+    Double getPurchasePrice();
+
+    Double getSalePrice();
+
+    ContractType getContractType();
+
+    ContractStatus getContractStatus();
+
+    PaymentMethod getPaymentMethod();
+
+    LocalDateTime getCreatedAt();
+  }
 }
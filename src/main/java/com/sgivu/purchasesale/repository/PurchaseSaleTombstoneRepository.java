@@ -0,0 +1,27 @@
+package com.sgivu.purchasesale.repository;
+
+import com.sgivu.purchasesale.entity.PurchaseSaleTombstone;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PurchaseSaleTombstoneRepository
+    extends JpaRepository<PurchaseSaleTombstone, Long> {
+
+  /** Bajas posteriores a {@code (deletedAt, contractId)} y anteriores a {@code until}. */
+  @Query(
+      """
+      select t from PurchaseSaleTombstone t
+      where (t.deletedAt > :changedAt or (t.deletedAt = :changedAt and t.contractId > :id))
+        and t.deletedAt < :until
+      order by t.deletedAt, t.contractId
+      """)
+  List<PurchaseSaleTombstone> findDeletedAfter(
+      @Param("changedAt") LocalDateTime changedAt,
+      @Param("id") Long id,
+      @Param("until") LocalDateTime until,
+      Pageable limit);
+}
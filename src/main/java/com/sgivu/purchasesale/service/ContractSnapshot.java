@@ -0,0 +1,322 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.ContractSnapshotRow;
+import com.sgivu.purchasesale.dto.SnapshotSliceGroup;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.enums.SnapshotDimension;
+import com.sgivu.purchasesale.service.ContractSnapshotService.SliceFilter;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Copia inmutable y columnar de {@code purchase_sales}: una columna primitiva por atributo, con los
+ * enums codificados por ordinal en {@code byte[]} y el mes de creación como número de mes desde la
+ * época. Las filas se mantienen ordenadas por id para poder aplicar cambios con búsqueda binaria.
+ *
+ * <p>Las consultas recorren las columnas por bloques, en paralelo cuando la instantánea supera un
+ * bloque, y combinan los acumulados parciales de cada bloque.
+ */
+final class ContractSnapshot {
+
+  /** Filas por bloque de escaneo; por debajo de este tamaño se recorre en el hilo actual. */
+  static final int CHUNK_SIZE = 16_384;
+
+  private static final ContractType[] CONTRACT_TYPES = ContractType.values();
+  private static final ContractStatus[] CONTRACT_STATUSES = ContractStatus.values();
+  private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+  private final int size;
+  private final long[] ids;
+  private final long[] userIds;
+  private final double[] purchasePrices;
+  private final double[] salePrices;
+  private final byte[] contractTypes;
+  private final byte[] contractStatuses;
+  private final byte[] paymentMethods;
+  private final int[] createdMonths;
+  private final LocalDateTime maxUpdatedAt;
+  private final LocalDateTime refreshedAt;
+
+  private ContractSnapshot(int capacity, LocalDateTime maxUpdatedAt, LocalDateTime refreshedAt) {
+    this.size = capacity;
+    this.ids = new long[capacity];
+    this.userIds = new long[capacity];
+    this.purchasePrices = new double[capacity];
+    this.salePrices = new double[capacity];
+    this.contractTypes = new byte[capacity];
+    this.contractStatuses = new byte[capacity];
+    this.paymentMethods = new byte[capacity];
+    this.createdMonths = new int[capacity];
+    this.maxUpdatedAt = maxUpdatedAt;
+    this.refreshedAt = refreshedAt;
+  }
+
+  static ContractSnapshot of(Collection<ContractSnapshotRow> rows, LocalDateTime refreshedAt) {
+    List<ContractSnapshotRow> sorted = sortedById(rows);
+    ContractSnapshot snapshot =
+        new ContractSnapshot(sorted.size(), maxUpdatedAt(sorted, null), refreshedAt);
+    for (int i = 0; i < sorted.size(); i++) {
+      snapshot.write(i, sorted.get(i));
+    }
+    return snapshot;
+  }
+
+  /**
+   * Devuelve una nueva instantánea con las filas modificadas sobrescritas y las nuevas intercaladas
+   * en orden de id. La instancia actual no se modifica, por lo que las consultas en curso siguen
+   * viendo una versión consistente.
+   */
+  ContractSnapshot withChanges(Collection<ContractSnapshotRow> changedRows, LocalDateTime now) {
+    List<ContractSnapshotRow> updates = new ArrayList<>();
+    List<ContractSnapshotRow> inserts = new ArrayList<>();
+    for (ContractSnapshotRow row : changedRows) {
+      (Arrays.binarySearch(ids, 0, size, row.getId()) >= 0 ? updates : inserts).add(row);
+    }
+
+    ContractSnapshot next =
+        new ContractSnapshot(size + inserts.size(), maxUpdatedAt(changedRows, maxUpdatedAt), now);
+    List<ContractSnapshotRow> sortedInserts = sortedById(inserts);
+    int source = 0;
+    int insert = 0;
+    for (int target = 0; target < next.size; target++) {
+      if (insert < sortedInserts.size()
+          && (source == size || sortedInserts.get(insert).getId() < ids[source])) {
+        next.write(target, sortedInserts.get(insert++));
+      } else {
+        next.copyFrom(this, source++, target);
+      }
+    }
+    for (ContractSnapshotRow row : updates) {
+      next.write(Arrays.binarySearch(next.ids, row.getId()), row);
+    }
+    return next;
+  }
+
+  List<SnapshotSliceGroup> slice(SliceFilter filter, SnapshotDimension groupBy) {
+    int chunks = Math.max(1, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    GroupTotals totals =
+        chunks == 1
+            ? scan(filter, groupBy, 0, size)
+            : IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(
+                    chunk ->
+                        scan(
+                            filter,
+                            groupBy,
+                            chunk * CHUNK_SIZE,
+                            Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+                .reduce(GroupTotals::merge)
+                .orElseThrow();
+    return totals.toGroups(groupBy);
+  }
+
+  int size() {
+    return size;
+  }
+
+  LocalDateTime maxUpdatedAt() {
+    return maxUpdatedAt;
+  }
+
+  LocalDateTime refreshedAt() {
+    return refreshedAt;
+  }
+
+  private GroupTotals scan(SliceFilter filter, SnapshotDimension groupBy, int from, int to) {
+    int contractType = ordinalOrAny(filter.contractType());
+    int contractStatus = ordinalOrAny(filter.contractStatus());
+    int paymentMethod = ordinalOrAny(filter.paymentMethod());
+    boolean anyMonth = filter.month() == null;
+    int month = anyMonth ? 0 : epochMonth(filter.month());
+    boolean anyUser = filter.userId() == null;
+    long userId = anyUser ? 0 : filter.userId();
+
+    GroupTotals totals = new GroupTotals(denseCardinality(groupBy));
+    for (int i = from; i < to; i++) {
+      if ((contractType >= 0 && contractTypes[i] != contractType)
+          || (contractStatus >= 0 && contractStatuses[i] != contractStatus)
+          || (paymentMethod >= 0 && paymentMethods[i] != paymentMethod)
+          || (!anyMonth && createdMonths[i] != month)
+          || (!anyUser && userIds[i] != userId)) {
+        continue;
+      }
+      totals.add(keyOf(groupBy, i), purchasePrices[i], salePrices[i]);
+    }
+    return totals;
+  }
+
+  private long keyOf(SnapshotDimension groupBy, int row) {
+    if (groupBy == null) {
+      return 0;
+    }
+    return switch (groupBy) {
+      case CONTRACT_TYPE -> contractTypes[row];
+      case CONTRACT_STATUS -> contractStatuses[row];
+      case PAYMENT_METHOD -> paymentMethods[row];
+      case MONTH -> createdMonths[row];
+      case USER -> userIds[row];
+    };
+  }
+
+  private void write(int index, ContractSnapshotRow row) {
+    ids[index] = row.getId();
+    userIds[index] = Objects.requireNonNullElse(row.getUserId(), 0L);
+    purchasePrices[index] = Objects.requireNonNullElse(row.getPurchasePrice(), 0d);
+    salePrices[index] = Objects.requireNonNullElse(row.getSalePrice(), 0d);
+    contractTypes[index] = (byte) row.getContractType().ordinal();
+    contractStatuses[index] = (byte) row.getContractStatus().ordinal();
+    paymentMethods[index] = (byte) row.getPaymentMethod().ordinal();
+    createdMonths[index] = epochMonth(YearMonth.from(row.getCreatedAt()));
+  }
+
+  private void copyFrom(ContractSnapshot source, int from, int to) {
+    ids[to] = source.ids[from];
+    userIds[to] = source.userIds[from];
+    purchasePrices[to] = source.purchasePrices[from];
+    salePrices[to] = source.salePrices[from];
+    contractTypes[to] = source.contractTypes[from];
+    contractStatuses[to] = source.contractStatuses[from];
+    paymentMethods[to] = source.paymentMethods[from];
+    createdMonths[to] = source.createdMonths[from];
+  }
+
+  private static List<ContractSnapshotRow> sortedById(Collection<ContractSnapshotRow> rows) {
+    List<ContractSnapshotRow> sorted = new ArrayList<>(rows);
+    sorted.sort(Comparator.comparing(ContractSnapshotRow::getId));
+    return sorted;
+  }
+
+  private static LocalDateTime maxUpdatedAt(
+      Collection<ContractSnapshotRow> rows, LocalDateTime current) {
+    LocalDateTime max = current;
+    for (ContractSnapshotRow row : rows) {
+      if (row.getUpdatedAt() != null && (max == null || row.getUpdatedAt().isAfter(max))) {
+        max = row.getUpdatedAt();
+      }
+    }
+    return max;
+  }
+
+  private static int ordinalOrAny(Enum<?> value) {
+    return value != null ? value.ordinal() : -1;
+  }
+
+  private static int epochMonth(YearMonth month) {
+    return month.getYear() * 12 + month.getMonthValue() - 1;
+  }
+
+  /** Cardinalidad de las dimensiones enumeradas; 0 para las que se acumulan en un mapa. */
+  private static int denseCardinality(SnapshotDimension groupBy) {
+    if (groupBy == null) {
+      return 1;
+    }
+    return switch (groupBy) {
+      case CONTRACT_TYPE -> CONTRACT_TYPES.length;
+      case CONTRACT_STATUS -> CONTRACT_STATUSES.length;
+      case PAYMENT_METHOD -> PAYMENT_METHODS.length;
+      case MONTH, USER -> 0;
+    };
+  }
+
+  private static String labelOf(SnapshotDimension groupBy, long key) {
+    if (groupBy == null) {
+      return "TOTAL";
+    }
+    return switch (groupBy) {
+      case CONTRACT_TYPE -> CONTRACT_TYPES[(int) key].name();
+      case CONTRACT_STATUS -> CONTRACT_STATUSES[(int) key].name();
+      case PAYMENT_METHOD -> PAYMENT_METHODS[(int) key].name();
+      case MONTH -> YearMonth.of((int) (key / 12), (int) (key % 12) + 1).toString();
+      case USER -> Long.toString(key);
+    };
+  }
+
+  /**
+   * Acumulados por grupo de un bloque. Las dimensiones enumeradas usan arreglos indexados por
+   * ordinal; el mes y el usuario, un mapa disperso.
+   */
+  private static final class GroupTotals {
+
+    private final long[] denseCounts;
+    private final double[] densePurchases;
+    private final double[] denseSales;
+    private final Map<Long, double[]> sparse;
+
+    GroupTotals(int denseCardinality) {
+      this.denseCounts = new long[denseCardinality];
+      this.densePurchases = new double[denseCardinality];
+      this.denseSales = new double[denseCardinality];
+      this.sparse = denseCardinality == 0 ? new HashMap<>() : null;
+    }
+
+    void add(long key, double purchasePrice, double salePrice) {
+      if (sparse == null) {
+        int index = (int) key;
+        denseCounts[index]++;
+        densePurchases[index] += purchasePrice;
+        denseSales[index] += salePrice;
+        return;
+      }
+      double[] totals = sparse.computeIfAbsent(key, ignored -> new double[3]);
+      totals[0]++;
+      totals[1] += purchasePrice;
+      totals[2] += salePrice;
+    }
+
+    GroupTotals merge(GroupTotals other) {
+      if (sparse == null) {
+        for (int i = 0; i < denseCounts.length; i++) {
+          denseCounts[i] += other.denseCounts[i];
+          densePurchases[i] += other.densePurchases[i];
+          denseSales[i] += other.denseSales[i];
+        }
+        return this;
+      }
+      other.sparse.forEach(
+          (key, totals) -> {
+            double[] target = sparse.computeIfAbsent(key, ignored -> new double[3]);
+            target[0] += totals[0];
+            target[1] += totals[1];
+            target[2] += totals[2];
+          });
+      return this;
+    }
+
+    List<SnapshotSliceGroup> toGroups(SnapshotDimension groupBy) {
+      List<SnapshotSliceGroup> groups = new ArrayList<>();
+      if (sparse == null) {
+        for (int i = 0; i < denseCounts.length; i++) {
+          if (denseCounts[i] > 0 || groupBy == null) {
+            groups.add(
+                new SnapshotSliceGroup(
+                    labelOf(groupBy, i), denseCounts[i], densePurchases[i], denseSales[i]));
+          }
+        }
+        return groups;
+      }
+      sparse.entrySet().stream()
+          .sorted(Map.Entry.comparingByKey())
+          .forEach(
+              entry ->
+                  groups.add(
+                      new SnapshotSliceGroup(
+                          labelOf(groupBy, entry.getKey()),
+                          (long) entry.getValue()[0],
+                          entry.getValue()[1],
+                          entry.getValue()[2])));
+      return groups;
+    }
+  }
+}
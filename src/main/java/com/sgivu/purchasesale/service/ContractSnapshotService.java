@@ -0,0 +1,94 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.ContractSnapshotRow;
+import com.sgivu.purchasesale.dto.SnapshotSliceResponse;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.enums.SnapshotDimension;
+import com.sgivu.purchasesale.repository.PurchaseSaleAnalyticsRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mantiene en memoria una instantánea columnar de los contratos para consultas ad hoc de la
+ * pantalla de BI, sin cargar a PostgreSQL con agrupaciones por cada combinación de filtros.
+ *
+ * <p>Cada refresco trae solo los contratos con {@code updated_at} posterior a la última marca
+ * vista, menos un margen para transacciones confirmadas con retraso. Las eliminaciones no dejan
+ * rastro en {@code updated_at}, por lo que la instantánea se recarga por completo periódicamente.
+ */
+@Service
+public class ContractSnapshotService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContractSnapshotService.class);
+
+  private final PurchaseSaleAnalyticsRepository purchaseSaleAnalyticsRepository;
+  private final Duration refreshOverlap;
+  private final Duration fullReloadInterval;
+
+  private volatile ContractSnapshot snapshot;
+  private LocalDateTime lastFullReload;
+
+  public ContractSnapshotService(
+      PurchaseSaleAnalyticsRepository purchaseSaleAnalyticsRepository,
+      @Value("${purchase-sale.analytics.snapshot.refresh-overlap:PT5S}") Duration refreshOverlap,
+      @Value("${purchase-sale.analytics.snapshot.full-reload-interval:PT1H}")
+          Duration fullReloadInterval) {
+    this.purchaseSaleAnalyticsRepository = purchaseSaleAnalyticsRepository;
+    this.refreshOverlap = refreshOverlap;
+    this.fullReloadInterval = fullReloadInterval;
+  }
+
+  public SnapshotSliceResponse slice(SliceFilter filter, SnapshotDimension groupBy) {
+    ContractSnapshot current = snapshot;
+    if (current == null) {
+      refresh();
+      current = snapshot;
+    }
+    return SnapshotSliceResponse.builder()
+        .groupBy(groupBy)
+        .snapshotContracts(current.size())
+        .snapshotRefreshedAt(current.refreshedAt())
+        .groups(current.slice(filter, groupBy))
+        .build();
+  }
+
+  @Scheduled(
+      initialDelayString = "${purchase-sale.analytics.snapshot.initial-delay:PT10S}",
+      fixedDelayString = "${purchase-sale.analytics.snapshot.refresh-interval:PT30S}")
+  public synchronized void refresh() {
+    LocalDateTime now = LocalDateTime.now();
+    ContractSnapshot current = snapshot;
+    if (current == null
+        || current.maxUpdatedAt() == null
+        || !now.isBefore(lastFullReload.plus(fullReloadInterval))) {
+      List<ContractSnapshotRow> rows = purchaseSaleAnalyticsRepository.findSnapshotRows(null);
+      snapshot = ContractSnapshot.of(rows, now);
+      lastFullReload = now;
+      logger.info("Instantánea analítica recargada con {} contratos.", rows.size());
+      return;
+    }
+
+    List<ContractSnapshotRow> changedRows =
+        purchaseSaleAnalyticsRepository.findSnapshotRows(
+            current.maxUpdatedAt().minus(refreshOverlap));
+    snapshot = current.withChanges(changedRows, now);
+    logger.debug("Instantánea analítica actualizada con {} cambios.", changedRows.size());
+  }
+
+  /** Criterios de filtrado; los valores {@code null} no restringen la dimensión. */
+  public record SliceFilter(
+      ContractType contractType,
+      ContractStatus contractStatus,
+      PaymentMethod paymentMethod,
+      YearMonth month,
+      Long userId) {}
+}
@@ -0,0 +1,42 @@
+package com.sgivu.purchasesale.service;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Acumula la longitud máxima del texto mostrado en cada columna mientras se emiten las filas, para
+ * fijar los anchos una sola vez al final.
+ *
+ * <p>Reemplaza a {@link Sheet#autoSizeColumn(int)}, que mide cada celda con las métricas de fuente
+ * de AWT y no es compatible con libros en streaming ({@code SXSSFWorkbook}).
+ */
+class ExcelColumnWidthTracker {
+
+  /** Ancho máximo que admite Excel para una columna, expresado en caracteres. */
+  private static final int MAX_COLUMN_CHARS = 255;
+
+  /** Margen adicional para compensar el relleno de la celda y fuentes en negrita. */
+  private static final int PADDING_CHARS = 2;
+
+  private final int[] maxLengths;
+
+  ExcelColumnWidthTracker(int columnCount) {
+    this.maxLengths = new int[columnCount];
+  }
+
+  void track(int column, String value) {
+    if (value != null && value.length() > maxLengths[column]) {
+      maxLengths[column] = value.length();
+    }
+  }
+
+  int widthOf(int column) {
+    int chars = Math.min(maxLengths[column] + PADDING_CHARS, MAX_COLUMN_CHARS);
+    return chars * 256;
+  }
+
+  void applyTo(Sheet sheet) {
+    for (int i = 0; i < maxLengths.length; i++) {
+      sheet.setColumnWidth(i, widthOf(i));
+    }
+  }
+}
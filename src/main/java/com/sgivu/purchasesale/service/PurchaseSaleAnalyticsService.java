@@ -0,0 +1,83 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.AnalyticsSummaryResponse;
+import com.sgivu.purchasesale.dto.ContractTypeTotals;
+import com.sgivu.purchasesale.dto.PaymentMethodCount;
+import com.sgivu.purchasesale.dto.StatusBreakdown;
+import com.sgivu.purchasesale.dto.TransactionMargin;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.repository.PurchaseSaleAnalyticsRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleDailyRollupRepository;
+import com.sgivu.purchasesale.util.DateRange;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Indicadores de gestión (ver {@code database/queries.sql}) calculados con consultas agregadas en
+ * la base de datos. No carga entidades ni consulta los servicios de clientes, usuarios o vehículos.
+ *
+ * <p>Los totales, la distribución por método de pago y el desglose por estado se leen de {@code
+ * purchase_sales_daily_rollup}; por eso sus filtros de fecha se aplican con granularidad diaria.
+ * Los márgenes por transacción siguen consultando {@code purchase_sales}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PurchaseSaleAnalyticsService {
+
+  private final PurchaseSaleAnalyticsRepository purchaseSaleAnalyticsRepository;
+  private final PurchaseSaleDailyRollupRepository purchaseSaleDailyRollupRepository;
+
+  public PurchaseSaleAnalyticsService(
+      PurchaseSaleAnalyticsRepository purchaseSaleAnalyticsRepository,
+      PurchaseSaleDailyRollupRepository purchaseSaleDailyRollupRepository) {
+    this.purchaseSaleAnalyticsRepository = purchaseSaleAnalyticsRepository;
+    this.purchaseSaleDailyRollupRepository = purchaseSaleDailyRollupRepository;
+  }
+
+  public AnalyticsSummaryResponse getSummary(DateRange dateRange) {
+    List<ContractTypeTotals> completedTotals =
+        purchaseSaleDailyRollupRepository.sumByContractType(
+            ContractStatus.COMPLETED, dateRange.fromDay(), dateRange.toDay());
+
+    ContractTypeTotals sales = findTotals(completedTotals, ContractType.SALE);
+    ContractTypeTotals purchases = findTotals(completedTotals, ContractType.PURCHASE);
+
+    return AnalyticsSummaryResponse.builder()
+        .completedSales(sales.getContracts())
+        .completedSalesTotal(sales.getSalePriceTotal())
+        .completedPurchases(purchases.getContracts())
+        .completedPurchasesTotal(purchases.getPurchasePriceTotal())
+        .averageMargin(
+            sales.getContracts() > 0
+                ? (sales.getSalePriceTotal() - sales.getPurchasePriceTotal())
+                    / sales.getContracts()
+                : null)
+        .build();
+  }
+
+  public List<PaymentMethodCount> getPaymentMethodDistribution(DateRange dateRange) {
+    return purchaseSaleDailyRollupRepository.countByPaymentMethod(
+        dateRange.fromDay(), dateRange.toDay());
+  }
+
+  public List<StatusBreakdown> getStatusBreakdown(DateRange dateRange) {
+    return purchaseSaleDailyRollupRepository.breakdownByStatus(
+        dateRange.fromDay(), dateRange.toDay());
+  }
+
+  public Page<TransactionMargin> getCompletedSaleMargins(DateRange dateRange, Pageable pageable) {
+    return purchaseSaleAnalyticsRepository.findCompletedSaleMargins(
+        dateRange.from(), dateRange.to(), pageable);
+  }
+
+  private ContractTypeTotals findTotals(List<ContractTypeTotals> totals, ContractType type) {
+    return totals.stream()
+        .filter(total -> total.getContractType() == type)
+        .findFirst()
+        .orElseGet(() -> new ContractTypeTotals(type, 0L, 0d, 0d));
+  }
+}
@@ -0,0 +1,83 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.PurchaseSaleBatchItem;
+import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
+import com.sgivu.purchasesale.dto.PurchaseSaleResponse;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consulta de varios contratos por id con una sola sentencia {@code IN}, para pantallas que hoy
+ * piden cada contrato por separado.
+ */
+@Service
+public class PurchaseSaleBatchService {
+
+  static final int MAX_IDS = 100;
+
+  private final PurchaseSaleRepository purchaseSaleRepository;
+  private final PurchaseSaleMapper purchaseSaleMapper;
+  private final PurchaseSaleDetailService purchaseSaleDetailService;
+
+  public PurchaseSaleBatchService(
+      PurchaseSaleRepository purchaseSaleRepository,
+      PurchaseSaleMapper purchaseSaleMapper,
+      PurchaseSaleDetailService purchaseSaleDetailService) {
+    this.purchaseSaleRepository = purchaseSaleRepository;
+    this.purchaseSaleMapper = purchaseSaleMapper;
+    this.purchaseSaleDetailService = purchaseSaleDetailService;
+  }
+
+  /**
+   * Devuelve un elemento por id distinto, en el orden de la solicitud, marcando los que no existen.
+   * Con {@code detailed} los contratos encontrados se enriquecen consultando una sola vez cada
+   * cliente, usuario y vehículo.
+   */
+  public List<PurchaseSaleBatchItem> getByIds(List<Long> ids, boolean detailed) {
+    if (ids == null || ids.isEmpty()) {
+      throw new IllegalArgumentException("Debe indicar al menos un ID de contrato.");
+    }
+    if (ids.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("Los IDs de contrato no pueden ser nulos.");
+    }
+    List<Long> requestedIds = List.copyOf(new LinkedHashSet<>(ids));
+    if (requestedIds.size() > MAX_IDS) {
+      throw new IllegalArgumentException(
+          "Se pueden consultar como máximo " + MAX_IDS + " contratos por solicitud.");
+    }
+
+    List<PurchaseSale> contracts = purchaseSaleRepository.findAllById(requestedIds);
+    Map<Long, ? extends PurchaseSaleResponse> responsesById = toResponses(contracts, detailed);
+
+    return requestedIds.stream()
+        .map(
+            id -> {
+              PurchaseSaleResponse contract = responsesById.get(id);
+              return PurchaseSaleBatchItem.builder()
+                  .id(id)
+                  .found(contract != null)
+                  .contract(contract)
+                  .build();
+            })
+        .toList();
+  }
+
+  private Map<Long, ? extends PurchaseSaleResponse> toResponses(
+      List<PurchaseSale> contracts, boolean detailed) {
+    if (detailed) {
+      return purchaseSaleDetailService.toDetails(contracts).stream()
+          .collect(Collectors.toMap(PurchaseSaleDetailResponse::getId, Function.identity()));
+    }
+    return contracts.stream()
+        .map(purchaseSaleMapper::toPurchaseSaleResponse)
+        .collect(Collectors.toMap(PurchaseSaleResponse::getId, Function.identity()));
+  }
+}
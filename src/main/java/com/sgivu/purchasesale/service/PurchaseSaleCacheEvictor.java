@@ -0,0 +1,51 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.config.CacheConfig;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalida la caché de segundo nivel tras escrituras nativas sobre {@code purchase_sales}, que
+ * Hibernate no registra. Se invalida de inmediato y otra vez al confirmar, para descartar lo que
+ * una lectura concurrente haya vuelto a cargar mientras la transacción seguía abierta.
+ */
+@Component
+public class PurchaseSaleCacheEvictor {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  public PurchaseSaleCacheEvictor(EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  public void evictContract(Long id) {
+    evictContracts(List.of(id));
+  }
+
+  public void evictContracts(Collection<Long> ids) {
+    evict(ids);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              evict(ids);
+            }
+          });
+    }
+  }
+
+  private void evict(Collection<Long> ids) {
+    ids.forEach(id -> entityManagerFactory.getCache().evict(PurchaseSale.class, id));
+    entityManagerFactory
+        .unwrap(SessionFactory.class)
+        .getCache()
+        .evictQueryRegion(CacheConfig.CONTRACT_QUERY_REGION);
+  }
+}
@@ -0,0 +1,112 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.ChangeFeedEntry;
+import com.sgivu.purchasesale.dto.ChangeFeedResponse;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.PurchaseSaleTombstone;
+import com.sgivu.purchasesale.enums.ChangeOperation;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleTombstoneRepository;
+import com.sgivu.purchasesale.util.ChangeFeedCursor;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Feed de cambios para sincronización incremental. Combina, en orden {@code (changedAt, id)}, los
+ * contratos modificados ({@code updated_at}) y las bajas registradas en {@code
+ * purchase_sale_tombstones}.
+ *
+ * <p>{@code updated_at} se asigna al escribir y no al confirmar, por lo que una transacción lenta
+ * puede hacer visible un cambio con un instante anterior al último entregado. Para no saltarlo, el
+ * feed solo entrega cambios más antiguos que la ventana de asentamiento configurada.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PurchaseSaleChangeFeedService {
+
+  static final int MAX_LIMIT = 500;
+
+  private static final Comparator<ChangeFeedEntry> FEED_ORDER =
+      Comparator.comparing(ChangeFeedEntry::getChangedAt)
+          .thenComparing(ChangeFeedEntry::getContractId);
+
+  private final PurchaseSaleRepository purchaseSaleRepository;
+  private final PurchaseSaleTombstoneRepository purchaseSaleTombstoneRepository;
+  private final PurchaseSaleMapper purchaseSaleMapper;
+  private final Duration settleWindow;
+
+  public PurchaseSaleChangeFeedService(
+      PurchaseSaleRepository purchaseSaleRepository,
+      PurchaseSaleTombstoneRepository purchaseSaleTombstoneRepository,
+      PurchaseSaleMapper purchaseSaleMapper,
+      @Value("${purchase-sale.changes.settle-window:PT5S}") Duration settleWindow) {
+    this.purchaseSaleRepository = purchaseSaleRepository;
+    this.purchaseSaleTombstoneRepository = purchaseSaleTombstoneRepository;
+    this.purchaseSaleMapper = purchaseSaleMapper;
+    this.settleWindow = settleWindow;
+  }
+
+  public ChangeFeedResponse getChanges(String cursor, int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException(
+          "El tamaño del lote debe estar entre 1 y " + MAX_LIMIT + ".");
+    }
+    ChangeFeedCursor position = ChangeFeedCursor.decode(cursor);
+    LocalDateTime until = LocalDateTime.now().minus(settleWindow);
+    // Se pide un elemento extra para saber si quedan cambios sin recorrer el resto del feed.
+    Pageable batch = PageRequest.of(0, limit + 1);
+
+    List<ChangeFeedEntry> entries = new ArrayList<>();
+    for (PurchaseSale contract :
+        purchaseSaleRepository.findChangedAfter(
+            position.changedAt(), position.id(), until, batch)) {
+      entries.add(toUpsert(contract));
+    }
+    for (PurchaseSaleTombstone tombstone :
+        purchaseSaleTombstoneRepository.findDeletedAfter(
+            position.changedAt(), position.id(), until, batch)) {
+      entries.add(toDelete(tombstone));
+    }
+    entries.sort(FEED_ORDER);
+
+    boolean hasMore = entries.size() > limit;
+    List<ChangeFeedEntry> page = hasMore ? entries.subList(0, limit) : entries;
+    ChangeFeedCursor next =
+        page.isEmpty()
+            ? position
+            : new ChangeFeedCursor(
+                page.getLast().getChangedAt(), page.getLast().getContractId());
+
+    return ChangeFeedResponse.builder()
+        .changes(List.copyOf(page))
+        .nextCursor(next.encode())
+        .hasMore(hasMore)
+        .build();
+  }
+
+  private ChangeFeedEntry toUpsert(PurchaseSale contract) {
+    return ChangeFeedEntry.builder()
+        .operation(ChangeOperation.UPSERT)
+        .contractId(contract.getId())
+        .changedAt(contract.getUpdatedAt())
+        .contract(purchaseSaleMapper.toPurchaseSaleResponse(contract))
+        .build();
+  }
+
+  private ChangeFeedEntry toDelete(PurchaseSaleTombstone tombstone) {
+    return ChangeFeedEntry.builder()
+        .operation(ChangeOperation.DELETE)
+        .contractId(tombstone.getContractId())
+        .changedAt(tombstone.getDeletedAt())
+        .build();
+  }
+}
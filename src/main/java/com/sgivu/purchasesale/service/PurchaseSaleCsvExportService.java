@@ -0,0 +1,75 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.util.DateRange;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exporta los contratos en CSV delegando la serialización a PostgreSQL mediante {@code COPY ... TO
+ * STDOUT}. Las filas viajan del driver directamente al flujo de salida sin materializarse como
+ * entidades {@link com.sgivu.purchasesale.entity.PurchaseSale}.
+ */
+@Service
+public class PurchaseSaleCsvExportService {
+
+  private static final String COLUMNS =
+      "id, client_id, user_id, vehicle_id, contract_type, contract_status, payment_method, "
+          + "purchase_price, sale_price, payment_limitations, payment_terms, observations, "
+          + "created_at, updated_at";
+
+  private static final DateTimeFormatter TIMESTAMP_LITERAL_FORMATTER =
+      DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+  private final DataSource dataSource;
+
+  public PurchaseSaleCsvExportService(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  public void exportCsv(DateRange dateRange, OutputStream outputStream) {
+    String copySql = buildCopySql(dateRange);
+    try (Connection connection = dataSource.getConnection()) {
+      CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+      copyManager.copyOut(copySql, outputStream);
+    } catch (SQLException | IOException ex) {
+      throw new IllegalStateException("Error al exportar los contratos en CSV", ex);
+    }
+  }
+
+  /**
+   * {@code COPY} no admite parámetros enlazados, por lo que los límites se insertan como
+   * literales. Solo provienen de {@link LocalDateTime} formateados, nunca de texto del usuario.
+   */
+  String buildCopySql(DateRange dateRange) {
+    List<String> conditions = new ArrayList<>();
+    if (dateRange.from() != null) {
+      conditions.add("created_at >= " + toTimestampLiteral(dateRange.from()));
+    }
+    if (dateRange.to() != null) {
+      conditions.add("created_at < " + toTimestampLiteral(dateRange.to()));
+    }
+
+    StringBuilder query =
+        new StringBuilder("SELECT ").append(COLUMNS).append(" FROM purchase_sales");
+    if (!conditions.isEmpty()) {
+      query.append(" WHERE ").append(String.join(" AND ", conditions));
+    }
+    query.append(" ORDER BY id");
+
+    return "COPY (" + query + ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+  }
+
+  private String toTimestampLiteral(LocalDateTime value) {
+    return "TIMESTAMP '" + value.format(TIMESTAMP_LITERAL_FORMATTER) + "'";
+  }
+}
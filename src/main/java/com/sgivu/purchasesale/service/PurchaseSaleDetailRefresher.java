@@ -0,0 +1,187 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.PurchaseSaleDetail;
+import com.sgivu.purchasesale.event.PurchaseSaleChangedEvent;
+import com.sgivu.purchasesale.repository.PurchaseSaleDetailRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import com.sgivu.purchasesale.util.ChangeFeedCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantiene {@code purchase_sale_details}. Tras confirmar cada escritura encola el contrato y un
+ * hilo propio lo vuelve a enriquecer, de modo que las llamadas remotas no alargan la transacción ni
+ * ocupan el hilo del planificador. Un reconciliador periódico encola los contratos cuyo cambio se
+ * perdió (por ejemplo, en otra réplica o por un reinicio) y los que fallaron.
+ *
+ * <p>Tras el arranque el reconciliador revisa una vez toda la tabla; después solo recorre, con el
+ * mismo orden {@code (updated_at, id)} del feed de cambios, los contratos modificados desde la
+ * pasada anterior.
+ */
+@Service
+public class PurchaseSaleDetailRefresher {
+
+  private static final Logger logger = LoggerFactory.getLogger(PurchaseSaleDetailRefresher.class);
+
+  private final PurchaseSaleRepository purchaseSaleRepository;
+  private final PurchaseSaleDetailRepository purchaseSaleDetailRepository;
+  private final PurchaseSaleDetailService purchaseSaleDetailService;
+  private final ExecutorService executor;
+  private final Duration settleWindow;
+  private final int reconcileBatchSize;
+
+  private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+  private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+  /** Último cambio revisado; {@code null} hasta terminar la revisión completa del arranque. */
+  private ChangeFeedCursor reconciled;
+  private final Counter refreshedCounter;
+  private final Counter failedCounter;
+
+  public PurchaseSaleDetailRefresher(
+      PurchaseSaleRepository purchaseSaleRepository,
+      PurchaseSaleDetailRepository purchaseSaleDetailRepository,
+      PurchaseSaleDetailService purchaseSaleDetailService,
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.changes.settle-window:PT5S}") Duration settleWindow,
+      @Value("${purchase-sale.details.reconcile-batch-size:500}") int reconcileBatchSize) {
+    this.purchaseSaleRepository = purchaseSaleRepository;
+    this.purchaseSaleDetailRepository = purchaseSaleDetailRepository;
+    this.purchaseSaleDetailService = purchaseSaleDetailService;
+    this.settleWindow = settleWindow;
+    this.reconcileBatchSize = reconcileBatchSize;
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "purchase-sale-details");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.refreshedCounter = meterRegistry.counter("purchase_sale.details.refreshed");
+    this.failedCounter = meterRegistry.counter("purchase_sale.details.failed");
+  }
+
+  @TransactionalEventListener
+  public void onChange(PurchaseSaleChangedEvent event) {
+    enqueue(List.of(event.contractId()));
+  }
+
+  @Scheduled(
+      initialDelayString = "${purchase-sale.details.initial-delay:PT30S}",
+      fixedDelayString = "${purchase-sale.details.reconcile-interval:PT5M}")
+  public void reconcile() {
+    if (reconciled == null) {
+      catchUp();
+    } else {
+      reconcileChanges();
+    }
+    List<Long> retries = List.copyOf(failed);
+    failed.removeAll(retries);
+    enqueue(retries);
+  }
+
+  /**
+   * Elimina las filas huérfanas y encola los contratos sin fila o con otra versión. Mientras quede
+   * más de un lote se repite en la siguiente pasada; luego se continúa por el feed de cambios desde
+   * el inicio de esta pasada.
+   */
+  private void catchUp() {
+    LocalDateTime startedAt = LocalDateTime.now().minus(settleWindow);
+    int orphans = purchaseSaleDetailRepository.deleteOrphans();
+    List<Long> stale = purchaseSaleDetailRepository.findStaleContractIds(reconcileBatchSize);
+    enqueue(stale);
+    if (stale.size() < reconcileBatchSize) {
+      reconciled = new ChangeFeedCursor(startedAt, 0L);
+    }
+    if (orphans > 0 || !stale.isEmpty()) {
+      logger.info(
+          "Modelo de lectura: {} filas huérfanas eliminadas, {} contratos encolados.",
+          orphans,
+          stale.size());
+    }
+  }
+
+  /** Encola los contratos modificados desde la pasada anterior cuya fila no tiene su versión. */
+  private void reconcileChanges() {
+    LocalDateTime until = LocalDateTime.now().minus(settleWindow);
+    List<PurchaseSale> changed;
+    do {
+      changed =
+          purchaseSaleRepository.findChangedAfter(
+              reconciled.changedAt(),
+              reconciled.id(),
+              until,
+              PageRequest.of(0, reconcileBatchSize));
+      if (changed.isEmpty()) {
+        return;
+      }
+      Map<Long, PurchaseSaleDetail> stored = new HashMap<>();
+      purchaseSaleDetailRepository
+          .findAllById(changed.stream().map(PurchaseSale::getId).toList())
+          .forEach(detail -> stored.put(detail.getContractId(), detail));
+      enqueue(
+          changed.stream()
+              .filter(
+                  contract ->
+                      !PurchaseSaleDetailService.isCurrent(stored.get(contract.getId()), contract))
+              .map(PurchaseSale::getId)
+              .toList());
+      PurchaseSale last = changed.getLast();
+      reconciled = new ChangeFeedCursor(last.getUpdatedAt(), last.getId());
+    } while (changed.size() == reconcileBatchSize);
+  }
+
+  /** Un contrato ya encolado no se vuelve a encolar hasta que se procese. */
+  void enqueue(Collection<Long> contractIds) {
+    for (Long contractId : contractIds) {
+      if (contractId != null && pending.add(contractId)) {
+        executor.execute(() -> refresh(contractId));
+      }
+    }
+  }
+
+  void refresh(Long contractId) {
+    pending.remove(contractId);
+    try {
+      Optional<PurchaseSale> contract =
+          purchaseSaleRepository.findCurrentByIdIn(List.of(contractId)).stream().findFirst();
+      if (contract.isEmpty()) {
+        purchaseSaleDetailRepository.deleteById(contractId);
+        return;
+      }
+      purchaseSaleDetailRepository.save(
+          purchaseSaleDetailService.resolveReadModel(contract.get(), LocalDateTime.now()));
+      refreshedCounter.increment();
+    } catch (RuntimeException ex) {
+      // El reconciliador lo volverá a intentar.
+      failed.add(contractId);
+      failedCounter.increment();
+      logger.warn(
+          "No fue posible actualizar el detalle del contrato {}: {}", contractId, ex.getMessage());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
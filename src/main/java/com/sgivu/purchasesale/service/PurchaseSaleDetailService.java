@@ -1,22 +1,32 @@
 package com.sgivu.purchasesale.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sgivu.purchasesale.client.ClientServiceClient;
 import com.sgivu.purchasesale.client.UserServiceClient;
 import com.sgivu.purchasesale.client.VehicleServiceClient;
-import com.sgivu.purchasesale.dto.Car;
 import com.sgivu.purchasesale.dto.ClientSummary;
-import com.sgivu.purchasesale.dto.Company;
-import com.sgivu.purchasesale.dto.Motorcycle;
-import com.sgivu.purchasesale.dto.Person;
 import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
-import com.sgivu.purchasesale.dto.User;
 import com.sgivu.purchasesale.dto.UserSummary;
 import com.sgivu.purchasesale.dto.VehicleSummary;
 import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.PurchaseSaleDetail;
+import com.sgivu.purchasesale.exception.DownstreamUnavailableException;
 import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
+import com.sgivu.purchasesale.repository.PurchaseSaleDetailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -24,23 +34,43 @@ import org.springframework.web.client.HttpClientErrorException;
 @Service
 public class PurchaseSaleDetailService {
 
+  private static final String TEMPORARILY_UNAVAILABLE = "No disponible temporalmente";
+
   private final PurchaseSaleMapper purchaseSaleMapper;
   private final ClientServiceClient clientServiceClient;
   private final UserServiceClient userServiceClient;
   private final VehicleServiceClient vehicleServiceClient;
+  private final PurchaseSaleDetailRepository purchaseSaleDetailRepository;
+  private final MeterRegistry meterRegistry;
+  private final Cache<Long, ClientSummary> lastKnownClients;
+  private final Cache<Long, UserSummary> lastKnownUsers;
+  private final Cache<Long, VehicleSummary> lastKnownVehicles;
 
   public PurchaseSaleDetailService(
       PurchaseSaleMapper purchaseSaleMapper,
       ClientServiceClient clientServiceClient,
       UserServiceClient userServiceClient,
-      VehicleServiceClient vehicleServiceClient) {
+      VehicleServiceClient vehicleServiceClient,
+      PurchaseSaleDetailRepository purchaseSaleDetailRepository,
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.downstream.last-known-size:10000}") long lastKnownSize) {
     this.purchaseSaleMapper = purchaseSaleMapper;
     this.clientServiceClient = clientServiceClient;
     this.userServiceClient = userServiceClient;
     this.vehicleServiceClient = vehicleServiceClient;
+    this.purchaseSaleDetailRepository = purchaseSaleDetailRepository;
+    this.meterRegistry = meterRegistry;
+    this.lastKnownClients = Caffeine.newBuilder().maximumSize(lastKnownSize).build();
+    this.lastKnownUsers = Caffeine.newBuilder().maximumSize(lastKnownSize).build();
+    this.lastKnownVehicles = Caffeine.newBuilder().maximumSize(lastKnownSize).build();
   }
 
+  /**
+   * Toma los resúmenes de {@code purchase_sale_details} con una sola consulta y solo consulta los
+   * servicios remotos para los contratos sin fila vigente.
+   */
   public List<PurchaseSaleDetailResponse> toDetails(List<PurchaseSale> contracts) {
+    Map<Long, PurchaseSaleDetail> stored = findStored(contracts);
     Map<Long, ClientSummary> clientCache = new HashMap<>();
     Map<Long, UserSummary> userCache = new HashMap<>();
     Map<Long, VehicleSummary> vehicleCache = new HashMap<>();
@@ -48,39 +78,326 @@ public class PurchaseSaleDetailService {
     return contracts.stream()
         .map(
             contract -> {
-              PurchaseSaleDetailResponse detail =
-                  purchaseSaleMapper.toPurchaseSaleDetailResponse(contract);
-              if (contract.getClientId() != null) {
-                detail.setClientSummary(
-                    clientCache.computeIfAbsent(
-                        contract.getClientId(), this::resolveClientSummary));
-              }
-              if (contract.getUserId() != null) {
-                detail.setUserSummary(
-                    userCache.computeIfAbsent(contract.getUserId(), this::resolveUserSummary));
-              }
-              if (contract.getVehicleId() != null) {
-                detail.setVehicleSummary(
-                    vehicleCache.computeIfAbsent(
-                        contract.getVehicleId(), this::resolveVehicleSummary));
-              }
-              return detail;
+              PurchaseSaleDetail detail = stored.get(contract.getId());
+              return isCurrent(detail, contract)
+                  ? fromReadModel(contract, detail)
+                  : toDetail(contract, clientCache, userCache, vehicleCache);
             })
         .toList();
   }
 
+  /**
+   * Detalle de los contratos con los datos de sus participantes al firmarlos. Los contratos con
+   * todos sus datos de firma no consultan servicios remotos; los anteriores a ese registro se
+   * resuelven como en {@link #toDetails(List)}.
+   */
+  public List<PurchaseSaleDetailResponse> toSignedDetails(List<PurchaseSale> contracts) {
+    List<PurchaseSale> unsigned =
+        contracts.stream().filter(contract -> !isFullySigned(contract)).toList();
+    Map<Long, PurchaseSaleDetailResponse> resolved = new HashMap<>();
+    if (!unsigned.isEmpty()) {
+      List<PurchaseSaleDetailResponse> details = toDetails(unsigned);
+      for (int i = 0; i < unsigned.size(); i++) {
+        resolved.put(unsigned.get(i).getId(), details.get(i));
+      }
+    }
+    return contracts.stream()
+        .map(
+            contract ->
+                isFullySigned(contract) ? fromSnapshot(contract) : resolved.get(contract.getId()))
+        .toList();
+  }
+
+  private static boolean isFullySigned(PurchaseSale contract) {
+    return (contract.getClientId() == null || contract.getClientSnapshot() != null)
+        && (contract.getUserId() == null || contract.getUserSnapshot() != null)
+        && (contract.getVehicleId() == null || contract.getVehicleSnapshot() != null);
+  }
+
+  private PurchaseSaleDetailResponse fromSnapshot(PurchaseSale contract) {
+    PurchaseSaleDetailResponse response = purchaseSaleMapper.toPurchaseSaleDetailResponse(contract);
+    if (contract.getClientId() != null) {
+      response.setClientSummary(
+          purchaseSaleMapper.toClientSummary(contract.getClientId(), contract.getClientSnapshot()));
+    }
+    if (contract.getUserId() != null) {
+      response.setUserSummary(
+          purchaseSaleMapper.toUserSummary(contract.getUserId(), contract.getUserSnapshot()));
+    }
+    if (contract.getVehicleId() != null) {
+      response.setVehicleSummary(
+          purchaseSaleMapper.toVehicleSummary(
+              contract.getVehicleId(), contract.getVehicleSnapshot()));
+    }
+    return response;
+  }
+
+  /** Resuelve en vivo los resúmenes del contrato como fila del modelo de lectura. */
+  public PurchaseSaleDetail resolveReadModel(PurchaseSale contract, LocalDateTime refreshedAt) {
+    PurchaseSaleDetailResponse live =
+        toDetail(contract, new HashMap<>(), new HashMap<>(), new HashMap<>());
+    if (isDegraded(live)) {
+      throw new IllegalStateException(
+          "Resúmenes degradados para el contrato " + contract.getId() + "; no se guardan.");
+    }
+    PurchaseSaleDetail detail = new PurchaseSaleDetail();
+    detail.setContractId(contract.getId());
+    detail.setClientId(contract.getClientId());
+    detail.setUserId(contract.getUserId());
+    detail.setVehicleId(contract.getVehicleId());
+    detail.setContractUpdatedAt(contract.getUpdatedAt());
+    detail.setRefreshedAt(refreshedAt);
+    ClientSummary client = live.getClientSummary();
+    if (client != null) {
+      detail.setClientType(client.getType());
+      detail.setClientName(client.getName());
+      detail.setClientIdentifier(client.getIdentifier());
+      detail.setClientEmail(client.getEmail());
+      detail.setClientPhoneNumber(client.getPhoneNumber());
+    }
+    UserSummary user = live.getUserSummary();
+    if (user != null) {
+      detail.setUserFullName(user.getFullName());
+      detail.setUserEmail(user.getEmail());
+      detail.setUserUsername(user.getUsername());
+    }
+    VehicleSummary vehicle = live.getVehicleSummary();
+    if (vehicle != null) {
+      detail.setVehicleType(vehicle.getType());
+      detail.setVehicleBrand(vehicle.getBrand());
+      detail.setVehicleModel(vehicle.getModel());
+      detail.setVehiclePlate(vehicle.getPlate());
+      detail.setVehicleStatus(vehicle.getStatus());
+    }
+    return detail;
+  }
+
+  private static boolean isDegraded(PurchaseSaleDetailResponse detail) {
+    return (detail.getClientSummary() != null && detail.getClientSummary().isDegraded())
+        || (detail.getUserSummary() != null && detail.getUserSummary().isDegraded())
+        || (detail.getVehicleSummary() != null && detail.getVehicleSummary().isDegraded());
+  }
+
+  private Map<Long, PurchaseSaleDetail> findStored(List<PurchaseSale> contracts) {
+    List<Long> ids = contracts.stream().map(PurchaseSale::getId).filter(Objects::nonNull).toList();
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, PurchaseSaleDetail> stored = new HashMap<>();
+    purchaseSaleDetailRepository
+        .findAllById(ids)
+        .forEach(detail -> stored.put(detail.getContractId(), detail));
+    return stored;
+  }
+
+  /**
+   * La fila se resolvió con la versión actual del contrato y sus mismos participantes. La base
+   * guarda {@code updated_at} en microsegundos, así que las versiones se comparan a esa precisión.
+   */
+  static boolean isCurrent(PurchaseSaleDetail detail, PurchaseSale contract) {
+    return detail != null
+        && sameVersion(detail.getContractUpdatedAt(), contract.getUpdatedAt())
+        && Objects.equals(detail.getClientId(), contract.getClientId())
+        && Objects.equals(detail.getUserId(), contract.getUserId())
+        && Objects.equals(detail.getVehicleId(), contract.getVehicleId());
+  }
+
+  private static boolean sameVersion(LocalDateTime stored, LocalDateTime current) {
+    return stored != null
+        && current != null
+        && Math.abs(Duration.between(stored, current).toNanos()) < 1_000;
+  }
+
+  private PurchaseSaleDetailResponse fromReadModel(
+      PurchaseSale contract, PurchaseSaleDetail detail) {
+    PurchaseSaleDetailResponse response = purchaseSaleMapper.toPurchaseSaleDetailResponse(contract);
+    if (detail.getClientId() != null) {
+      response.setClientSummary(
+          ClientSummary.builder()
+              .id(detail.getClientId())
+              .type(detail.getClientType())
+              .name(detail.getClientName())
+              .identifier(detail.getClientIdentifier())
+              .email(detail.getClientEmail())
+              .phoneNumber(detail.getClientPhoneNumber())
+              .build());
+    }
+    if (detail.getUserId() != null) {
+      response.setUserSummary(
+          UserSummary.builder()
+              .id(detail.getUserId())
+              .fullName(detail.getUserFullName())
+              .email(detail.getUserEmail())
+              .username(detail.getUserUsername())
+              .build());
+    }
+    if (detail.getVehicleId() != null) {
+      response.setVehicleSummary(
+          VehicleSummary.builder()
+              .id(detail.getVehicleId())
+              .type(detail.getVehicleType())
+              .brand(detail.getVehicleBrand())
+              .model(detail.getVehicleModel())
+              .plate(detail.getVehiclePlate())
+              .status(detail.getVehicleStatus())
+              .build());
+    }
+    return response;
+  }
+
+  /**
+   * Enriquecedor para recorridos en streaming: reutiliza los resúmenes ya resueltos, pero conserva
+   * como máximo {@code maxCachedEntries} por tipo (los menos usados recientemente se descartan).
+   */
+  public Function<PurchaseSale, PurchaseSaleDetailResponse> streamingDetailer(
+      int maxCachedEntries) {
+    Map<Long, ClientSummary> clientCache = boundedCache(maxCachedEntries);
+    Map<Long, UserSummary> userCache = boundedCache(maxCachedEntries);
+    Map<Long, VehicleSummary> vehicleCache = boundedCache(maxCachedEntries);
+    return contract -> toDetail(contract, clientCache, userCache, vehicleCache);
+  }
+
+  private PurchaseSaleDetailResponse toDetail(
+      PurchaseSale contract,
+      Map<Long, ClientSummary> clientCache,
+      Map<Long, UserSummary> userCache,
+      Map<Long, VehicleSummary> vehicleCache) {
+    PurchaseSaleDetailResponse detail = purchaseSaleMapper.toPurchaseSaleDetailResponse(contract);
+    if (contract.getClientId() != null) {
+      detail.setClientSummary(
+          clientCache.computeIfAbsent(contract.getClientId(), this::resolveClientSummary));
+    }
+    if (contract.getUserId() != null) {
+      detail.setUserSummary(
+          userCache.computeIfAbsent(contract.getUserId(), this::resolveUserSummary));
+    }
+    if (contract.getVehicleId() != null) {
+      detail.setVehicleSummary(
+          vehicleCache.computeIfAbsent(contract.getVehicleId(), this::resolveVehicleSummary));
+    }
+    return detail;
+  }
+
+  private static <T> Map<Long, T> boundedCache(int maxEntries) {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, T> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Resume únicamente los clientes indicados, con una consulta remota por id distinto. Pensado
+   * para resultados ya acotados (por ejemplo, los primeros puestos de un ranking).
+   */
+  public Map<Long, ClientSummary> summarizeClients(Collection<Long> clientIds) {
+    return summarize(clientIds, this::resolveClientSummary);
+  }
+
+  public Map<Long, UserSummary> summarizeUsers(Collection<Long> userIds) {
+    return summarize(userIds, this::resolveUserSummary);
+  }
+
+  public Map<Long, VehicleSummary> summarizeVehicles(Collection<Long> vehicleIds) {
+    return summarize(vehicleIds, this::resolveVehicleSummary);
+  }
+
+  private <T> Map<Long, T> summarize(Collection<Long> ids, Function<Long, T> resolver) {
+    Map<Long, T> summaries = new LinkedHashMap<>();
+    ids.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(id -> summaries.put(id, resolver.apply(id)));
+    return summaries;
+  }
+
+  /**
+   * Con el circuito del servicio abierto (o sin cupo) devuelve el último resumen conocido o uno
+   * genérico, marcados como {@code degraded}, en lugar de fallar la lectura.
+   */
   private ClientSummary resolveClientSummary(Long clientId) {
     try {
-      Person person = clientServiceClient.getPersonById(clientId);
-      return ClientSummary.builder()
-          .id(person.getId())
-          .type("PERSON")
-          .name((person.getFirstName() + " " + person.getLastName()).trim())
-          .identifier(
-              person.getNationalId() != null ? "CC " + person.getNationalId() : "Persona natural")
-          .email(person.getEmail())
-          .phoneNumber(person.getPhoneNumber())
-          .build();
+      ClientSummary summary = lookupClientSummary(clientId);
+      lastKnownClients.put(clientId, summary);
+      return summary;
+    } catch (DownstreamUnavailableException ex) {
+      return fallback(
+          ex,
+          lastKnownClients.getIfPresent(clientId),
+          cached -> cached.toBuilder().degraded(true).build(),
+          () ->
+              ClientSummary.builder()
+                  .id(clientId)
+                  .type("UNKNOWN")
+                  .name(TEMPORARILY_UNAVAILABLE)
+                  .identifier("ID " + clientId)
+                  .degraded(true)
+                  .build());
+    }
+  }
+
+  private UserSummary resolveUserSummary(Long userId) {
+    try {
+      UserSummary summary = lookupUserSummary(userId);
+      lastKnownUsers.put(userId, summary);
+      return summary;
+    } catch (DownstreamUnavailableException ex) {
+      return fallback(
+          ex,
+          lastKnownUsers.getIfPresent(userId),
+          cached -> cached.toBuilder().degraded(true).build(),
+          () ->
+              UserSummary.builder()
+                  .id(userId)
+                  .fullName(TEMPORARILY_UNAVAILABLE)
+                  .username("N/D")
+                  .degraded(true)
+                  .build());
+    }
+  }
+
+  private VehicleSummary resolveVehicleSummary(Long vehicleId) {
+    try {
+      VehicleSummary summary = lookupVehicleSummary(vehicleId);
+      lastKnownVehicles.put(vehicleId, summary);
+      return summary;
+    } catch (DownstreamUnavailableException ex) {
+      return fallback(
+          ex,
+          lastKnownVehicles.getIfPresent(vehicleId),
+          cached -> cached.toBuilder().degraded(true).build(),
+          () ->
+              VehicleSummary.builder()
+                  .id(vehicleId)
+                  .type("UNKNOWN")
+                  .brand(TEMPORARILY_UNAVAILABLE)
+                  .model("N/D")
+                  .plate("N/D")
+                  .degraded(true)
+                  .build());
+    }
+  }
+
+  private <T> T fallback(
+      DownstreamUnavailableException ex,
+      T lastKnown,
+      UnaryOperator<T> markDegraded,
+      Supplier<T> placeholder) {
+    meterRegistry
+        .counter(
+            "purchase_sale.downstream.degraded",
+            "service",
+            ex.getService(),
+            "source",
+            lastKnown != null ? "last_known" : "placeholder")
+        .increment();
+    return lastKnown != null ? markDegraded.apply(lastKnown) : placeholder.get();
+  }
+
+  private ClientSummary lookupClientSummary(Long clientId) {
+    try {
+      return ClientSummary.of(clientServiceClient.getPersonById(clientId));
     } catch (HttpClientErrorException ex) {
       if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
         throw ex;
@@ -88,16 +405,7 @@ public class PurchaseSaleDetailService {
     }
 
     try {
-      Company company = clientServiceClient.getCompanyById(clientId);
-      return ClientSummary.builder()
-          .id(company.getId())
-          .type("COMPANY")
-          .name(company.getCompanyName())
-          .identifier(
-              company.getTaxId() != null ? "NIT " + company.getTaxId() : "Empresa registrada")
-          .email(company.getEmail())
-          .phoneNumber(company.getPhoneNumber())
-          .build();
+      return ClientSummary.of(clientServiceClient.getCompanyById(clientId));
     } catch (HttpClientErrorException ex) {
       if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
         throw ex;
@@ -111,16 +419,9 @@ public class PurchaseSaleDetailService {
     }
   }
 
-  private UserSummary resolveUserSummary(Long userId) {
+  private UserSummary lookupUserSummary(Long userId) {
     try {
-      User user = userServiceClient.getUserById(userId);
-      String fullName = String.format("%s %s", user.getFirstName(), user.getLastName()).trim();
-      return UserSummary.builder()
-          .id(user.getId())
-          .fullName(fullName)
-          .email(user.getEmail())
-          .username(user.getUsername())
-          .build();
+      return UserSummary.of(userServiceClient.getUserById(userId));
     } catch (HttpClientErrorException ex) {
       if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
         throw ex;
@@ -133,17 +434,9 @@ public class PurchaseSaleDetailService {
     }
   }
 
-  private VehicleSummary resolveVehicleSummary(Long vehicleId) {
+  private VehicleSummary lookupVehicleSummary(Long vehicleId) {
     try {
-      Car car = vehicleServiceClient.getCarById(vehicleId);
-      return VehicleSummary.builder()
-          .id(car.getId())
-          .type("CAR")
-          .brand(car.getBrand())
-          .model(car.getModel())
-          .plate(car.getPlate())
-          .status(null)
-          .build();
+      return VehicleSummary.of(vehicleServiceClient.getCarById(vehicleId));
     } catch (HttpClientErrorException ex) {
       if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
         throw ex;
@@ -151,15 +444,7 @@ public class PurchaseSaleDetailService {
     }
 
     try {
-      Motorcycle motorcycle = vehicleServiceClient.getMotorcycleById(vehicleId);
-      return VehicleSummary.builder()
-          .id(motorcycle.getId())
-          .type("MOTORCYCLE")
-          .brand(motorcycle.getBrand())
-          .model(motorcycle.getModel())
-          .plate(motorcycle.getPlate())
-          .status(null)
-          .build();
+      return VehicleSummary.of(vehicleServiceClient.getMotorcycleById(vehicleId));
     } catch (HttpClientErrorException ex) {
       if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
         throw ex;
@@ -0,0 +1,219 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.event.PurchaseSaleChangeNotification;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Distribuye por Server-Sent Events los cambios confirmados que llegan por {@code LISTEN}.
+ *
+ * <p>Cada suscriptor tiene una cola acotada que vacía un hilo virtual propio. Si un cliente no
+ * consume a tiempo y su cola se llena, se le envía lo que ya estaba en cola y se cierra la conexión
+ * en lugar de acumular memoria; el cliente se reconecta con {@code Last-Event-ID} y recupera lo
+ * pendiente desde el historial reciente.
+ */
+@Service
+public class PurchaseSaleEventStreamService {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(PurchaseSaleEventStreamService.class);
+
+  /** Evento que indica al cliente que debe recargar los datos porque no es posible reanudar. */
+  static final String RESYNC_EVENT = "RESYNC";
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final Deque<PurchaseSaleChangeNotification> recent = new ArrayDeque<>();
+  private final int bufferCapacity;
+  private final int replayCapacity;
+  private final Duration emitterTimeout;
+
+  public PurchaseSaleEventStreamService(
+      @Value("${purchase-sale.events.subscriber-buffer:256}") int bufferCapacity,
+      @Value("${purchase-sale.events.replay-capacity:1024}") int replayCapacity,
+      @Value("${purchase-sale.events.emitter-timeout:PT30M}") Duration emitterTimeout) {
+    this.bufferCapacity = bufferCapacity;
+    this.replayCapacity = replayCapacity;
+    this.emitterTimeout = emitterTimeout;
+  }
+
+  /**
+   * Registra un suscriptor. Con {@code lastEventId} se reenvían primero los cambios posteriores a
+   * ese evento que sigan en el historial; si ya no está, o si lo pendiente no cabe en la cola del
+   * suscriptor, se envía {@value #RESYNC_EVENT}.
+   */
+  public SseEmitter subscribe(SubscriptionFilter filter, Long lastEventId) {
+    SseEmitter emitter = newEmitter();
+    Subscriber subscriber = new Subscriber(emitter, filter);
+    synchronized (this) {
+      if (lastEventId != null) {
+        replay(subscriber, lastEventId);
+      }
+      subscribers.add(subscriber);
+    }
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(error -> subscriber.close());
+    Thread.ofVirtual().name("sse-subscriber").start(subscriber::drain);
+    return emitter;
+  }
+
+  /** Recibe un cambio confirmado (en orden de confirmación) y lo encola a cada suscriptor. */
+  public synchronized void publish(PurchaseSaleChangeNotification notification) {
+    recent.addLast(notification);
+    if (recent.size() > replayCapacity) {
+      recent.removeFirst();
+    }
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.filter.matches(notification)) {
+        subscriber.offer(toEvent(notification));
+      }
+    }
+  }
+
+  /**
+   * Descarta el historial tras un periodo sin escuchar el canal: ya no garantiza continuidad, así
+   * que los suscriptores actuales reciben {@value #RESYNC_EVENT}.
+   */
+  public synchronized void resetHistory() {
+    Long lastKnownId = recent.isEmpty() ? null : recent.getLast().id();
+    recent.clear();
+    for (Subscriber subscriber : subscribers) {
+      subscriber.offer(SseEmitter.event().name(RESYNC_EVENT).data(String.valueOf(lastKnownId)));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${purchase-sale.events.heartbeat-interval:PT15S}")
+  public void sendHeartbeats() {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.offerHeartbeat();
+    }
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  SseEmitter newEmitter() {
+    return new SseEmitter(emitterTimeout.toMillis());
+  }
+
+  /**
+   * Las réplicas reciben las notificaciones en el mismo orden, pero los ids se asignan antes de
+   * confirmar y pueden llegar desordenados. Por eso se reanuda por posición en el historial y no
+   * comparando ids.
+   */
+  private void replay(Subscriber subscriber, long lastEventId) {
+    List<PurchaseSaleChangeNotification> pending = new ArrayList<>();
+    boolean found = false;
+    for (PurchaseSaleChangeNotification notification : recent) {
+      if (found) {
+        pending.add(notification);
+      } else if (notification.id() == lastEventId) {
+        found = true;
+      }
+    }
+    List<PurchaseSaleChangeNotification> matching =
+        pending.stream().filter(subscriber.filter::matches).toList();
+    // Si lo pendiente desborda la cola, el suscriptor se cerraría antes de recibir nada y volvería
+    // a pedir lo mismo al reconectarse.
+    if (!found || matching.size() > bufferCapacity) {
+      subscriber.offer(SseEmitter.event().name(RESYNC_EVENT).data(lastEventId));
+      return;
+    }
+    matching.forEach(notification -> subscriber.offer(toEvent(notification)));
+  }
+
+  private SseEventBuilder toEvent(PurchaseSaleChangeNotification notification) {
+    return SseEmitter.event()
+        .id(Long.toString(notification.id()))
+        .name(notification.type().name())
+        .data(notification);
+  }
+
+  /** Criterios de suscripción; los valores {@code null} no restringen. */
+  public record SubscriptionFilter(Long vehicleId, Long clientId, ContractStatus contractStatus) {
+
+    boolean matches(PurchaseSaleChangeNotification notification) {
+      return (vehicleId == null || Objects.equals(vehicleId, notification.vehicleId()))
+          && (clientId == null || Objects.equals(clientId, notification.clientId()))
+          && (contractStatus == null || contractStatus == notification.contractStatus());
+    }
+  }
+
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final SubscriptionFilter filter;
+    private final BlockingQueue<SseEventBuilder> queue;
+    private volatile boolean closed;
+    private volatile boolean overflowed;
+
+    Subscriber(SseEmitter emitter, SubscriptionFilter filter) {
+      this.emitter = emitter;
+      this.filter = filter;
+      this.queue = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    /** Tras el primer evento descartado no se encola nada más, para no dejar huecos. */
+    void offer(SseEventBuilder event) {
+      if (!closed && !overflowed && !queue.offer(event)) {
+        overflowed = true;
+      }
+    }
+
+    void offerHeartbeat() {
+      if (!closed) {
+        queue.offer(SseEmitter.event().comment("heartbeat"));
+      }
+    }
+
+    void drain() {
+      try {
+        while (!closed) {
+          if (overflowed) {
+            for (SseEventBuilder queued = queue.poll(); queued != null; queued = queue.poll()) {
+              emitter.send(queued);
+            }
+            logger.debug("Suscriptor SSE desconectado por cola llena.");
+            emitter.complete();
+            return;
+          }
+          SseEventBuilder event = queue.poll(1, TimeUnit.SECONDS);
+          if (event != null) {
+            emitter.send(event);
+          }
+        }
+      } catch (IOException | IllegalStateException ex) {
+        emitter.completeWithError(ex);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        emitter.complete();
+      } finally {
+        close();
+      }
+    }
+
+    void close() {
+      closed = true;
+      subscribers.remove(this);
+    }
+  }
+}
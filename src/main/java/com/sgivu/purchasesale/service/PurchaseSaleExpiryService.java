@@ -0,0 +1,164 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.ContractStatusTransitionRequest;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionResult;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.TransitionOutcome;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cancela los contratos {@code PENDING} más antiguos que {@code max-age}, que de otro modo bloquean
+ * nuevas compras del mismo vehículo.
+ *
+ * <p>Cada ejecución procesa como mucho {@code chunks-per-run} bloques de {@code chunk-size} ids,
+ * recorridos por id y cancelados cada uno en su propia transacción; el recorrido continúa en la
+ * siguiente ejecución. No corre dentro de la franja de horas pico y un candado consultivo de sesión
+ * impide que dos réplicas lo ejecuten a la vez.
+ */
+@Service
+public class PurchaseSaleExpiryService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PurchaseSaleExpiryService.class);
+
+  /** Clave del candado consultivo de la expiración ("PSEXPIRY" en ASCII). */
+  static final long EXPIRY_LOCK_KEY = 0x5053455850495259L;
+
+  private final PurchaseSaleRepository purchaseSaleRepository;
+  private final PurchaseSaleService purchaseSaleService;
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final Duration maxAge;
+  private final int chunkSize;
+  private final int chunksPerRun;
+  private final int peakStartHour;
+  private final int peakEndHour;
+
+  private final Counter canceledCounter;
+  private final Counter skippedCounter;
+  private final Timer runTimer;
+
+  /** Último id procesado; se reinicia al terminar una pasada completa. */
+  private long lastProcessedId;
+
+  public PurchaseSaleExpiryService(
+      PurchaseSaleRepository purchaseSaleRepository,
+      PurchaseSaleService purchaseSaleService,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.expiry.enabled:true}") boolean enabled,
+      @Value("${purchase-sale.expiry.max-age:P30D}") Duration maxAge,
+      @Value("${purchase-sale.expiry.chunk-size:200}") int chunkSize,
+      @Value("${purchase-sale.expiry.chunks-per-run:5}") int chunksPerRun,
+      @Value("${purchase-sale.expiry.peak-start-hour:7}") int peakStartHour,
+      @Value("${purchase-sale.expiry.peak-end-hour:20}") int peakEndHour) {
+    this.purchaseSaleRepository = purchaseSaleRepository;
+    this.purchaseSaleService = purchaseSaleService;
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.maxAge = maxAge;
+    this.chunkSize = chunkSize;
+    this.chunksPerRun = chunksPerRun;
+    this.peakStartHour = peakStartHour;
+    this.peakEndHour = peakEndHour;
+    this.canceledCounter = meterRegistry.counter("purchase_sale.expiry.canceled");
+    this.skippedCounter = meterRegistry.counter("purchase_sale.expiry.skipped");
+    this.runTimer = meterRegistry.timer("purchase_sale.expiry.run");
+  }
+
+  @Scheduled(
+      initialDelayString = "${purchase-sale.expiry.initial-delay:PT1M}",
+      fixedDelayString = "${purchase-sale.expiry.interval:PT1M}")
+  public void expireStalePending() {
+    LocalDateTime now = LocalDateTime.now();
+    if (!enabled || isPeakHour(now.getHour())) {
+      return;
+    }
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                return null;
+              }
+              try {
+                int canceled = runTimer.record(() -> expireChunks(now));
+                if (canceled > 0) {
+                  logger.info("Expiración: {} contratos pendientes cancelados.", canceled);
+                }
+              } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+              }
+              return null;
+            });
+  }
+
+  /** Cancela hasta {@code chunks-per-run} bloques; cada bloque confirma por separado. */
+  int expireChunks(LocalDateTime now) {
+    LocalDateTime cutoff = now.minus(maxAge);
+    int canceled = 0;
+    for (int chunk = 0; chunk < chunksPerRun; chunk++) {
+      List<Long> ids =
+          purchaseSaleRepository.findIdsCreatedBefore(
+              ContractStatus.PENDING, cutoff, lastProcessedId, PageRequest.of(0, chunkSize));
+      if (ids.isEmpty()) {
+        lastProcessedId = 0;
+        break;
+      }
+      List<ContractStatusTransitionResult> results =
+          purchaseSaleService.transitionStatus(
+              new ContractStatusTransitionRequest(
+                  ids, ContractStatus.PENDING, ContractStatus.CANCELED, null, null, null, null));
+      long updated =
+          results.stream()
+              .filter(result -> result.getOutcome() == TransitionOutcome.UPDATED)
+              .count();
+      canceled += (int) updated;
+      canceledCounter.increment(updated);
+      skippedCounter.increment(results.size() - updated);
+      lastProcessedId = ids.get(ids.size() - 1);
+      if (ids.size() < chunkSize) {
+        lastProcessedId = 0;
+        break;
+      }
+    }
+    return canceled;
+  }
+
+  /** La franja pico es {@code [peak-start-hour, peak-end-hour)} y puede cruzar la medianoche. */
+  boolean isPeakHour(int hour) {
+    if (peakStartHour == peakEndHour) {
+      return false;
+    }
+    return peakStartHour < peakEndHour
+        ? hour >= peakStartHour && hour < peakEndHour
+        : hour >= peakStartHour || hour < peakEndHour;
+  }
+
+  private static boolean advisoryLock(Connection connection, String function)
+      throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement("SELECT " + function + "(?)")) {
+      statement.setLong(1, EXPIRY_LOCK_KEY);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() && resultSet.getBoolean(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.AgingBucketTotals;
+import com.sgivu.purchasesale.dto.InventoryAgingSummary;
+import com.sgivu.purchasesale.dto.UnsoldVehicleAging;
+import com.sgivu.purchasesale.dto.VehicleHoldingTime;
+import com.sgivu.purchasesale.enums.AgingBucket;
+import com.sgivu.purchasesale.repository.PurchaseSaleInventoryRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleInventoryRepository.AgingBucketRow;
+import com.sgivu.purchasesale.repository.PurchaseSaleInventoryRepository.HoldingTimeSummaryRow;
+import com.sgivu.purchasesale.util.DateRange;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tiempo de permanencia en inventario y antigüedad del stock sin vender, calculados con funciones
+ * de ventana en la base de datos.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PurchaseSaleInventoryService {
+
+  private final PurchaseSaleInventoryRepository purchaseSaleInventoryRepository;
+
+  public PurchaseSaleInventoryService(
+      PurchaseSaleInventoryRepository purchaseSaleInventoryRepository) {
+    this.purchaseSaleInventoryRepository = purchaseSaleInventoryRepository;
+  }
+
+  /** Vehículos vendidos en el rango (por fecha de venta) ordenados por días en inventario. */
+  public Page<VehicleHoldingTime> getHoldingTimes(
+      DateRange dateRange, boolean ascending, Pageable pageable) {
+    return purchaseSaleInventoryRepository.findHoldingTimes(
+        dateRange.from(), dateRange.to(), ascending, pageable);
+  }
+
+  public Page<UnsoldVehicleAging> getUnsoldAging(boolean ascending, Pageable pageable) {
+    return purchaseSaleInventoryRepository.findUnsoldAging(ascending, pageable);
+  }
+
+  /**
+   * Resume las ventas del rango y el inventario actual. Los rangos de antigüedad sin vehículos se
+   * devuelven en cero para que la respuesta tenga siempre la misma forma.
+   */
+  public InventoryAgingSummary getSummary(DateRange dateRange) {
+    HoldingTimeSummaryRow sold =
+        purchaseSaleInventoryRepository.summarizeHoldingTimes(dateRange.from(), dateRange.to());
+
+    Map<AgingBucket, AgingBucketRow> rowsByBucket = new EnumMap<>(AgingBucket.class);
+    purchaseSaleInventoryRepository
+        .countUnsoldByAgingBucket()
+        .forEach(row -> rowsByBucket.put(row.getAgingBucket(), row));
+
+    List<AgingBucketTotals> buckets =
+        Arrays.stream(AgingBucket.values())
+            .map(
+                bucket -> {
+                  AgingBucketRow row = rowsByBucket.get(bucket);
+                  return row != null
+                      ? new AgingBucketTotals(bucket, row.getVehicles(), row.getCapitalTied())
+                      : new AgingBucketTotals(bucket, 0L, 0d);
+                })
+            .toList();
+
+    return InventoryAgingSummary.builder()
+        .soldVehicles(sold.getVehicles())
+        .averageHoldingDays(sold.getAverageHoldingDays())
+        .averageRealizedMargin(sold.getAverageRealizedMargin())
+        .unsoldVehicles(buckets.stream().mapToLong(AgingBucketTotals::getVehicles).sum())
+        .capitalTied(buckets.stream().mapToDouble(AgingBucketTotals::getCapitalTied).sum())
+        .agingBuckets(buckets)
+        .build();
+  }
+}
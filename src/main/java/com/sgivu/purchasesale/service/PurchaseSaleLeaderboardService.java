@@ -0,0 +1,97 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.dto.ClientLeaderboardEntry;
+import com.sgivu.purchasesale.dto.ClientSummary;
+import com.sgivu.purchasesale.dto.UserLeaderboardEntry;
+import com.sgivu.purchasesale.dto.UserSummary;
+import com.sgivu.purchasesale.dto.VehicleLeaderboardEntry;
+import com.sgivu.purchasesale.dto.VehicleSummary;
+import com.sgivu.purchasesale.enums.UserRankingMetric;
+import com.sgivu.purchasesale.repository.PurchaseSaleLeaderboardRepository;
+import com.sgivu.purchasesale.util.DateRange;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rankings de clientes, asesores y vehículos. La base de datos devuelve solo los primeros {@code
+ * limit} puestos y únicamente esos se enriquecen con los datos de los demás servicios.
+ */
+@Service
+public class PurchaseSaleLeaderboardService {
+
+  static final int MAX_LIMIT = 100;
+
+  private final PurchaseSaleLeaderboardRepository purchaseSaleLeaderboardRepository;
+  private final PurchaseSaleDetailService purchaseSaleDetailService;
+
+  public PurchaseSaleLeaderboardService(
+      PurchaseSaleLeaderboardRepository purchaseSaleLeaderboardRepository,
+      PurchaseSaleDetailService purchaseSaleDetailService) {
+    this.purchaseSaleLeaderboardRepository = purchaseSaleLeaderboardRepository;
+    this.purchaseSaleDetailService = purchaseSaleDetailService;
+  }
+
+  public List<ClientLeaderboardEntry> getTopClientsByRevenue(DateRange dateRange, int limit) {
+    List<ClientLeaderboardEntry> entries =
+        purchaseSaleLeaderboardRepository.findTopClientsByRevenue(
+            dateRange.from(), dateRange.to(), topN(limit));
+    Map<Long, ClientSummary> summaries =
+        purchaseSaleDetailService.summarizeClients(
+            entries.stream().map(ClientLeaderboardEntry::getClientId).toList());
+    for (int i = 0; i < entries.size(); i++) {
+      ClientLeaderboardEntry entry = entries.get(i);
+      entry.setRank(i + 1);
+      entry.setClientSummary(summaries.get(entry.getClientId()));
+    }
+    return entries;
+  }
+
+  public List<UserLeaderboardEntry> getTopUsers(
+      DateRange dateRange, UserRankingMetric metric, int limit) {
+    List<UserLeaderboardEntry> entries =
+        metric == UserRankingMetric.MARGIN
+            ? purchaseSaleLeaderboardRepository.findTopUsersByMargin(
+                dateRange.from(), dateRange.to(), topN(limit))
+            : purchaseSaleLeaderboardRepository.findTopUsersByCompletedSales(
+                dateRange.from(), dateRange.to(), topN(limit));
+    Map<Long, UserSummary> summaries =
+        purchaseSaleDetailService.summarizeUsers(
+            entries.stream().map(UserLeaderboardEntry::getUserId).toList());
+    for (int i = 0; i < entries.size(); i++) {
+      UserLeaderboardEntry entry = entries.get(i);
+      entry.setRank(i + 1);
+      entry.setUserSummary(summaries.get(entry.getUserId()));
+    }
+    return entries;
+  }
+
+  /**
+   * Vehículos con más contratos. La marca y el modelo no se almacenan en este servicio, por lo que
+   * se obtienen solo para los vehículos del ranking.
+   */
+  public List<VehicleLeaderboardEntry> getMostTradedVehicles(DateRange dateRange, int limit) {
+    List<VehicleLeaderboardEntry> entries =
+        purchaseSaleLeaderboardRepository.findMostTradedVehicles(
+            dateRange.from(), dateRange.to(), topN(limit));
+    Map<Long, VehicleSummary> summaries =
+        purchaseSaleDetailService.summarizeVehicles(
+            entries.stream().map(VehicleLeaderboardEntry::getVehicleId).toList());
+    for (int i = 0; i < entries.size(); i++) {
+      VehicleLeaderboardEntry entry = entries.get(i);
+      entry.setRank(i + 1);
+      entry.setVehicleSummary(summaries.get(entry.getVehicleId()));
+    }
+    return entries;
+  }
+
+  private Pageable topN(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException(
+          "El tamaño del ranking debe estar entre 1 y " + MAX_LIMIT + ".");
+    }
+    return PageRequest.of(0, limit);
+  }
+}
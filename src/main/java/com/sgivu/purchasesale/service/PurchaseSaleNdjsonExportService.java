@@ -0,0 +1,84 @@
+package com.sgivu.purchasesale.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Escribe todos los contratos como NDJSON (un objeto JSON por línea) a medida que se leen del
+ * cursor, sin materializar la lista completa. Cada entidad se desasocia del contexto de
+ * persistencia después de escribirla para que la memoria no crezca con el número de filas.
+ */
+@Service
+public class PurchaseSaleNdjsonExportService {
+
+  private static final int FLUSH_EVERY = 256;
+
+  private final PurchaseSaleRepository purchaseSaleRepository;
+  private final PurchaseSaleMapper purchaseSaleMapper;
+  private final PurchaseSaleDetailService purchaseSaleDetailService;
+  private final EntityManager entityManager;
+  private final ObjectWriter objectWriter;
+  private final int enrichmentCacheSize;
+
+  public PurchaseSaleNdjsonExportService(
+      PurchaseSaleRepository purchaseSaleRepository,
+      PurchaseSaleMapper purchaseSaleMapper,
+      PurchaseSaleDetailService purchaseSaleDetailService,
+      EntityManager entityManager,
+      ObjectMapper objectMapper,
+      @Value("${purchase-sale.ndjson.enrichment-cache-size:1000}") int enrichmentCacheSize) {
+    this.purchaseSaleRepository = purchaseSaleRepository;
+    this.purchaseSaleMapper = purchaseSaleMapper;
+    this.purchaseSaleDetailService = purchaseSaleDetailService;
+    this.entityManager = entityManager;
+    this.objectWriter = objectMapper.writer();
+    this.enrichmentCacheSize = enrichmentCacheSize;
+  }
+
+  /**
+   * Escribe una línea por contrato; con {@code detailed} cada línea incluye los resúmenes de
+   * cliente, usuario y vehículo. La primera línea se envía en cuanto está lista.
+   */
+  @Transactional(readOnly = true)
+  public void writeAll(boolean detailed, OutputStream outputStream) throws IOException {
+    Function<PurchaseSale, Object> converter =
+        detailed
+            ? purchaseSaleDetailService.streamingDetailer(enrichmentCacheSize)::apply
+            : purchaseSaleMapper::toPurchaseSaleResponse;
+
+    // Una exportación completa no debe desplazar de la caché de segundo nivel a los contratos
+    // consultados; el modo de la consulta no aplica mientras se recorre el cursor.
+    entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+    try (Stream<PurchaseSale> contracts = purchaseSaleRepository.streamAll()) {
+      Iterator<PurchaseSale> iterator = contracts.iterator();
+      long written = 0;
+      while (iterator.hasNext()) {
+        PurchaseSale contract = iterator.next();
+        outputStream.write(objectWriter.writeValueAsBytes(converter.apply(contract)));
+        outputStream.write('\n');
+        entityManager.detach(contract);
+        written++;
+        if (written == 1 || written % FLUSH_EVERY == 0) {
+          outputStream.flush();
+        }
+      }
+    } finally {
+      entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+    }
+    outputStream.flush();
+  }
+}
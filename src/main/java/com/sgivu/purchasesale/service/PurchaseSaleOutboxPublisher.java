@@ -0,0 +1,169 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.entity.PurchaseSaleOutboxEvent;
+import com.sgivu.purchasesale.event.OutboxEventSink;
+import com.sgivu.purchasesale.event.OutboxMessage;
+import com.sgivu.purchasesale.repository.PurchaseSaleOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drena {@code purchase_sale_outbox} hacia el {@link OutboxEventSink} configurado.
+ *
+ * <p>Cada lote se procesa en una transacción que toma un candado consultivo, así que solo una
+ * réplica publica a la vez. Los eventos se envían en orden de inserción; si uno falla, se programa
+ * su reintento con espera exponencial y los eventos posteriores del mismo vehículo quedan retenidos
+ * hasta que se publique. Un evento puede entregarse más de una vez si la transacción no llega a
+ * confirmarse después de enviarlo.
+ */
+@Service
+public class PurchaseSaleOutboxPublisher {
+
+  private static final Logger logger = LoggerFactory.getLogger(PurchaseSaleOutboxPublisher.class);
+
+  /** Clave del candado consultivo del publicador ("PSOUTBOX" en ASCII). */
+  static final long PUBLISHER_LOCK_KEY = 0x50534F5554424F58L;
+
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  private final PurchaseSaleOutboxRepository purchaseSaleOutboxRepository;
+  private final OutboxEventSink outboxEventSink;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration retention;
+
+  private final Counter publishedCounter;
+  private final Counter failedCounter;
+  private final Timer batchTimer;
+  private final AtomicLong lastEventsPerSecond = new AtomicLong();
+
+  public PurchaseSaleOutboxPublisher(
+      PurchaseSaleOutboxRepository purchaseSaleOutboxRepository,
+      OutboxEventSink outboxEventSink,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.outbox.batch-size:200}") int batchSize,
+      @Value("${purchase-sale.outbox.initial-backoff:PT1S}") Duration initialBackoff,
+      @Value("${purchase-sale.outbox.max-backoff:PT5M}") Duration maxBackoff,
+      @Value("${purchase-sale.outbox.retention:P7D}") Duration retention) {
+    this.purchaseSaleOutboxRepository = purchaseSaleOutboxRepository;
+    this.outboxEventSink = outboxEventSink;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.retention = retention;
+    this.publishedCounter = meterRegistry.counter("purchase_sale.outbox.published");
+    this.failedCounter = meterRegistry.counter("purchase_sale.outbox.failed");
+    this.batchTimer = meterRegistry.timer("purchase_sale.outbox.batch");
+    Gauge.builder("purchase_sale.outbox.events_per_second", lastEventsPerSecond, AtomicLong::get)
+        .register(meterRegistry);
+  }
+
+  /** Publica lotes completos seguidos hasta vaciar lo pendiente o encontrar un lote incompleto. */
+  @Scheduled(
+      initialDelayString = "${purchase-sale.outbox.initial-delay:PT5S}",
+      fixedDelayString = "${purchase-sale.outbox.poll-interval:PT1S}")
+  public void publishPending() {
+    long startedAt = System.nanoTime();
+    long published = 0;
+    BatchResult result;
+    do {
+      result = transactionTemplate.execute(status -> publishBatch(LocalDateTime.now()));
+      published += Objects.requireNonNull(result).published();
+    } while (result.fetched() == batchSize && result.published() > 0);
+
+    if (published > 0) {
+      double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 1e-3);
+      long eventsPerSecond = Math.round(published / seconds);
+      lastEventsPerSecond.set(eventsPerSecond);
+      logger.info("Outbox: {} eventos publicados ({} eventos/s).", published, eventsPerSecond);
+    }
+  }
+
+  /** Debe ejecutarse dentro de una transacción: el candado y las marcas se liberan al confirmar. */
+  BatchResult publishBatch(LocalDateTime now) {
+    if (!purchaseSaleOutboxRepository.tryLockPublisher(PUBLISHER_LOCK_KEY)) {
+      return BatchResult.EMPTY;
+    }
+    return batchTimer.record(
+        () -> {
+          List<PurchaseSaleOutboxEvent> events =
+              purchaseSaleOutboxRepository.findPublishable(now, batchSize);
+          Set<Long> blockedVehicles = new HashSet<>();
+          int published = 0;
+          for (PurchaseSaleOutboxEvent event : events) {
+            if (event.getVehicleId() != null && blockedVehicles.contains(event.getVehicleId())) {
+              continue;
+            }
+            try {
+              outboxEventSink.publish(OutboxMessage.of(event));
+              event.setPublishedAt(now);
+              event.setLastError(null);
+              published++;
+            } catch (RuntimeException ex) {
+              scheduleRetry(event, now, ex);
+              if (event.getVehicleId() != null) {
+                blockedVehicles.add(event.getVehicleId());
+              }
+            }
+          }
+          publishedCounter.increment(published);
+          return new BatchResult(events.size(), published);
+        });
+  }
+
+  @Scheduled(cron = "${purchase-sale.outbox.cleanup-cron:0 30 3 * * *}")
+  public void deletePublished() {
+    Integer deleted =
+        transactionTemplate.execute(
+            status ->
+                purchaseSaleOutboxRepository.deletePublishedBefore(
+                    LocalDateTime.now().minus(retention)));
+    logger.info("Outbox: {} eventos publicados eliminados.", deleted);
+  }
+
+  private void scheduleRetry(
+      PurchaseSaleOutboxEvent event, LocalDateTime now, RuntimeException ex) {
+    int attempts = event.getAttempts() + 1;
+    event.setAttempts(attempts);
+    event.setNextAttemptAt(now.plus(backoff(attempts)));
+    String message = String.valueOf(ex.getMessage());
+    event.setLastError(
+        message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    failedCounter.increment();
+    logger.warn(
+        "No fue posible publicar el evento {} del outbox (intento {}): {}",
+        event.getId(),
+        attempts,
+        message);
+  }
+
+  Duration backoff(int attempts) {
+    int exponent = Math.min(attempts - 1, 20);
+    Duration delay = initialBackoff.multipliedBy(1L << exponent);
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  record BatchResult(int fetched, int published) {
+    static final BatchResult EMPTY = new BatchResult(0, 0);
+  }
+}
@@ -0,0 +1,200 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mantiene las particiones de {@code purchase_sales} (ver {@code schema.sql}).
+ *
+ * <p>Crea por adelantado las particiones mensuales de {@code purchase_sales_live} y, si la
+ * partición por defecto recibió filas de un mes sin partición, crea la de ese mes moviendo sus
+ * filas. Además archiva por bloques los contratos completados o cancelados antiguos. Cada paso
+ * corre en su propia transacción con un candado consultivo para que solo una réplica lo ejecute.
+ */
+@Service
+public class PurchaseSalePartitionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PurchaseSalePartitionService.class);
+
+  /** Clave del candado consultivo del mantenimiento ("PSPARTIT" en ASCII). */
+  static final long PARTITION_LOCK_KEY = 0x5053504152544954L;
+
+  static final String LIVE_TABLE = "purchase_sales_live";
+  static final String DEFAULT_PARTITION = "purchase_sales_live_default";
+
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private final PurchaseSaleRepository purchaseSaleRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int monthsAhead;
+  private final boolean archiveEnabled;
+  private final Duration archiveAfter;
+  private final int archiveChunkSize;
+  private final int archiveChunksPerRun;
+
+  private final Counter partitionsCreatedCounter;
+  private final Counter archivedCounter;
+
+  public PurchaseSalePartitionService(
+      PurchaseSaleRepository purchaseSaleRepository,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${purchase-sale.partitions.months-ahead:3}") int monthsAhead,
+      @Value("${purchase-sale.archive.enabled:true}") boolean archiveEnabled,
+      @Value("${purchase-sale.archive.after:P730D}") Duration archiveAfter,
+      @Value("${purchase-sale.archive.chunk-size:1000}") int archiveChunkSize,
+      @Value("${purchase-sale.archive.chunks-per-run:50}") int archiveChunksPerRun) {
+    this.purchaseSaleRepository = purchaseSaleRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.monthsAhead = monthsAhead;
+    this.archiveEnabled = archiveEnabled;
+    this.archiveAfter = archiveAfter;
+    this.archiveChunkSize = archiveChunkSize;
+    this.archiveChunksPerRun = archiveChunksPerRun;
+    this.partitionsCreatedCounter = meterRegistry.counter("purchase_sale.partitions.created");
+    this.archivedCounter = meterRegistry.counter("purchase_sale.archive.archived");
+  }
+
+  @Scheduled(
+      initialDelayString = "${purchase-sale.partitions.initial-delay:PT10S}",
+      fixedDelayString = "${purchase-sale.partitions.interval:PT6H}")
+  public void ensurePartitions() {
+    for (YearMonth month : monthsToPartition(YearMonth.now())) {
+      if (partitionExists(month)) {
+        continue;
+      }
+      Boolean created = transactionTemplate.execute(status -> createPartition(month));
+      if (!Boolean.TRUE.equals(created)) {
+        return;
+      }
+    }
+  }
+
+  /** Meses con filas en la partición por defecto, el actual y los {@code months-ahead} próximos. */
+  List<YearMonth> monthsToPartition(YearMonth currentMonth) {
+    TreeSet<YearMonth> months = new TreeSet<>();
+    jdbcTemplate
+        .queryForList(
+            "SELECT DISTINCT date_trunc('month', created_at) FROM " + DEFAULT_PARTITION,
+            Timestamp.class)
+        .stream()
+        .filter(Objects::nonNull)
+        .map(month -> YearMonth.from(month.toLocalDateTime()))
+        .forEach(months::add);
+    for (int offset = 0; offset <= monthsAhead; offset++) {
+      months.add(currentMonth.plusMonths(offset));
+    }
+    return List.copyOf(months);
+  }
+
+  /**
+   * Crea la partición del mes como tabla independiente, le mueve las filas de ese mes que haya en
+   * la partición por defecto y la adjunta. Devuelve {@code false} si otra réplica tiene el candado.
+   */
+  boolean createPartition(YearMonth month) {
+    if (!tryLock()) {
+      return false;
+    }
+    // Otra réplica pudo crearla entre la primera comprobación y el candado.
+    if (partitionExists(month)) {
+      return true;
+    }
+    String partition = partitionName(month);
+    Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+    jdbcTemplate.execute(
+        "CREATE TABLE IF NOT EXISTS "
+            + partition
+            + " (LIKE "
+            + LIVE_TABLE
+            + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+    int moved =
+        jdbcTemplate.update(
+            "WITH moved AS (DELETE FROM "
+                + DEFAULT_PARTITION
+                + " WHERE created_at >= ? AND created_at < ? RETURNING *) INSERT INTO "
+                + partition
+                + " SELECT * FROM moved",
+            from,
+            to);
+    jdbcTemplate.execute(
+        "ALTER TABLE "
+            + LIVE_TABLE
+            + " ATTACH PARTITION "
+            + partition
+            + " FOR VALUES FROM ('"
+            + from
+            + "') TO ('"
+            + to
+            + "')");
+    partitionsCreatedCounter.increment();
+    logger.info(
+        "Partición {} creada ({} filas movidas desde la partición por defecto).", partition, moved);
+    return true;
+  }
+
+  /** Archiva hasta {@code chunks-per-run} bloques; cada bloque confirma por separado. */
+  @Scheduled(cron = "${purchase-sale.archive.cron:0 0 4 * * *}")
+  public void archiveClosedContracts() {
+    if (!archiveEnabled) {
+      return;
+    }
+    LocalDateTime createdBefore = LocalDateTime.now().minus(archiveAfter);
+    long archived = 0;
+    for (int chunk = 0; chunk < archiveChunksPerRun; chunk++) {
+      Integer rows =
+          transactionTemplate.execute(
+              status ->
+                  tryLock()
+                      ? purchaseSaleRepository.archiveClosedBefore(createdBefore, archiveChunkSize)
+                      : -1);
+      if (rows == null || rows < 0) {
+        break;
+      }
+      archived += rows;
+      archivedCounter.increment(rows);
+      if (rows < archiveChunkSize) {
+        break;
+      }
+    }
+    if (archived > 0) {
+      logger.info("Archivo: {} contratos movidos a purchase_sales_archive.", archived);
+    }
+  }
+
+  static String partitionName(YearMonth month) {
+    return "purchase_sales_p" + month.format(PARTITION_SUFFIX);
+  }
+
+  private boolean partitionExists(YearMonth month) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partitionName(month)));
+  }
+
+  private boolean tryLock() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, PARTITION_LOCK_KEY));
+  }
+}
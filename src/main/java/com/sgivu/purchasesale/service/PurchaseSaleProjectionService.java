@@ -0,0 +1,121 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.DetailInclude;
+import com.sgivu.purchasesale.util.DetailSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Respuestas detalladas parciales: consulta solo las columnas pedidas con una consulta de tuplas y
+ * resuelve únicamente los resúmenes remotos incluidos, deduplicando los ids del conjunto.
+ */
+@Service
+public class PurchaseSaleProjectionService {
+
+  private final EntityManager entityManager;
+  private final PurchaseSaleDetailService purchaseSaleDetailService;
+
+  public PurchaseSaleProjectionService(
+      EntityManager entityManager, PurchaseSaleDetailService purchaseSaleDetailService) {
+    this.entityManager = entityManager;
+    this.purchaseSaleDetailService = purchaseSaleDetailService;
+  }
+
+  @Transactional(readOnly = true)
+  public List<Map<String, Object>> findDetailed(DetailSelection selection) {
+    return toRows(buildQuery(selection).getResultList(), selection);
+  }
+
+  @Transactional(readOnly = true)
+  public Page<Map<String, Object>> findDetailed(DetailSelection selection, Pageable pageable) {
+    TypedQuery<Tuple> query = buildQuery(selection);
+    query.setFirstResult((int) pageable.getOffset());
+    query.setMaxResults(pageable.getPageSize());
+    List<Map<String, Object>> rows = toRows(query.getResultList(), selection);
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+    countQuery.select(cb.count(countQuery.from(PurchaseSale.class)));
+    long total = entityManager.createQuery(countQuery).getSingleResult();
+    return new PageImpl<>(rows, pageable, total);
+  }
+
+  private TypedQuery<Tuple> buildQuery(DetailSelection selection) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<PurchaseSale> root = query.from(PurchaseSale.class);
+    List<Selection<?>> selections = new ArrayList<>();
+    for (String column : selection.columnsToSelect()) {
+      selections.add(root.get(column).alias(column));
+    }
+    query.multiselect(selections).orderBy(cb.asc(root.get("id")));
+    return entityManager.createQuery(query);
+  }
+
+  private List<Map<String, Object>> toRows(List<Tuple> tuples, DetailSelection selection) {
+    Set<DetailInclude> includes = selection.includes();
+    Map<Long, ?> clients =
+        includes.contains(DetailInclude.CLIENT)
+            ? purchaseSaleDetailService.summarizeClients(ids(tuples, DetailInclude.CLIENT))
+            : Map.of();
+    Map<Long, ?> users =
+        includes.contains(DetailInclude.USER)
+            ? purchaseSaleDetailService.summarizeUsers(ids(tuples, DetailInclude.USER))
+            : Map.of();
+    Map<Long, ?> vehicles =
+        includes.contains(DetailInclude.VEHICLE)
+            ? purchaseSaleDetailService.summarizeVehicles(ids(tuples, DetailInclude.VEHICLE))
+            : Map.of();
+
+    List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      for (String field : selection.fields()) {
+        row.put(field, tuple.get(field));
+      }
+      putSummary(row, tuple, DetailInclude.CLIENT, includes, clients);
+      putSummary(row, tuple, DetailInclude.USER, includes, users);
+      putSummary(row, tuple, DetailInclude.VEHICLE, includes, vehicles);
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private static Collection<Long> ids(List<Tuple> tuples, DetailInclude detailInclude) {
+    return tuples.stream()
+        .map(tuple -> tuple.get(detailInclude.getIdField(), Long.class))
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+  }
+
+  private static void putSummary(
+      Map<String, Object> row,
+      Tuple tuple,
+      DetailInclude detailInclude,
+      Set<DetailInclude> includes,
+      Map<Long, ?> summaries) {
+    if (includes.contains(detailInclude)) {
+      Long id = tuple.get(detailInclude.getIdField(), Long.class);
+      row.put(detailInclude.getSummaryField(), id != null ? summaries.get(id) : null);
+    }
+  }
+}
@@ -13,18 +13,29 @@ import com.sgivu.purchasesale.entity.PurchaseSale;
 import com.sgivu.purchasesale.enums.ContractStatus;
 import com.sgivu.purchasesale.enums.ContractType;
 import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
 import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
 import com.sgivu.purchasesale.dto.ClientSummary;
 import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
 import com.sgivu.purchasesale.dto.UserSummary;
 import com.sgivu.purchasesale.dto.VehicleSummary;
+import com.sgivu.purchasesale.util.DateRange;
+import com.sgivu.purchasesale.util.RequestDeadline;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -32,8 +43,9 @@ import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
@@ -43,8 +55,37 @@ public class PurchaseSaleReportService {
   private static final DateTimeFormatter DATE_TIME_FORMATTER =
       DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+  /** Filas que se mantienen en memoria antes de volcarlas al archivo temporal del libro. */
+  private static final int EXCEL_ROW_ACCESS_WINDOW = 200;
+
+  private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+  private static final DateTimeFormatter MONTH_LABEL_FORMATTER =
+      DateTimeFormatter.ofPattern("MMMM 'de' yyyy", Locale.of("es", "CO"));
+
+  private static final Sort CREATED_AT_DESC = Sort.by(Sort.Direction.DESC, "createdAt");
+
+  private static final String[] EXCEL_HEADERS = {
+    "ID",
+    "Tipo",
+    "Estado",
+    "Cliente",
+    "Usuario",
+    "Vehículo",
+    "Precio de compra",
+    "Precio de venta",
+    "Método de pago",
+    "Creado",
+    "Actualizado"
+  };
+
+  private static final String[] TOTALS_HEADERS = {
+    "Mes", "Contratos", "Compras", "Ventas", "Total precio de compra", "Total precio de venta"
+  };
+
   private final PurchaseSaleRepository purchaseSaleRepository;
   private final PurchaseSaleDetailService purchaseSaleDetailService;
+  private final ExecutorService reportExecutor;
   private final Map<ContractStatus, String> statusLabels = new EnumMap<>(ContractStatus.class);
   private final Map<ContractType, String> typeLabels = new EnumMap<>(ContractType.class);
   private final Map<PaymentMethod, String> paymentMethodLabels =
@@ -52,15 +93,30 @@ public class PurchaseSaleReportService {
 
   public PurchaseSaleReportService(
       PurchaseSaleRepository purchaseSaleRepository,
-      PurchaseSaleDetailService purchaseSaleDetailService) {
+      PurchaseSaleDetailService purchaseSaleDetailService,
+      @Qualifier("reportExecutor") ExecutorService reportExecutor) {
     this.purchaseSaleRepository = purchaseSaleRepository;
     this.purchaseSaleDetailService = purchaseSaleDetailService;
+    this.reportExecutor = reportExecutor;
     initialiseLabels();
   }
 
   public byte[] generatePdf(LocalDate startDate, LocalDate endDate) {
-    List<PurchaseSale> contracts = findContracts(startDate, endDate);
-    List<PurchaseSaleDetailResponse> details = purchaseSaleDetailService.toDetails(contracts);
+    return generatePdf(startDate, endDate, false);
+  }
+
+  /**
+   * Genera el reporte en PDF. Con {@code partitionByMonth} el rango se divide en meses que se
+   * consultan y enriquecen en paralelo, y cada mes se emite como una sección en orden cronológico
+   * seguida de una tabla de totales.
+   */
+  public byte[] generatePdf(LocalDate startDate, LocalDate endDate, boolean partitionByMonth) {
+    List<ReportPartition> partitions =
+        partitionByMonth ? loadMonthlyPartitions(startDate, endDate) : List.of();
+    List<PurchaseSaleDetailResponse> details =
+        partitionByMonth
+            ? List.of()
+            : purchaseSaleDetailService.toSignedDetails(findContracts(startDate, endDate));
 
     try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
       Document document = new Document();
@@ -82,8 +138,31 @@ public class PurchaseSaleReportService {
       period.setSpacingAfter(20f);
       document.add(period);
 
-      PdfPTable table = buildPdfTable(details);
-      document.add(table);
+      if (partitionByMonth) {
+        for (ReportPartition partition : partitions) {
+          if (partition.details().isEmpty()) {
+            continue;
+          }
+          Paragraph section =
+              new Paragraph(
+                  capitalize(partition.month().format(MONTH_LABEL_FORMATTER)),
+                  FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12));
+          section.setSpacingBefore(10f);
+          section.setSpacingAfter(8f);
+          document.add(section);
+          document.add(buildPdfTable(partition.details()));
+        }
+
+        Paragraph totalsTitle =
+            new Paragraph("Totales por mes", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12));
+        totalsTitle.setSpacingBefore(10f);
+        totalsTitle.setSpacingAfter(8f);
+        document.add(totalsTitle);
+        document.add(buildPdfTotalsTable(partitions));
+      } else {
+        PdfPTable table = buildPdfTable(details);
+        document.add(table);
+      }
 
       document.close();
       return outputStream.toByteArray();
@@ -93,13 +172,24 @@ public class PurchaseSaleReportService {
   }
 
   public byte[] generateExcel(LocalDate startDate, LocalDate endDate) {
-    List<PurchaseSale> contracts = findContracts(startDate, endDate);
-    List<PurchaseSaleDetailResponse> details = purchaseSaleDetailService.toDetails(contracts);
-
-    try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream outputStream =
-        new ByteArrayOutputStream()) {
-      Sheet sheet = workbook.createSheet("Compras y ventas");
+    return generateExcel(startDate, endDate, false);
+  }
 
+  /**
+   * Genera el reporte en Excel. Con {@code partitionByMonth} se crea una hoja de totales seguida
+   * de una hoja por cada mes con contratos; los meses se consultan y enriquecen en paralelo.
+   */
+  public byte[] generateExcel(LocalDate startDate, LocalDate endDate, boolean partitionByMonth) {
+    List<ReportPartition> partitions =
+        partitionByMonth ? loadMonthlyPartitions(startDate, endDate) : List.of();
+    List<PurchaseSaleDetailResponse> details =
+        partitionByMonth
+            ? List.of()
+            : purchaseSaleDetailService.toSignedDetails(findContracts(startDate, endDate));
+
+    SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_ACCESS_WINDOW);
+    try (workbook;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
       Font headerFont = workbook.createFont();
       headerFont.setBold(true);
       CellStyle headerStyle = workbook.createCellStyle();
@@ -111,63 +201,214 @@ public class PurchaseSaleReportService {
       CellStyle periodStyle = workbook.createCellStyle();
       periodStyle.setFont(periodFont);
 
-      Row periodRow = sheet.createRow(0);
-      Cell periodCell = periodRow.createCell(0);
-      periodCell.setCellValue(buildPeriodText(startDate, endDate));
-      periodCell.setCellStyle(periodStyle);
-
-      String[] headers = {
-        "ID",
-        "Tipo",
-        "Estado",
-        "Cliente",
-        "Usuario",
-        "Vehículo",
-        "Precio de compra",
-        "Precio de venta",
-        "Método de pago",
-        "Creado",
-        "Actualizado"
-      };
-
-      Row headerRow = sheet.createRow(2);
-      for (int i = 0; i < headers.length; i++) {
-        Cell cell = headerRow.createCell(i);
-        cell.setCellValue(headers[i]);
-        cell.setCellStyle(headerStyle);
+      String periodText = buildPeriodText(startDate, endDate);
+      if (partitionByMonth) {
+        Sheet totalsSheet = workbook.createSheet("Totales");
+        for (ReportPartition partition : partitions) {
+          if (!partition.details().isEmpty()) {
+            writeContractsSheet(
+                workbook.createSheet(partition.month().format(MONTH_FORMATTER)),
+                "Periodo: " + capitalize(partition.month().format(MONTH_LABEL_FORMATTER)),
+                partition.details(),
+                headerStyle,
+                periodStyle);
+          }
+        }
+        writeTotalsSheet(totalsSheet, periodText, partitions, headerStyle, periodStyle);
+      } else {
+        writeContractsSheet(
+            workbook.createSheet("Compras y ventas"),
+            periodText,
+            details,
+            headerStyle,
+            periodStyle);
       }
 
-      int rowIdx = 3;
-      for (PurchaseSaleDetailResponse contract : details) {
-        Row row = sheet.createRow(rowIdx++);
-        row.createCell(0).setCellValue(contract.getId());
-        row.createCell(1).setCellValue(getContractTypeLabel(contract.getContractType()));
-        row.createCell(2).setCellValue(getStatusLabel(contract.getContractStatus()));
-        row.createCell(3).setCellValue(formatClient(contract.getClientSummary()));
-        row.createCell(4).setCellValue(formatUser(contract.getUserSummary()));
-        row.createCell(5).setCellValue(formatVehicle(contract.getVehicleSummary()));
-        row.createCell(6).setCellValue(contract.getPurchasePrice());
-        row.createCell(7).setCellValue(contract.getSalePrice());
-        row.createCell(8).setCellValue(getPaymentMethodLabel(contract.getPaymentMethod()));
-        row.createCell(9).setCellValue(formatDate(contract.getCreatedAt()));
-        row.createCell(10).setCellValue(formatDate(contract.getUpdatedAt()));
-      }
-
-      autoSizeColumns(sheet, headers.length);
-
       workbook.write(outputStream);
       return outputStream.toByteArray();
     } catch (Exception ex) {
       throw new IllegalStateException("Error al generar el reporte en Excel", ex);
+    } finally {
+      workbook.dispose();
     }
   }
 
+  private void writeContractsSheet(
+      Sheet sheet,
+      String periodText,
+      List<PurchaseSaleDetailResponse> details,
+      CellStyle headerStyle,
+      CellStyle periodStyle) {
+    Row periodRow = sheet.createRow(0);
+    Cell periodCell = periodRow.createCell(0);
+    periodCell.setCellValue(periodText);
+    periodCell.setCellStyle(periodStyle);
+
+    ExcelColumnWidthTracker widthTracker = new ExcelColumnWidthTracker(EXCEL_HEADERS.length);
+    writeHeaderRow(sheet.createRow(2), EXCEL_HEADERS, headerStyle, widthTracker);
+
+    int rowIdx = 3;
+    for (PurchaseSaleDetailResponse contract : details) {
+      Row row = sheet.createRow(rowIdx++);
+      setNumericCell(row, 0, contract.getId(), widthTracker);
+      setTextCell(row, 1, getContractTypeLabel(contract.getContractType()), widthTracker);
+      setTextCell(row, 2, getStatusLabel(contract.getContractStatus()), widthTracker);
+      setTextCell(row, 3, formatClient(contract.getClientSummary()), widthTracker);
+      setTextCell(row, 4, formatUser(contract.getUserSummary()), widthTracker);
+      setTextCell(row, 5, formatVehicle(contract.getVehicleSummary()), widthTracker);
+      setNumericCell(row, 6, contract.getPurchasePrice(), widthTracker);
+      setNumericCell(row, 7, contract.getSalePrice(), widthTracker);
+      setTextCell(row, 8, getPaymentMethodLabel(contract.getPaymentMethod()), widthTracker);
+      setTextCell(row, 9, formatDate(contract.getCreatedAt()), widthTracker);
+      setTextCell(row, 10, formatDate(contract.getUpdatedAt()), widthTracker);
+    }
+
+    widthTracker.applyTo(sheet);
+  }
+
+  private void writeTotalsSheet(
+      Sheet sheet,
+      String periodText,
+      List<ReportPartition> partitions,
+      CellStyle headerStyle,
+      CellStyle periodStyle) {
+    Row periodRow = sheet.createRow(0);
+    Cell periodCell = periodRow.createCell(0);
+    periodCell.setCellValue(periodText);
+    periodCell.setCellStyle(periodStyle);
+
+    ExcelColumnWidthTracker widthTracker = new ExcelColumnWidthTracker(TOTALS_HEADERS.length);
+    writeHeaderRow(sheet.createRow(2), TOTALS_HEADERS, headerStyle, widthTracker);
+
+    int rowIdx = 3;
+    PartitionTotals grandTotals = PartitionTotals.EMPTY;
+    for (ReportPartition partition : partitions) {
+      PartitionTotals totals = partition.totals();
+      writeTotalsRow(
+          sheet.createRow(rowIdx++),
+          partition.month().format(MONTH_FORMATTER),
+          totals,
+          widthTracker);
+      grandTotals = grandTotals.plus(totals);
+    }
+    Row totalRow = sheet.createRow(rowIdx);
+    writeTotalsRow(totalRow, "Total", grandTotals, widthTracker);
+    totalRow.getCell(0).setCellStyle(headerStyle);
+
+    widthTracker.applyTo(sheet);
+  }
+
+  private void writeHeaderRow(
+      Row headerRow,
+      String[] headers,
+      CellStyle headerStyle,
+      ExcelColumnWidthTracker widthTracker) {
+    for (int i = 0; i < headers.length; i++) {
+      Cell cell = headerRow.createCell(i);
+      cell.setCellValue(headers[i]);
+      cell.setCellStyle(headerStyle);
+      widthTracker.track(i, headers[i]);
+    }
+  }
+
+  private void writeTotalsRow(
+      Row row, String label, PartitionTotals totals, ExcelColumnWidthTracker widthTracker) {
+    setTextCell(row, 0, label, widthTracker);
+    setNumericCell(row, 1, totals.contracts(), widthTracker);
+    setNumericCell(row, 2, totals.purchases(), widthTracker);
+    setNumericCell(row, 3, totals.sales(), widthTracker);
+    setNumericCell(row, 4, totals.purchasePriceTotal(), widthTracker);
+    setNumericCell(row, 5, totals.salePriceTotal(), widthTracker);
+  }
+
   private List<PurchaseSale> findContracts(LocalDate startDate, LocalDate endDate) {
-    return purchaseSaleRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).stream()
+    return purchaseSaleRepository.findAll(CREATED_AT_DESC).stream()
         .filter(contract -> filterByDateRange(contract.getCreatedAt(), startDate, endDate))
         .collect(Collectors.toList());
   }
 
+  /**
+   * Divide el rango solicitado en meses y consulta y enriquece cada mes en paralelo sobre {@code
+   * reportExecutor}. Los extremos abiertos se acotan con la fecha mínima/máxima registrada. El
+   * resultado conserva el orden cronológico de los meses; si un mes falla se interrumpen los que
+   * siguen en curso y se descartan los pendientes. Cada mes conserva el plazo de la petición.
+   */
+  private List<ReportPartition> loadMonthlyPartitions(LocalDate startDate, LocalDate endDate) {
+    DateRange requested = DateRange.of(startDate, endDate);
+    LocalDateTime from =
+        requested.from() != null
+            ? requested.from()
+            : purchaseSaleRepository.findMinCreatedAt().orElse(null);
+    LocalDateTime to =
+        requested.to() != null
+            ? requested.to()
+            : purchaseSaleRepository
+                .findMaxCreatedAt()
+                .map(max -> YearMonth.from(max).plusMonths(1).atDay(1).atStartOfDay())
+                .orElse(null);
+    if (from == null || to == null || !from.isBefore(to)) {
+      return List.of();
+    }
+
+    List<Future<ReportPartition>> futures = new ArrayList<>();
+    YearMonth lastMonth = YearMonth.from(to.minusNanos(1));
+    for (YearMonth month = YearMonth.from(from);
+        !month.isAfter(lastMonth);
+        month = month.plusMonths(1)) {
+      YearMonth partitionMonth = month;
+      LocalDateTime partitionFrom = max(from, month.atDay(1).atStartOfDay());
+      LocalDateTime partitionTo = min(to, month.plusMonths(1).atDay(1).atStartOfDay());
+      futures.add(
+          reportExecutor.submit(
+              RequestDeadline.propagate(
+                  () -> loadPartition(partitionMonth, partitionFrom, partitionTo))));
+    }
+
+    List<ReportPartition> partitions = new ArrayList<>(futures.size());
+    try {
+      for (Future<ReportPartition> future : futures) {
+        partitions.add(future.get());
+      }
+      return partitions;
+    } catch (ExecutionException ex) {
+      futures.forEach(future -> future.cancel(true));
+      if (ex.getCause() instanceof DeadlineExceededException deadlineExceeded) {
+        throw deadlineExceeded;
+      }
+      throw new IllegalStateException(
+          "Error al consultar los contratos del reporte por mes", ex.getCause());
+    } catch (InterruptedException ex) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Se interrumpió la generación del reporte por mes", ex);
+    }
+  }
+
+  private ReportPartition loadPartition(YearMonth month, LocalDateTime from, LocalDateTime to) {
+    List<PurchaseSale> contracts =
+        purchaseSaleRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            from, to, CREATED_AT_DESC);
+    // El driver JDBC no atiende la interrupción; si otra partición falló, no se enriquece.
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Partición " + month + " cancelada");
+    }
+    List<PurchaseSaleDetailResponse> details =
+        purchaseSaleDetailService.toSignedDetails(contracts);
+    return new ReportPartition(month, details, PartitionTotals.of(details));
+  }
+
+  private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static String capitalize(String value) {
+    return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+  }
+
   private boolean filterByDateRange(
       LocalDateTime value, LocalDate startDate, LocalDate endDate) {
     if (value == null) {
@@ -234,6 +475,38 @@ public class PurchaseSaleReportService {
     return table;
   }
 
+  private PdfPTable buildPdfTotalsTable(List<ReportPartition> partitions) {
+    PdfPTable table = new PdfPTable(new float[] {1.4f, 1.2f, 1.2f, 1.2f, 2f, 2f});
+    table.setWidthPercentage(100);
+
+    for (String header : TOTALS_HEADERS) {
+      PdfPCell headerCell =
+          new PdfPCell(new Phrase(header, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10)));
+      headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+      headerCell.setPadding(6f);
+      headerCell.setBackgroundColor(new java.awt.Color(242, 242, 242));
+      headerCell.setBorder(Rectangle.BOX);
+      table.addCell(headerCell);
+    }
+
+    PartitionTotals grandTotals = PartitionTotals.EMPTY;
+    for (ReportPartition partition : partitions) {
+      addTotalsCells(table, partition.month().format(MONTH_FORMATTER), partition.totals());
+      grandTotals = grandTotals.plus(partition.totals());
+    }
+    addTotalsCells(table, "Total", grandTotals);
+    return table;
+  }
+
+  private void addTotalsCells(PdfPTable table, String label, PartitionTotals totals) {
+    addCell(table, label);
+    addCell(table, totals.contracts());
+    addCell(table, totals.purchases());
+    addCell(table, totals.sales());
+    addCell(table, NumberToTextConverter.toText(totals.purchasePriceTotal()));
+    addCell(table, NumberToTextConverter.toText(totals.salePriceTotal()));
+  }
+
   private void addCell(PdfPTable table, Object value) {
     PdfPCell cell = new PdfPCell(new Phrase(value != null ? value.toString() : ""));
     cell.setPadding(5f);
@@ -324,13 +597,57 @@ public class PurchaseSaleReportService {
         : paymentMethodLabels.getOrDefault(paymentMethod, paymentMethod.name());
   }
 
-  private void autoSizeColumns(Sheet sheet, int columnCount) {
-    for (int i = 0; i < columnCount; i++) {
-      try {
-        sheet.autoSizeColumn(i);
-      } catch (Exception ex) {
-        sheet.setColumnWidth(i, 20 * 256);
+  private void setTextCell(
+      Row row, int column, String value, ExcelColumnWidthTracker widthTracker) {
+    row.createCell(column).setCellValue(value);
+    widthTracker.track(column, value);
+  }
+
+  private void setNumericCell(
+      Row row, int column, Number value, ExcelColumnWidthTracker widthTracker) {
+    Cell cell = row.createCell(column);
+    if (value == null) {
+      return;
+    }
+    cell.setCellValue(value.doubleValue());
+    widthTracker.track(column, NumberToTextConverter.toText(value.doubleValue()));
+  }
+
+  private record ReportPartition(
+      YearMonth month, List<PurchaseSaleDetailResponse> details, PartitionTotals totals) {}
+
+  private record PartitionTotals(
+      long contracts,
+      long purchases,
+      long sales,
+      double purchasePriceTotal,
+      double salePriceTotal) {
+
+    static final PartitionTotals EMPTY = new PartitionTotals(0, 0, 0, 0d, 0d);
+
+    static PartitionTotals of(List<PurchaseSaleDetailResponse> details) {
+      PartitionTotals totals = EMPTY;
+      for (PurchaseSaleDetailResponse detail : details) {
+        boolean purchase = detail.getContractType() == ContractType.PURCHASE;
+        totals =
+            totals.plus(
+                new PartitionTotals(
+                    1,
+                    purchase ? 1 : 0,
+                    purchase ? 0 : 1,
+                    Objects.requireNonNullElse(detail.getPurchasePrice(), 0d),
+                    Objects.requireNonNullElse(detail.getSalePrice(), 0d)));
       }
+      return totals;
+    }
+
+    PartitionTotals plus(PartitionTotals other) {
+      return new PartitionTotals(
+          contracts + other.contracts,
+          purchases + other.purchases,
+          sales + other.sales,
+          purchasePriceTotal + other.purchasePriceTotal,
+          salePriceTotal + other.salePriceTotal);
     }
   }
 }
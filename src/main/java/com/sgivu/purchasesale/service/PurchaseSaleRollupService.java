@@ -0,0 +1,100 @@
+package com.sgivu.purchasesale.service;
+
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.repository.PurchaseSaleDailyRollupRepository;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mantiene {@code purchase_sales_daily_rollup} de forma incremental. Los métodos de escritura
+ * exigen una transacción activa para que el agregado se confirme o revierta junto con el contrato.
+ */
+@Service
+public class PurchaseSaleRollupService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PurchaseSaleRollupService.class);
+
+  private final PurchaseSaleDailyRollupRepository purchaseSaleDailyRollupRepository;
+
+  public PurchaseSaleRollupService(
+      PurchaseSaleDailyRollupRepository purchaseSaleDailyRollupRepository) {
+    this.purchaseSaleDailyRollupRepository = purchaseSaleDailyRollupRepository;
+  }
+
+  /** Captura la contribución actual de un contrato antes de modificarlo. */
+  public RollupContribution contributionOf(PurchaseSale contract) {
+    return new RollupContribution(
+        contract.getCreatedAt() != null ? contract.getCreatedAt().toLocalDate() : null,
+        contract.getContractType(),
+        contract.getContractStatus(),
+        contract.getPaymentMethod(),
+        Objects.requireNonNullElse(contract.getPurchasePrice(), 0d),
+        Objects.requireNonNullElse(contract.getSalePrice(), 0d));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCreated(PurchaseSale contract) {
+    apply(contributionOf(contract), 1);
+  }
+
+  /**
+   * Traslada la contribución de un contrato actualizado: resta la anterior y suma la nueva, lo que
+   * cubre los cambios de estado, método de pago y precios.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordUpdated(RollupContribution previous, PurchaseSale contract) {
+    RollupContribution current = contributionOf(contract);
+    if (previous.equals(current)) {
+      return;
+    }
+    apply(previous, -1);
+    apply(current, 1);
+  }
+
+  /** Recalcula el agregado completo a partir de {@code purchase_sales}. */
+  @Transactional
+  public int rebuild() {
+    purchaseSaleDailyRollupRepository.lockForRebuild();
+    purchaseSaleDailyRollupRepository.deleteAllRows();
+    int rows = purchaseSaleDailyRollupRepository.insertFromContracts();
+    logger.info("Agregado diario reconstruido con {} filas.", rows);
+    return rows;
+  }
+
+  private void apply(RollupContribution contribution, int sign) {
+    if (!contribution.isComplete()) {
+      logger.warn("Contribución incompleta omitida en el agregado diario: {}", contribution);
+      return;
+    }
+    purchaseSaleDailyRollupRepository.applyDelta(
+        contribution.day(),
+        contribution.contractType().name(),
+        contribution.contractStatus().name(),
+        contribution.paymentMethod().name(),
+        sign,
+        sign * contribution.purchasePrice(),
+        sign * contribution.salePrice());
+  }
+
+  /** Valores de un contrato que determinan su fila y su aporte en el agregado diario. */
+  public record RollupContribution(
+      LocalDate day,
+      ContractType contractType,
+      ContractStatus contractStatus,
+      PaymentMethod paymentMethod,
+      double purchasePrice,
+      double salePrice) {
+
+    boolean isComplete() {
+      return day != null && contractType != null && contractStatus != null && paymentMethod != null;
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.sgivu.purchasesale.service;
 
+import com.sgivu.purchasesale.dto.ContractStatusTransitionRequest;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionResult;
 import com.sgivu.purchasesale.dto.PurchaseSaleRequest;
 import com.sgivu.purchasesale.entity.PurchaseSale;
 import java.util.List;
@@ -19,7 +21,15 @@ public interface PurchaseSaleService {
 
   Optional<PurchaseSale> update(Long id, PurchaseSaleRequest purchaseSaleRequest);
 
-  void deleteById(Long id);
+  /** Elimina el contrato; devuelve {@code false} si no existía. */
+  boolean deleteById(Long id);
+
+  /**
+   * Cambia de estado varios contratos con una sola actualización guardada por el estado de origen y
+   * devuelve el resultado de cada contrato en el orden pedido.
+   */
+  List<ContractStatusTransitionResult> transitionStatus(
+      ContractStatusTransitionRequest transitionRequest);
 
   List<PurchaseSale> findByClientId(Long clientId);
 
@@ -3,18 +3,43 @@ package com.sgivu.purchasesale.service.impl;
 import com.sgivu.purchasesale.client.ClientServiceClient;
 import com.sgivu.purchasesale.client.UserServiceClient;
 import com.sgivu.purchasesale.client.VehicleServiceClient;
+import com.sgivu.purchasesale.dto.ClientSummary;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionRequest;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionResult;
 import com.sgivu.purchasesale.dto.PurchaseSaleRequest;
+import com.sgivu.purchasesale.dto.UserSummary;
+import com.sgivu.purchasesale.dto.VehicleSummary;
 import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractEventType;
 import com.sgivu.purchasesale.enums.ContractStatus;
 import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.TransitionOutcome;
+import com.sgivu.purchasesale.event.PurchaseSaleChangedEvent;
+import com.sgivu.purchasesale.exception.ResourceNotFoundException;
 import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
 import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository.ContractRow;
+import com.sgivu.purchasesale.service.PurchaseSaleCacheEvictor;
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService;
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService.RollupContribution;
 import com.sgivu.purchasesale.service.PurchaseSaleService;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,44 +49,61 @@ import org.springframework.web.client.HttpClientErrorException;
 @Transactional(readOnly = true)
 public class PurchaseSaleServiceImpl implements PurchaseSaleService {
 
+  static final int MAX_TRANSITION_CONTRACTS = 500;
+
   private final PurchaseSaleRepository purchaseSaleRepository;
   private final PurchaseSaleMapper purchaseSaleMapper;
   private final ClientServiceClient clientServiceClient;
   private final VehicleServiceClient vehicleServiceClient;
   private final UserServiceClient userServiceClient;
+  private final PurchaseSaleRollupService purchaseSaleRollupService;
+  private final PurchaseSaleCacheEvictor purchaseSaleCacheEvictor;
+  private final ApplicationEventPublisher applicationEventPublisher;
 
   public PurchaseSaleServiceImpl(
       PurchaseSaleRepository purchaseSaleRepository,
       PurchaseSaleMapper purchaseSaleMapper,
       ClientServiceClient clientServiceClient,
       VehicleServiceClient vehicleServiceClient,
-      UserServiceClient userServiceClient) {
+      UserServiceClient userServiceClient,
+      PurchaseSaleRollupService purchaseSaleRollupService,
+      PurchaseSaleCacheEvictor purchaseSaleCacheEvictor,
+      ApplicationEventPublisher applicationEventPublisher) {
     this.purchaseSaleRepository = purchaseSaleRepository;
     this.purchaseSaleMapper = purchaseSaleMapper;
     this.clientServiceClient = clientServiceClient;
     this.vehicleServiceClient = vehicleServiceClient;
     this.userServiceClient = userServiceClient;
+    this.purchaseSaleRollupService = purchaseSaleRollupService;
+    this.purchaseSaleCacheEvictor = purchaseSaleCacheEvictor;
+    this.applicationEventPublisher = applicationEventPublisher;
   }
 
   @Transactional
   @Override
   public PurchaseSale create(PurchaseSaleRequest purchaseSaleRequest) {
     ContractType contractType = normalizeContractType(purchaseSaleRequest);
-    Long resolvedClientId = resolveClientId(purchaseSaleRequest.getClientId());
-    Long resolvedUserId = resolveUserId(purchaseSaleRequest.getUserId());
-    Long resolvedVehicleId = resolveVehicleId(purchaseSaleRequest.getVehicleId());
+    ClientSummary client = resolveClient(purchaseSaleRequest.getClientId());
+    UserSummary user = resolveUser(purchaseSaleRequest.getUserId());
+    VehicleSummary vehicle = resolveVehicle(purchaseSaleRequest.getVehicleId());
+    Long resolvedVehicleId = vehicle.getId();
     List<PurchaseSale> contractsByVehicle =
-        purchaseSaleRepository.findByVehicleId(resolvedVehicleId);
-    applyBusinessRules(contractType, purchaseSaleRequest, contractsByVehicle, null, resolvedVehicleId);
+        purchaseSaleRepository.findCurrentByVehicleId(resolvedVehicleId);
+    applyBusinessRules(
+        contractType, purchaseSaleRequest, contractsByVehicle, null, resolvedVehicleId);
 
     PurchaseSale purchaseSale = purchaseSaleMapper.toPurchaseSale(purchaseSaleRequest);
     applyContractAdjustments(purchaseSale, purchaseSaleRequest);
-    purchaseSale.setClientId(resolvedClientId);
-    purchaseSale.setUserId(resolvedUserId);
-    purchaseSale.setVehicleId(resolvedVehicleId);
+    applyParticipants(purchaseSale, client, user, vehicle);
     validatePurchasePrice(purchaseSale.getPurchasePrice());
-
-    return purchaseSaleRepository.save(purchaseSale);
+    // Quien llamó ya no espera la respuesta: no se guarda un contrato que reintentará.
+    RequestDeadline.check("guardar el contrato");
+
+    PurchaseSale savedPurchaseSale = purchaseSaleRepository.save(purchaseSale);
+    purchaseSaleRollupService.recordCreated(savedPurchaseSale);
+    applicationEventPublisher.publishEvent(
+        PurchaseSaleChangedEvent.of(ContractEventType.CREATED, savedPurchaseSale));
+    return savedPurchaseSale;
   }
 
   @Override
@@ -83,11 +125,12 @@ public class PurchaseSaleServiceImpl implements PurchaseSaleService {
   @Override
   public Optional<PurchaseSale> update(Long id, PurchaseSaleRequest purchaseSaleRequest) {
     ContractType contractType = normalizeContractType(purchaseSaleRequest);
-    Long resolvedClientId = resolveClientId(purchaseSaleRequest.getClientId());
-    Long resolvedUserId = resolveUserId(purchaseSaleRequest.getUserId());
-    Long resolvedVehicleId = resolveVehicleId(purchaseSaleRequest.getVehicleId());
+    ClientSummary client = resolveClient(purchaseSaleRequest.getClientId());
+    UserSummary user = resolveUser(purchaseSaleRequest.getUserId());
+    VehicleSummary vehicle = resolveVehicle(purchaseSaleRequest.getVehicleId());
+    Long resolvedVehicleId = vehicle.getId();
     List<PurchaseSale> contractsByVehicle =
-        purchaseSaleRepository.findByVehicleId(resolvedVehicleId);
+        purchaseSaleRepository.findCurrentByVehicleId(resolvedVehicleId);
 
     return purchaseSaleRepository
         .findById(id)
@@ -103,39 +146,168 @@ public class PurchaseSaleServiceImpl implements PurchaseSaleService {
                   contractsByVehicle,
                   existingPurchaseSale.getId(),
                   resolvedVehicleId);
+              RollupContribution previousContribution =
+                  purchaseSaleRollupService.contributionOf(existingPurchaseSale);
               purchaseSaleMapper.updatePurchaseSaleFromRequest(
                   purchaseSaleRequest, existingPurchaseSale);
               applyContractAdjustments(existingPurchaseSale, purchaseSaleRequest);
-              existingPurchaseSale.setClientId(resolvedClientId);
-              existingPurchaseSale.setUserId(resolvedUserId);
-              existingPurchaseSale.setVehicleId(resolvedVehicleId);
+              applyParticipants(existingPurchaseSale, client, user, vehicle);
               validatePurchasePrice(existingPurchaseSale.getPurchasePrice());
-              return purchaseSaleRepository.save(existingPurchaseSale);
+              RequestDeadline.check("guardar el contrato");
+              PurchaseSale savedPurchaseSale = purchaseSaleRepository.save(existingPurchaseSale);
+              purchaseSaleRollupService.recordUpdated(previousContribution, savedPurchaseSale);
+              applicationEventPublisher.publishEvent(
+                  PurchaseSaleChangedEvent.of(ContractEventType.UPDATED, savedPurchaseSale));
+              return savedPurchaseSale;
             });
   }
 
   @Transactional
   @Override
-  public void deleteById(Long id) {
-    purchaseSaleRepository.deleteById(id);
+  public boolean deleteById(Long id) {
+    Optional<ContractRow> deleted =
+        purchaseSaleRepository.deleteReturning(id, LocalDateTime.now());
+    deleted.ifPresent(
+        contractRow -> {
+          purchaseSaleCacheEvictor.evictContract(id);
+          applicationEventPublisher.publishEvent(
+              PurchaseSaleChangedEvent.of(ContractEventType.DELETED, toContract(contractRow)));
+        });
+    return deleted.isPresent();
+  }
+
+  @Transactional
+  @Override
+  public List<ContractStatusTransitionResult> transitionStatus(
+      ContractStatusTransitionRequest transitionRequest) {
+    ContractStatus fromStatus = transitionRequest.getFromStatus();
+    ContractStatus toStatus = transitionRequest.getToStatus();
+    if (fromStatus == null || toStatus == null) {
+      throw new IllegalArgumentException("Los estados de origen y destino son obligatorios.");
+    }
+    if (fromStatus == toStatus) {
+      throw new IllegalArgumentException(
+          "El estado de destino debe ser distinto del estado de origen.");
+    }
+
+    List<Long> requestedIds;
+    List<PurchaseSale> contracts;
+    if (transitionRequest.getIds() != null && !transitionRequest.getIds().isEmpty()) {
+      requestedIds =
+          transitionRequest.getIds().stream().filter(Objects::nonNull).distinct().toList();
+      if (requestedIds.size() > MAX_TRANSITION_CONTRACTS) {
+        throw new IllegalArgumentException(
+            "No se pueden cambiar más de " + MAX_TRANSITION_CONTRACTS + " contratos a la vez.");
+      }
+      contracts = purchaseSaleRepository.findCurrentByIdIn(requestedIds);
+    } else if (transitionRequest.hasFilter()) {
+      contracts =
+          purchaseSaleRepository.findTransitionCandidates(
+              fromStatus,
+              transitionRequest.getContractType(),
+              transitionRequest.getClientId(),
+              transitionRequest.getVehicleId(),
+              transitionRequest.getCreatedBefore(),
+              PageRequest.of(0, MAX_TRANSITION_CONTRACTS));
+      requestedIds = contracts.stream().map(PurchaseSale::getId).toList();
+    } else {
+      throw new IllegalArgumentException(
+          "Debe indicar los ids de los contratos o al menos un criterio de filtro.");
+    }
+
+    Map<Long, PurchaseSale> contractsById =
+        contracts.stream().collect(Collectors.toMap(PurchaseSale::getId, Function.identity()));
+    Map<Long, List<PurchaseSale>> contractsByVehicle =
+        loadVehicleContracts(contracts, fromStatus, toStatus);
+
+    // Se conserva el orden pedido; los elegibles se completan tras la actualización.
+    Map<Long, ContractStatusTransitionResult> results = new LinkedHashMap<>();
+    List<Long> eligibleIds = new ArrayList<>();
+    for (Long id : requestedIds) {
+      PurchaseSale contract = contractsById.get(id);
+      if (contract == null) {
+        results.put(
+            id, transitionResult(id, TransitionOutcome.NOT_FOUND, "Contrato no encontrado."));
+      } else if (contract.getContractStatus() != fromStatus) {
+        results.put(
+            id,
+            transitionResult(
+                id,
+                TransitionOutcome.STATUS_MISMATCH,
+                "El contrato está en estado " + contract.getContractStatus() + "."));
+      } else {
+        Optional<String> violation = findRuleViolation(contract, toStatus, contractsByVehicle);
+        if (violation.isPresent()) {
+          results.put(
+              id, transitionResult(id, TransitionOutcome.RULE_VIOLATION, violation.get()));
+        } else {
+          results.put(id, null);
+          eligibleIds.add(id);
+          recordAccepted(contract, toStatus, contractsByVehicle);
+        }
+      }
+    }
+
+    if (!eligibleIds.isEmpty()) {
+      List<LocalDateTime> createdAts =
+          eligibleIds.stream().map(id -> contractsById.get(id).getCreatedAt()).sorted().toList();
+      List<ContractRow> updated =
+          purchaseSaleRepository.transitionStatus(
+              eligibleIds,
+              fromStatus.name(),
+              toStatus.name(),
+              createdAts.getFirst(),
+              createdAts.getLast(),
+              LocalDateTime.now());
+      purchaseSaleCacheEvictor.evictContracts(eligibleIds);
+      for (ContractRow contractRow : updated) {
+        results.put(
+            contractRow.getId(),
+            transitionResult(contractRow.getId(), TransitionOutcome.UPDATED, null));
+        applicationEventPublisher.publishEvent(
+            PurchaseSaleChangedEvent.of(ContractEventType.UPDATED, toContract(contractRow)));
+      }
+    }
+    // Los que no devolvió la actualización cambiaron de estado después de leerlos.
+    results.replaceAll(
+        (id, result) ->
+            result != null
+                ? result
+                : transitionResult(
+                    id,
+                    TransitionOutcome.STATUS_MISMATCH,
+                    "El contrato cambió de estado durante la operación."));
+    return new ArrayList<>(results.values());
   }
 
   @Override
   public List<PurchaseSale> findByClientId(Long clientId) {
-    Long resolvedClientId = resolveClientId(clientId);
-    return purchaseSaleRepository.findByClientId(resolvedClientId);
+    requireId(clientId, "El ID del cliente debe ser proporcionado.");
+    List<PurchaseSale> contracts = purchaseSaleRepository.findByClientId(clientId);
+    if (contracts.isEmpty() && lookupClientId(clientId).isEmpty()) {
+      throw new ResourceNotFoundException("Cliente no encontrado con id: " + clientId);
+    }
+    return contracts;
   }
 
   @Override
   public List<PurchaseSale> findByUserId(Long userId) {
-    resolveUserId(userId);
-    return purchaseSaleRepository.findByUserId(userId);
+    requireId(userId, "El ID del usuario debe ser proporcionado.");
+    List<PurchaseSale> contracts = purchaseSaleRepository.findByUserId(userId);
+    if (contracts.isEmpty() && lookupUserId(userId).isEmpty()) {
+      throw new ResourceNotFoundException("Usuario no encontrado con id: " + userId);
+    }
+    return contracts;
   }
 
   @Override
   public List<PurchaseSale> findByVehicleId(Long vehicleId) {
-    Long resolvedVehicleId = resolveVehicleId(vehicleId);
-    return purchaseSaleRepository.findByVehicleId(resolvedVehicleId);
+    requireId(vehicleId, "El ID del vehículo debe ser proporcionado.");
+    List<PurchaseSale> contracts = purchaseSaleRepository.findByVehicleId(vehicleId);
+    if (contracts.isEmpty() && lookupVehicleId(vehicleId).isEmpty()) {
+      throw new ResourceNotFoundException("Vehículo no encontrado con id: " + vehicleId);
+    }
+    return contracts;
   }
 
   private ContractType normalizeContractType(PurchaseSaleRequest purchaseSaleRequest) {
@@ -167,6 +339,89 @@ public class PurchaseSaleServiceImpl implements PurchaseSaleService {
     }
   }
 
+  /**
+   * Contratos de los vehículos cuyas reglas hay que volver a validar; vacío si el estado de destino
+   * no exige ninguna.
+   */
+  private Map<Long, List<PurchaseSale>> loadVehicleContracts(
+      List<PurchaseSale> contracts, ContractStatus fromStatus, ContractStatus toStatus) {
+    Set<Long> vehicleIds =
+        contracts.stream()
+            .filter(
+                contract ->
+                    contract.getContractStatus() == fromStatus
+                        && requiresVehicleRules(contract.getContractType(), toStatus))
+            .map(PurchaseSale::getVehicleId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    if (vehicleIds.isEmpty()) {
+      return new HashMap<>();
+    }
+    return purchaseSaleRepository.findByVehicleIdIn(vehicleIds).stream()
+        .collect(Collectors.groupingBy(PurchaseSale::getVehicleId));
+  }
+
+  private static boolean requiresVehicleRules(ContractType contractType, ContractStatus toStatus) {
+    return contractType == ContractType.PURCHASE
+        ? EnumSet.of(ContractStatus.PENDING, ContractStatus.ACTIVE).contains(toStatus)
+        : EnumSet.of(ContractStatus.PENDING, ContractStatus.ACTIVE, ContractStatus.COMPLETED)
+            .contains(toStatus);
+  }
+
+  private Optional<String> findRuleViolation(
+      PurchaseSale contract,
+      ContractStatus toStatus,
+      Map<Long, List<PurchaseSale>> contractsByVehicle) {
+    if (!requiresVehicleRules(contract.getContractType(), toStatus)) {
+      return Optional.empty();
+    }
+    List<PurchaseSale> vehicleContracts =
+        contractsByVehicle.getOrDefault(contract.getVehicleId(), List.of());
+    try {
+      if (contract.getContractType() == ContractType.PURCHASE) {
+        ensureNoActivePurchase(vehicleContracts, contract.getId(), contract.getVehicleId());
+      } else {
+        ensureSalePrerequisites(
+            vehicleContracts, contract.getId(), contract.getVehicleId(), toStatus);
+      }
+      return Optional.empty();
+    } catch (IllegalArgumentException violation) {
+      return Optional.of(violation.getMessage());
+    }
+  }
+
+  /**
+   * Refleja en los contratos del vehículo el estado que tendrá un contrato ya aceptado, para que
+   * los siguientes del mismo lote se validen contra él. Se usa una copia: la entidad gestionada no
+   * debe cambiar antes de la actualización masiva.
+   */
+  private static void recordAccepted(
+      PurchaseSale contract,
+      ContractStatus toStatus,
+      Map<Long, List<PurchaseSale>> contractsByVehicle) {
+    if (contract.getVehicleId() == null) {
+      return;
+    }
+    PurchaseSale accepted = new PurchaseSale();
+    accepted.setId(contract.getId());
+    accepted.setVehicleId(contract.getVehicleId());
+    accepted.setContractType(contract.getContractType());
+    accepted.setContractStatus(toStatus);
+    List<PurchaseSale> vehicleContracts =
+        contractsByVehicle.computeIfAbsent(contract.getVehicleId(), vehicleId -> new ArrayList<>());
+    vehicleContracts.removeIf(existing -> Objects.equals(existing.getId(), contract.getId()));
+    vehicleContracts.add(accepted);
+  }
+
+  private static ContractStatusTransitionResult transitionResult(
+      Long id, TransitionOutcome outcome, String message) {
+    return ContractStatusTransitionResult.builder()
+        .id(id)
+        .outcome(outcome)
+        .message(message)
+        .build();
+  }
+
   private void preparePurchaseRequest(PurchaseSaleRequest purchaseSaleRequest) {
     purchaseSaleRequest.setSalePrice(0d);
   }
@@ -261,55 +516,99 @@ public class PurchaseSaleServiceImpl implements PurchaseSaleService {
     }
   }
 
-  private Long resolveUserId(Long userId) {
-    if (userId == null) {
-      throw new IllegalArgumentException("El ID del usuario debe ser proporcionado.");
-    }
-    return userServiceClient.getUserById(userId).getId();
+  private UserSummary resolveUser(Long userId) {
+    requireId(userId, "El ID del usuario debe ser proporcionado.");
+    return UserSummary.of(userServiceClient.getUserById(userId));
   }
 
-  private Long resolveClientId(Long clientId) {
-    if (clientId == null) {
-      throw new IllegalArgumentException("El ID del cliente debe ser proporcionado.");
-    }
+  private ClientSummary resolveClient(Long clientId) {
+    requireId(clientId, "El ID del cliente debe ser proporcionado.");
+    return lookup(() -> clientServiceClient.getPersonById(clientId))
+        .map(ClientSummary::of)
+        .or(() -> lookup(() -> clientServiceClient.getCompanyById(clientId)).map(ClientSummary::of))
+        .orElseThrow(
+            () -> new IllegalArgumentException("Cliente no encontrado con id: " + clientId));
+  }
 
-    try {
-      return clientServiceClient.getPersonById(clientId).getId();
-    } catch (HttpClientErrorException exception) {
-      if (exception.getStatusCode().value() != 404) {
-        throw exception;
-      }
-    }
+  private VehicleSummary resolveVehicle(Long vehicleId) {
+    requireId(vehicleId, "El ID del vehículo debe ser proporcionado.");
+    return lookup(() -> vehicleServiceClient.getCarById(vehicleId))
+        .map(VehicleSummary::of)
+        .or(
+            () ->
+                lookup(() -> vehicleServiceClient.getMotorcycleById(vehicleId))
+                    .map(VehicleSummary::of))
+        .orElseThrow(
+            () -> new IllegalArgumentException("Vehículo no encontrado con id: " + vehicleId));
+  }
 
-    try {
-      return clientServiceClient.getCompanyById(clientId).getId();
-    } catch (HttpClientErrorException exception) {
-      if (exception.getStatusCode().value() == 404) {
-        throw new IllegalArgumentException("Cliente no encontrado con id: " + clientId, exception);
-      }
-      throw exception;
+  /**
+   * Asigna los participantes ya validados. Los datos de firma se guardan al crear el contrato y
+   * solo se reemplazan cuando una edición cambia el participante; los contratos anteriores a este
+   * registro no reciben datos actuales como si fueran los de la firma.
+   */
+  private void applyParticipants(
+      PurchaseSale contract, ClientSummary client, UserSummary user, VehicleSummary vehicle) {
+    boolean created = contract.getId() == null;
+    if (created || !Objects.equals(contract.getClientId(), client.getId())) {
+      contract.setClientSnapshot(purchaseSaleMapper.toClientSnapshot(client));
+    }
+    if (created || !Objects.equals(contract.getUserId(), user.getId())) {
+      contract.setUserSnapshot(purchaseSaleMapper.toUserSnapshot(user));
     }
+    if (created || !Objects.equals(contract.getVehicleId(), vehicle.getId())) {
+      contract.setVehicleSnapshot(purchaseSaleMapper.toVehicleSnapshot(vehicle));
+    }
+    contract.setClientId(client.getId());
+    contract.setUserId(user.getId());
+    contract.setVehicleId(vehicle.getId());
   }
 
-  private Long resolveVehicleId(Long vehicleId) {
-    if (vehicleId == null) {
-      throw new IllegalArgumentException("El ID del vehículo debe ser proporcionado.");
-    }
+  private static PurchaseSale toContract(ContractRow contractRow) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(contractRow.getId());
+    contract.setClientId(contractRow.getClientId());
+    contract.setUserId(contractRow.getUserId());
+    contract.setVehicleId(contractRow.getVehicleId());
+    contract.setPurchasePrice(contractRow.getPurchasePrice());
+    contract.setSalePrice(contractRow.getSalePrice());
+    contract.setContractType(contractRow.getContractType());
+    contract.setContractStatus(contractRow.getContractStatus());
+    contract.setPaymentMethod(contractRow.getPaymentMethod());
+    contract.setCreatedAt(contractRow.getCreatedAt());
+    return contract;
+  }
 
-    try {
-      return vehicleServiceClient.getCarById(vehicleId).getId();
-    } catch (HttpClientErrorException exception) {
-      if (exception.getStatusCode().value() != 404) {
-        throw exception;
-      }
+  private void requireId(Long id, String message) {
+    if (id == null) {
+      throw new IllegalArgumentException(message);
     }
+  }
+
+  /**
+   * Las búsquedas remotas devuelven vacío cuando el servicio responde 404; cualquier otro error se
+   * propaga.
+   */
+  private Optional<Long> lookupUserId(Long userId) {
+    return lookup(() -> userServiceClient.getUserById(userId).getId());
+  }
+
+  private Optional<Long> lookupClientId(Long clientId) {
+    return lookup(() -> clientServiceClient.getPersonById(clientId).getId())
+        .or(() -> lookup(() -> clientServiceClient.getCompanyById(clientId).getId()));
+  }
+
+  private Optional<Long> lookupVehicleId(Long vehicleId) {
+    return lookup(() -> vehicleServiceClient.getCarById(vehicleId).getId())
+        .or(() -> lookup(() -> vehicleServiceClient.getMotorcycleById(vehicleId).getId()));
+  }
 
+  private <T> Optional<T> lookup(Supplier<T> remoteCall) {
     try {
-      return vehicleServiceClient.getMotorcycleById(vehicleId).getId();
+      return Optional.ofNullable(remoteCall.get());
     } catch (HttpClientErrorException exception) {
       if (exception.getStatusCode().value() == 404) {
-        throw new IllegalArgumentException(
-            "Vehículo no encontrado con id: " + vehicleId, exception);
+        return Optional.empty();
       }
       throw exception;
     }
@@ -0,0 +1,44 @@
+package com.sgivu.purchasesale.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición en el feed de cambios: último {@code (changedAt, id)} entregado. Se expone a los
+ * consumidores como texto Base64 URL-safe para que lo traten como un valor opaco.
+ *
+ * @param changedAt instante del último cambio entregado
+ * @param id id del último contrato entregado
+ */
+public record ChangeFeedCursor(LocalDateTime changedAt, long id) {
+
+  /** Posición anterior a cualquier cambio. */
+  public static final ChangeFeedCursor START =
+      new ChangeFeedCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+  private static final String SEPARATOR = "|";
+
+  public static ChangeFeedCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return START;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = decoded.lastIndexOf(SEPARATOR);
+      return new ChangeFeedCursor(
+          LocalDateTime.parse(decoded.substring(0, separator)),
+          Long.parseLong(decoded.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+      throw new IllegalArgumentException("El cursor del feed de cambios no es válido.", ex);
+    }
+  }
+
+  public String encode() {
+    String raw = changedAt + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,44 @@
+package com.sgivu.purchasesale.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Rango de fechas semiabierto {@code [from, to)} construido a partir de los parámetros {@code
+ * startDate}/{@code endDate} de los endpoints. Cualquiera de los extremos puede ser {@code null}
+ * para indicar que el rango no tiene límite por ese lado.
+ *
+ * @param from instante inicial inclusivo o {@code null}
+ * @param to instante final exclusivo o {@code null}
+ */
+public record DateRange(LocalDateTime from, LocalDateTime to) {
+
+  public static DateRange of(LocalDate startDate, LocalDate endDate) {
+    if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException(
+          "La fecha inicial no puede ser posterior a la fecha final.");
+    }
+    return new DateRange(
+        startDate != null ? startDate.atStartOfDay() : null,
+        endDate != null ? endDate.plusDays(1).atStartOfDay() : null);
+  }
+
+  public boolean contains(LocalDateTime value) {
+    if (value == null) {
+      return false;
+    }
+    boolean afterStart = from == null || !value.isBefore(from);
+    boolean beforeEnd = to == null || value.isBefore(to);
+    return afterStart && beforeEnd;
+  }
+
+  /** Día inicial inclusivo, para consultas sobre tablas agregadas por día. */
+  public LocalDate fromDay() {
+    return from != null ? from.toLocalDate() : null;
+  }
+
+  /** Día final exclusivo, para consultas sobre tablas agregadas por día. */
+  public LocalDate toDay() {
+    return to != null ? to.toLocalDate() : null;
+  }
+}
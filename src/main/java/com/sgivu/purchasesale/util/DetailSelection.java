@@ -0,0 +1,90 @@
+package com.sgivu.purchasesale.util;
+
+import com.sgivu.purchasesale.enums.DetailInclude;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Campos del contrato y resúmenes remotos pedidos con {@code fields} e {@code include}. Sin {@code
+ * fields} se devuelven todos los campos; sin {@code include}, todos los resúmenes. El {@code id}
+ * siempre se incluye.
+ *
+ * @param fields campos del contrato a devolver, en orden de declaración
+ * @param includes resúmenes remotos a resolver
+ */
+public record DetailSelection(Set<String> fields, Set<DetailInclude> includes) {
+
+  /** Campos de {@code PurchaseSaleResponse}, que coinciden con los atributos de la entidad. */
+  public static final List<String> CONTRACT_FIELDS =
+      List.of(
+          "id",
+          "clientId",
+          "userId",
+          "vehicleId",
+          "purchasePrice",
+          "salePrice",
+          "contractType",
+          "contractStatus",
+          "paymentLimitations",
+          "paymentTerms",
+          "paymentMethod",
+          "observations",
+          "createdAt",
+          "updatedAt");
+
+  public DetailSelection {
+    fields = Collections.unmodifiableSet(fields);
+    includes = Collections.unmodifiableSet(includes);
+  }
+
+  /** Indica si la solicitud pidió una selección parcial. */
+  public static boolean isRequested(List<String> fields, List<String> include) {
+    return fields != null || include != null;
+  }
+
+  public static DetailSelection parse(List<String> fields, List<String> include) {
+    Set<String> selectedFields = new LinkedHashSet<>();
+    if (fields == null) {
+      selectedFields.addAll(CONTRACT_FIELDS);
+    } else {
+      Set<String> requested = new LinkedHashSet<>();
+      fields.stream().map(String::trim).filter(field -> !field.isEmpty()).forEach(requested::add);
+      for (String field : requested) {
+        if (!CONTRACT_FIELDS.contains(field)) {
+          throw new IllegalArgumentException("Campo no soportado: " + field);
+        }
+      }
+      selectedFields.add("id");
+      CONTRACT_FIELDS.stream().filter(requested::contains).forEach(selectedFields::add);
+    }
+
+    Set<DetailInclude> includes = EnumSet.noneOf(DetailInclude.class);
+    if (include == null) {
+      includes.addAll(EnumSet.allOf(DetailInclude.class));
+    } else {
+      for (String value : include) {
+        String name = value.trim();
+        if (name.isEmpty()) {
+          continue;
+        }
+        try {
+          includes.add(DetailInclude.valueOf(name.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException ex) {
+          throw new IllegalArgumentException("Valor de include no soportado: " + name, ex);
+        }
+      }
+    }
+    return new DetailSelection(selectedFields, includes);
+  }
+
+  /** Columnas a consultar: los campos pedidos más los ids que necesitan los resúmenes. */
+  public Set<String> columnsToSelect() {
+    Set<String> columns = new LinkedHashSet<>(fields);
+    includes.forEach(detailInclude -> columns.add(detailInclude.getIdField()));
+    return columns;
+  }
+}
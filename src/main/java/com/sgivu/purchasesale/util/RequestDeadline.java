@@ -0,0 +1,72 @@
+package com.sgivu.purchasesale.util;
+
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Plazo de la petición en curso, ligado al hilo que la atiende. Las llamadas a otros servicios lo
+ * consumen y lo reenvían en {@link #HEADER} como milisegundos restantes; fuera de una petición (por
+ * ejemplo, en tareas programadas) no hay plazo.
+ */
+public final class RequestDeadline {
+
+  /** Milisegundos que quedan para responder; quien llama lo usa para fijar el plazo. */
+  public static final String HEADER = "X-Request-Timeout-Ms";
+
+  private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+  private RequestDeadline() {}
+
+  public static void start(Duration budget) {
+    DEADLINE_NANOS.set(System.nanoTime() + budget.toNanos());
+  }
+
+  public static void clear() {
+    DEADLINE_NANOS.remove();
+  }
+
+  public static Optional<Duration> remaining() {
+    Long deadline = DEADLINE_NANOS.get();
+    return deadline == null
+        ? Optional.empty()
+        : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+  }
+
+  public static boolean isExpired() {
+    return remaining().map(left -> left.isZero() || left.isNegative()).orElse(false);
+  }
+
+  /** Falla con {@link DeadlineExceededException} si el plazo ya se agotó. */
+  public static void check(String operation) {
+    if (isExpired()) {
+      throw new DeadlineExceededException(
+          "Se agotó el plazo de la petición antes de " + operation + ".");
+    }
+  }
+
+  /** La tarea, ejecutada en otro hilo, conserva el plazo de la petición actual. */
+  public static <T> Callable<T> propagate(Callable<T> task) {
+    Long deadline = DEADLINE_NANOS.get();
+    if (deadline == null) {
+      return task;
+    }
+    return () -> {
+      DEADLINE_NANOS.set(deadline);
+      try {
+        return task.call();
+      } finally {
+        DEADLINE_NANOS.remove();
+      }
+    };
+  }
+
+  /** El menor entre {@code timeout} y el tiempo restante (al menos un milisegundo). */
+  public static Duration cap(Duration timeout) {
+    return remaining()
+        .filter(left -> left.compareTo(timeout) < 0)
+        .map(left -> left.compareTo(Duration.ofMillis(1)) < 0 ? Duration.ofMillis(1) : left)
+        .orElse(timeout);
+  }
+}
@@ -0,0 +1,18 @@
+-- Agrega a una base existente las columnas con los datos de los participantes al firmar cada
+-- contrato. Los contratos anteriores quedan con las columnas nulas y los reportes los siguen
+-- enriqueciendo con los servicios remotos. Las columnas se propagan a todas las particiones.
+--
+--   psql -v ON_ERROR_STOP=1 -d sgivu_purchase_sale_db -f migrations/add_contract_snapshots.sql
+ALTER TABLE purchase_sales
+    ADD COLUMN IF NOT EXISTS client_type         VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS client_name         VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS client_identifier   VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS client_email        VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS client_phone_number BIGINT,
+    ADD COLUMN IF NOT EXISTS user_full_name      VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS user_email          VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS user_username       VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS vehicle_type        VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS vehicle_brand       VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS vehicle_model       VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS vehicle_plate       VARCHAR(255);
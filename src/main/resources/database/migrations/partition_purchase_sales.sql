@@ -0,0 +1,43 @@
+-- Convierte una base existente con purchase_sales sin particionar al esquema particionado de
+-- schema.sql. Ejecutar con psql desde src/main/resources/database:
+--
+--   psql -v ON_ERROR_STOP=1 -d sgivu_purchase_sale_db -f migrations/partition_purchase_sales.sql
+--
+-- Las filas copiadas quedan en purchase_sales_live_default; PurchaseSalePartitionService las mueve
+-- a sus particiones mensuales en las siguientes ejecuciones (una transacción por mes).
+
+BEGIN;
+
+-- Una base anterior a los datos de los participantes recibe antes sus columnas para copiarlas.
+\ir add_contract_snapshots.sql
+
+ALTER TABLE purchase_sales RENAME TO purchase_sales_unpartitioned;
+ALTER INDEX purchase_sales_pkey RENAME TO purchase_sales_unpartitioned_pkey;
+
+DROP INDEX IF EXISTS idx_purchase_sales_vehicle_created;
+DROP INDEX IF EXISTS idx_purchase_sales_client_id;
+DROP INDEX IF EXISTS idx_purchase_sales_user_id;
+DROP INDEX IF EXISTS idx_purchase_sales_status_created;
+DROP INDEX IF EXISTS idx_purchase_sales_updated_id;
+
+\ir ../schema.sql
+
+INSERT INTO purchase_sales (id, client_id, user_id, vehicle_id, purchase_price, sale_price,
+                            contract_type, contract_status, payment_limitations, payment_terms,
+                            payment_method, observations,
+                            client_type, client_name, client_identifier, client_email,
+                            client_phone_number, user_full_name, user_email, user_username,
+                            vehicle_type, vehicle_brand, vehicle_model, vehicle_plate,
+                            created_at, updated_at)
+SELECT id, client_id, user_id, vehicle_id, purchase_price, sale_price,
+       contract_type, contract_status, payment_limitations, payment_terms,
+       payment_method, observations,
+       client_type, client_name, client_identifier, client_email,
+       client_phone_number, user_full_name, user_email, user_username,
+       vehicle_type, vehicle_brand, vehicle_model, vehicle_plate,
+       created_at, updated_at
+FROM purchase_sales_unpartitioned;
+
+DROP TABLE purchase_sales_unpartitioned;
+
+COMMIT;
@@ -1,8 +1,14 @@
 CREATE SEQUENCE IF NOT EXISTS purchase_sales_id_seq START WITH 1 INCREMENT BY 1;
 
+-- Contratos particionados en dos niveles: por "archived" (vivos / archivo) y los vivos por mes de
+-- created_at. Las particiones mensuales las crea PurchaseSalePartitionService por adelantado; la
+-- partición por defecto recibe las filas de meses sin partición hasta que se crea la suya. La
+-- clave primaria incluye las columnas de partición, como exige PostgreSQL; el id sigue siendo único
+-- porque lo asigna la secuencia. Las columnas client_*, user_* y vehicle_* guardan los datos de
+-- los participantes al firmar el contrato (nulas en contratos anteriores a ese registro).
 CREATE TABLE IF NOT EXISTS purchase_sales
 (
-    id                  BIGINT PRIMARY KEY        DEFAULT nextval('purchase_sales_id_seq'),
+    id                  BIGINT           NOT NULL DEFAULT nextval('purchase_sales_id_seq'),
     client_id           BIGINT,
     user_id             BIGINT,
     vehicle_id          BIGINT,
@@ -14,7 +20,143 @@ CREATE TABLE IF NOT EXISTS purchase_sales
     payment_terms       VARCHAR(200)     NOT NULL,
     payment_method      VARCHAR(50)      NOT NULL,
     observations        VARCHAR(500),
+    client_type         VARCHAR(20),
+    client_name         VARCHAR(255),
+    client_identifier   VARCHAR(255),
+    client_email        VARCHAR(255),
+    client_phone_number BIGINT,
+    user_full_name      VARCHAR(255),
+    user_email          VARCHAR(255),
+    user_username       VARCHAR(255),
+    vehicle_type        VARCHAR(20),
+    vehicle_brand       VARCHAR(255),
+    vehicle_model       VARCHAR(255),
+    vehicle_plate       VARCHAR(255),
     created_at          TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at          TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP
+    updated_at          TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    archived            BOOLEAN          NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, created_at, archived)
+) PARTITION BY LIST (archived);
+
+CREATE TABLE IF NOT EXISTS purchase_sales_live
+    PARTITION OF purchase_sales FOR VALUES IN (FALSE)
+    PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS purchase_sales_live_default
+    PARTITION OF purchase_sales_live DEFAULT;
+
+-- Archivo de contratos completados o cancelados antiguos. Sin espacio libre por página y con un
+-- umbral TOAST bajo para que PostgreSQL comprima las columnas de texto de cada fila.
+CREATE TABLE IF NOT EXISTS purchase_sales_archive
+    PARTITION OF purchase_sales FOR VALUES IN (TRUE)
+    WITH (fillfactor = 100, toast_tuple_target = 128);
+
+-- El archivo crece en orden aproximado de created_at: un índice BRIN basta para los rangos.
+CREATE INDEX IF NOT EXISTS idx_purchase_sales_archive_created_brin
+    ON purchase_sales_archive USING BRIN (created_at);
+
+-- Los índices creados sobre purchase_sales se propagan a todas las particiones, incluidas las
+-- mensuales que se creen después.
+
+-- Emparejamiento compra/venta por vehículo en orden cronológico (análisis de inventario).
+CREATE INDEX IF NOT EXISTS idx_purchase_sales_vehicle_created
+    ON purchase_sales (vehicle_id, created_at);
+
+-- Historial de contratos por cliente y por usuario interno.
+CREATE INDEX IF NOT EXISTS idx_purchase_sales_client_id
+    ON purchase_sales (client_id);
+
+CREATE INDEX IF NOT EXISTS idx_purchase_sales_user_id
+    ON purchase_sales (user_id);
+
+-- Transiciones masivas por filtro (p. ej. contratos pendientes antiguos). Solo en los contratos
+-- vivos: el archivo contiene únicamente completados y cancelados.
+CREATE INDEX IF NOT EXISTS idx_purchase_sales_status_created
+    ON purchase_sales_live (contract_status, created_at);
+
+-- Feed de cambios: recorrido por (updated_at, id).
+CREATE INDEX IF NOT EXISTS idx_purchase_sales_updated_id
+    ON purchase_sales (updated_at, id);
+
+-- Registro de contratos eliminados para que el feed de cambios pueda propagar las bajas.
+CREATE TABLE IF NOT EXISTS purchase_sale_tombstones
+(
+    contract_id BIGINT PRIMARY KEY,
+    vehicle_id  BIGINT,
+    deleted_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_purchase_sale_tombstones_deleted_id
+    ON purchase_sale_tombstones (deleted_at, contract_id);
+
+-- Ids de los eventos de cambio publicados por NOTIFY (compartidos entre réplicas).
+CREATE SEQUENCE IF NOT EXISTS purchase_sale_event_seq START WITH 1 INCREMENT BY 1;
+
+-- Agregados diarios por tipo, estado y método de pago. Se mantienen en la misma transacción que
+-- las escrituras de purchase_sales y se pueden recalcular desde cero con la reconstrucción.
+CREATE TABLE IF NOT EXISTS purchase_sales_daily_rollup
+(
+    day                DATE             NOT NULL,
+    contract_type      VARCHAR(50)      NOT NULL,
+    contract_status    VARCHAR(50)      NOT NULL,
+    payment_method     VARCHAR(50)      NOT NULL,
+    contract_count     BIGINT           NOT NULL DEFAULT 0,
+    purchase_price_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sale_price_sum     DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, contract_type, contract_status, payment_method)
+);
+
+-- Outbox transaccional: eventos de contratos escritos junto con el cambio y publicados después
+-- por un proceso en segundo plano (entrega al menos una vez, en orden por vehículo).
+CREATE TABLE IF NOT EXISTS purchase_sale_outbox
+(
+    id              BIGSERIAL PRIMARY KEY,
+    contract_id     BIGINT       NOT NULL,
+    vehicle_id      BIGINT,
+    event_type      VARCHAR(20)  NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at    TIMESTAMP,
+    last_error      VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_purchase_sale_outbox_pending
+    ON purchase_sale_outbox (id) WHERE published_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_purchase_sale_outbox_pending_vehicle
+    ON purchase_sale_outbox (vehicle_id, id) WHERE published_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_purchase_sale_outbox_published
+    ON purchase_sale_outbox (published_at) WHERE published_at IS NOT NULL;
+
+-- Modelo de lectura de las respuestas detalladas: resúmenes de cliente, usuario y vehículo ya
+-- resueltos para cada contrato. Lo llena PurchaseSaleDetailRefresher después de cada escritura y
+-- lo reconcilia periódicamente; una fila es vigente si sus ids coinciden con los del contrato y no
+-- supera la antigüedad configurada.
+CREATE TABLE IF NOT EXISTS purchase_sale_details
+(
+    contract_id         BIGINT PRIMARY KEY,
+    client_id           BIGINT,
+    client_type         VARCHAR(255),
+    client_name         VARCHAR(255),
+    client_identifier   VARCHAR(255),
+    client_email        VARCHAR(255),
+    client_phone_number BIGINT,
+    user_id             BIGINT,
+    user_full_name      VARCHAR(255),
+    user_email          VARCHAR(255),
+    user_username       VARCHAR(255),
+    vehicle_id          BIGINT,
+    vehicle_type        VARCHAR(255),
+    vehicle_brand       VARCHAR(255),
+    vehicle_model       VARCHAR(255),
+    vehicle_plate       VARCHAR(255),
+    vehicle_status      VARCHAR(255),
+    contract_updated_at TIMESTAMP,
+    refreshed_at        TIMESTAMP NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS idx_purchase_sale_details_refreshed
+    ON purchase_sale_details (refreshed_at);
@@ -0,0 +1,80 @@
+package com.sgivu.purchasesale.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+class DeadlinePropagationInterceptorTest {
+
+  private final DeadlinePropagationInterceptor interceptor = new DeadlinePropagationInterceptor();
+  private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+  private final MockClientHttpRequest request =
+      new MockClientHttpRequest(HttpMethod.GET, URI.create("http://sgivu-vehicle/v1/cars/1"));
+
+  @AfterEach
+  void tearDown() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  @DisplayName("Reenvía el tiempo restante de la petición en la cabecera")
+  void intercept_ShouldForwardRemainingTime() throws Exception {
+    ClientHttpResponse response = mock(ClientHttpResponse.class);
+    when(execution.execute(request, new byte[0])).thenReturn(response);
+    RequestDeadline.start(Duration.ofSeconds(5));
+
+    assertThat(interceptor.intercept(request, new byte[0], execution)).isSameAs(response);
+
+    long forwarded = Long.parseLong(request.getHeaders().getFirst(RequestDeadline.HEADER));
+    assertThat(forwarded).isPositive().isLessThanOrEqualTo(5000);
+  }
+
+  @Test
+  @DisplayName("Sin plazo la llamada sale sin cabecera")
+  void intercept_WithoutDeadline_ShouldNotAddHeader() throws Exception {
+    interceptor.intercept(request, new byte[0], execution);
+
+    assertThat(request.getHeaders().containsKey(RequestDeadline.HEADER)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Con el plazo agotado la llamada no se hace")
+  void intercept_WhenExpired_ShouldSkipCall() {
+    RequestDeadline.start(Duration.ZERO);
+
+    assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], execution))
+        .isInstanceOf(DeadlineExceededException.class);
+    verifyNoInteractions(execution);
+  }
+
+  @Test
+  @DisplayName("Una llamada cortada al vencer el plazo se informa como plazo agotado")
+  void intercept_WhenTimedOutPastDeadline_ShouldThrowDeadlineExceeded() throws Exception {
+    RequestDeadline.start(Duration.ofMillis(20));
+    when(execution.execute(request, new byte[0]))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(40);
+              throw new HttpTimeoutException("request timed out");
+            });
+
+    assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], execution))
+        .isInstanceOf(DeadlineExceededException.class)
+        .hasCauseInstanceOf(HttpTimeoutException.class);
+  }
+}
@@ -0,0 +1,128 @@
+package com.sgivu.purchasesale.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HedgingPolicyTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @AfterEach
+  void tearDown() {
+    executor.close();
+  }
+
+  @Test
+  @DisplayName("Una respuesta lenta se cubre con una segunda llamada y gana la primera en llegar")
+  void call_WhenPrimaryIsSlow_ShouldReturnHedgeResult() {
+    HedgingPolicy policy = policy(1.0);
+    warmUp(policy);
+    AtomicInteger attempts = new AtomicInteger();
+
+    long start = System.nanoTime();
+    String result = policy.call(() -> attempts.incrementAndGet() == 1 ? slow() : "hedge");
+
+    assertThat(result).isEqualTo("hedge");
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    assertThat(count("purchase_sale.downstream.hedge.calls", "outcome", "hedged")).isEqualTo(1);
+    assertThat(count("purchase_sale.downstream.hedge.wins", "winner", "hedge")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Sin fichas disponibles no se lanza la segunda llamada")
+  void call_WithoutTokens_ShouldWaitForPrimary() {
+    HedgingPolicy policy = policy(0);
+    warmUp(policy);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        policy.call(
+            () -> {
+              attempts.incrementAndGet();
+              return sleep(100, "primary");
+            });
+
+    assertThat(result).isEqualTo("primary");
+    assertThat(attempts).hasValue(1);
+    assertThat(count("purchase_sale.downstream.hedge.calls", "outcome", "throttled")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Si la segunda llamada falla se espera la respuesta de la primera")
+  void call_WhenHedgeFails_ShouldReturnPrimaryResult() {
+    HedgingPolicy policy = policy(1.0);
+    warmUp(policy);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        policy.call(
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                return sleep(200, "primary");
+              }
+              throw new IllegalStateException("instancia caída");
+            });
+
+    assertThat(result).isEqualTo("primary");
+    assertThat(count("purchase_sale.downstream.hedge.wins", "winner", "primary")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Sin cobertura la llamada se hace una vez en el mismo hilo")
+  void direct_ShouldCallOnce() {
+    AtomicInteger attempts = new AtomicInteger();
+    Thread caller = Thread.currentThread();
+
+    assertThatThrownBy(
+            () ->
+                HedgingPolicy.direct()
+                    .call(
+                        () -> {
+                          attempts.incrementAndGet();
+                          assertThat(Thread.currentThread()).isSameAs(caller);
+                          throw new IllegalStateException("falla");
+                        }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(attempts).hasValue(1);
+  }
+
+  private HedgingPolicy policy(double maxExtraLoad) {
+    return new HedgingPolicy(
+        "sgivu-client", 0.95, Duration.ofMillis(20), maxExtraLoad, executor, meterRegistry);
+  }
+
+  /** Llamadas rápidas para que la política conozca la latencia habitual. */
+  private static void warmUp(HedgingPolicy policy) {
+    for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+      policy.call(() -> "fast");
+    }
+  }
+
+  private double count(String name, String tag, String value) {
+    return meterRegistry.get(name).tag(tag, value).counter().count();
+  }
+
+  private static String slow() {
+    return sleep(1500, "primary");
+  }
+
+  private static String sleep(long millis, String value) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+}
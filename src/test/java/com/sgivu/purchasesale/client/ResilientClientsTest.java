@@ -0,0 +1,82 @@
+package com.sgivu.purchasesale.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.Car;
+import com.sgivu.purchasesale.exception.DownstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ResilientClientsTest {
+
+  private VehicleServiceClient target;
+  private CircuitBreaker circuitBreaker;
+  private Bulkhead bulkhead;
+  private VehicleServiceClient client;
+
+  @BeforeEach
+  void setUp() {
+    target = mock(VehicleServiceClient.class);
+    circuitBreaker =
+        CircuitBreaker.of(
+            "sgivu-vehicle",
+            CircuitBreakerConfig.custom()
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+    bulkhead = Bulkhead.of("sgivu-vehicle", BulkheadConfig.custom().maxConcurrentCalls(1).build());
+    client = ResilientClients.wrap(VehicleServiceClient.class, target, circuitBreaker, bulkhead);
+  }
+
+  @Test
+  @DisplayName("Un 404 del servicio se propaga sin contar como fallo del circuito")
+  void notFound_ShouldPropagateWithoutRecordingFailure() {
+    when(target.getCarById(1L))
+        .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null));
+
+    assertThatThrownBy(() -> client.getCarById(1L)).isInstanceOf(HttpClientErrorException.class);
+    assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+  }
+
+  @Test
+  @DisplayName("Con el circuito abierto la llamada falla de inmediato sin llegar al servicio")
+  void openCircuit_ShouldFailFastWithoutCallingService() {
+    circuitBreaker.transitionToOpenState();
+
+    assertThatThrownBy(() -> client.getCarById(1L))
+        .isInstanceOf(DownstreamUnavailableException.class)
+        .extracting("service")
+        .isEqualTo("sgivu-vehicle");
+    verifyNoInteractions(target);
+  }
+
+  @Test
+  @DisplayName("Sin cupo en el bulkhead la llamada falla de inmediato")
+  void fullBulkhead_ShouldFailFast() {
+    bulkhead.tryAcquirePermission();
+
+    assertThatThrownBy(() -> client.getCarById(1L))
+        .isInstanceOf(DownstreamUnavailableException.class);
+    verifyNoInteractions(target);
+  }
+
+  @Test
+  @DisplayName("Las respuestas correctas pasan sin cambios")
+  void success_ShouldReturnResponse() {
+    Car car = new Car();
+    car.setId(1L);
+    when(target.getCarById(1L)).thenReturn(car);
+
+    assertThat(client.getCarById(1L)).isSameAs(car);
+  }
+}
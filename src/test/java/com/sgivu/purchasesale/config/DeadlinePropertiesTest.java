@@ -0,0 +1,40 @@
+package com.sgivu.purchasesale.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DeadlinePropertiesTest {
+
+  private final DeadlineProperties properties = new DeadlineProperties();
+
+  @Test
+  @DisplayName("Usa el plazo de la ruta o, sin él, el predeterminado")
+  void budgetFor_ShouldUseEndpointOrDefault() {
+    assertThat(properties.budgetFor("GET", "/v1/purchase-sales/report/pdf", null))
+        .contains(Duration.ofMinutes(2));
+    assertThat(properties.budgetFor("POST", "/v1/purchase-sales", null))
+        .contains(Duration.ofSeconds(10));
+  }
+
+  @Test
+  @DisplayName("La cabecera reemplaza el plazo de la ruta, acotada por el máximo")
+  void budgetFor_ShouldPreferHeaderUpToMax() {
+    assertThat(properties.budgetFor("GET", "/v1/purchase-sales/report/pdf", "1500"))
+        .contains(Duration.ofMillis(1500));
+    assertThat(properties.budgetFor("POST", "/v1/purchase-sales", "600000"))
+        .contains(Duration.ofSeconds(60));
+    assertThat(properties.budgetFor("POST", "/v1/purchase-sales", "abc"))
+        .contains(Duration.ofSeconds(10));
+  }
+
+  @Test
+  @DisplayName("Un plazo cero en la configuración desactiva el límite de la ruta")
+  void budgetFor_WhenEndpointIsZero_ShouldReturnEmpty() {
+    properties.getEndpoints().put("GET /v1/purchase-sales/stream", Duration.ZERO);
+
+    assertThat(properties.budgetFor("GET", "/v1/purchase-sales/stream", null)).isEmpty();
+  }
+}
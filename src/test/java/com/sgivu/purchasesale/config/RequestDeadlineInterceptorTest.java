@@ -0,0 +1,75 @@
+package com.sgivu.purchasesale.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.sgivu.purchasesale.exception.GlobalExceptionHandler;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+class RequestDeadlineInterceptorTest {
+
+  private final DeadlineController controller = new DeadlineController();
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(controller)
+            .addInterceptors(new RequestDeadlineInterceptor(new DeadlineProperties()))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+  }
+
+  @Test
+  @DisplayName("Una petición que llega con el plazo agotado responde 504 sin llegar al controlador")
+  void preHandle_WithExpiredHeader_ShouldRespondGatewayTimeout() throws Exception {
+    mockMvc
+        .perform(get("/v1/purchase-sales/page/0/detailed").header(RequestDeadline.HEADER, "0"))
+        .andExpect(status().isGatewayTimeout())
+        .andExpect(jsonPath("$.status").value(504));
+
+    assertThat(controller.remaining.get()).isNull();
+    assertThat(RequestDeadline.remaining()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("El plazo de la ruta se fija durante la petición y se libera al terminar")
+  void preHandle_ShouldApplyEndpointDeadline() throws Exception {
+    mockMvc.perform(get("/v1/purchase-sales/page/0/detailed")).andExpect(status().isOk());
+
+    assertThat(controller.remaining.get())
+        .isPresent()
+        .get()
+        .satisfies(
+            left ->
+                assertThat(left)
+                    .isGreaterThan(Duration.ofSeconds(50))
+                    .isLessThanOrEqualTo(Duration.ofMinutes(1)));
+    assertThat(RequestDeadline.remaining()).isEmpty();
+  }
+
+  @RestController
+  static class DeadlineController {
+
+    private final AtomicReference<Optional<Duration>> remaining = new AtomicReference<>();
+
+    @GetMapping("/v1/purchase-sales/page/{page}/detailed")
+    String detailed(@PathVariable int page) {
+      remaining.set(RequestDeadline.remaining());
+      return "ok";
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.ContractSnapshotRow;
+import com.sgivu.purchasesale.dto.SnapshotSliceResponse;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.repository.PurchaseSaleAnalyticsRepository;
+import com.sgivu.purchasesale.service.ContractSnapshotService.SliceFilter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ContractSnapshotServiceTest {
+
+  private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+  private static final SliceFilter NO_FILTER = new SliceFilter(null, null, null, null, null);
+
+  @Mock private PurchaseSaleAnalyticsRepository purchaseSaleAnalyticsRepository;
+
+  private ContractSnapshotService contractSnapshotService;
+
+  @BeforeEach
+  void setUp() {
+    contractSnapshotService =
+        new ContractSnapshotService(
+            purchaseSaleAnalyticsRepository, Duration.ofSeconds(5), Duration.ofHours(1));
+  }
+
+  @Test
+  @DisplayName("slice debe cargar la instantánea completa en la primera consulta")
+  void slice_WithoutSnapshot_ShouldLoadAllContracts() {
+    when(purchaseSaleAnalyticsRepository.findSnapshotRows(null)).thenReturn(List.of(row(1L)));
+
+    SnapshotSliceResponse response = contractSnapshotService.slice(NO_FILTER, null);
+
+    assertThat(response.getSnapshotContracts()).isEqualTo(1);
+    assertThat(response.getGroups()).singleElement().extracting("contracts").isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("refresh debe pedir solo los cambios desde la última marca menos el margen")
+  void refresh_WithSnapshot_ShouldLoadChangesSinceWatermark() {
+    when(purchaseSaleAnalyticsRepository.findSnapshotRows(null)).thenReturn(List.of(row(1L)));
+    when(purchaseSaleAnalyticsRepository.findSnapshotRows(UPDATED_AT.minusSeconds(5)))
+        .thenReturn(List.of(row(2L)));
+
+    contractSnapshotService.refresh();
+    contractSnapshotService.refresh();
+
+    verify(purchaseSaleAnalyticsRepository).findSnapshotRows(UPDATED_AT.minusSeconds(5));
+    assertThat(contractSnapshotService.slice(NO_FILTER, null).getSnapshotContracts())
+        .isEqualTo(2);
+  }
+
+  private ContractSnapshotRow row(Long id) {
+    return new ContractSnapshotRow(
+        id,
+        10L,
+        ContractType.SALE,
+        ContractStatus.COMPLETED,
+        PaymentMethod.CASH,
+        100d,
+        120d,
+        UPDATED_AT,
+        UPDATED_AT);
+  }
+}
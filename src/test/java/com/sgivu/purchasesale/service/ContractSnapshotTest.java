@@ -0,0 +1,128 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sgivu.purchasesale.dto.ContractSnapshotRow;
+import com.sgivu.purchasesale.dto.SnapshotSliceGroup;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.enums.SnapshotDimension;
+import com.sgivu.purchasesale.service.ContractSnapshotService.SliceFilter;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ContractSnapshotTest {
+
+  private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 15, 10, 0);
+  private static final LocalDateTime FEBRUARY = LocalDateTime.of(2025, 2, 3, 9, 0);
+  private static final SliceFilter NO_FILTER = new SliceFilter(null, null, null, null, null);
+
+  @Test
+  @DisplayName("slice debe filtrar por varias dimensiones y agrupar por estado")
+  void slice_ShouldFilterAndGroup() {
+    ContractSnapshot snapshot =
+        ContractSnapshot.of(
+            List.of(
+                row(1L, 10L, ContractType.SALE, ContractStatus.COMPLETED, JANUARY, 100d, 150d),
+                row(2L, 10L, ContractType.SALE, ContractStatus.PENDING, JANUARY, 200d, 260d),
+                row(3L, 11L, ContractType.SALE, ContractStatus.COMPLETED, JANUARY, 300d, 330d),
+                row(4L, 10L, ContractType.PURCHASE, ContractStatus.COMPLETED, FEBRUARY, 50d, 0d)),
+            JANUARY);
+
+    List<SnapshotSliceGroup> groups =
+        snapshot.slice(
+            new SliceFilter(ContractType.SALE, null, null, YearMonth.of(2025, 1), 10L),
+            SnapshotDimension.CONTRACT_STATUS);
+
+    assertThat(groups)
+        .containsExactly(
+            new SnapshotSliceGroup("PENDING", 1, 200d, 260d),
+            new SnapshotSliceGroup("COMPLETED", 1, 100d, 150d));
+  }
+
+  @Test
+  @DisplayName("slice debe agrupar por mes con etiquetas yyyy-MM")
+  void slice_ByMonth_ShouldUseYearMonthLabels() {
+    ContractSnapshot snapshot =
+        ContractSnapshot.of(
+            List.of(
+                row(1L, 10L, ContractType.SALE, ContractStatus.COMPLETED, FEBRUARY, 1d, 2d),
+                row(2L, 10L, ContractType.SALE, ContractStatus.COMPLETED, JANUARY, 3d, 4d)),
+            JANUARY);
+
+    assertThat(snapshot.slice(NO_FILTER, SnapshotDimension.MONTH))
+        .extracting(SnapshotSliceGroup::getKey)
+        .containsExactly("2025-01", "2025-02");
+  }
+
+  @Test
+  @DisplayName("withChanges debe sobrescribir filas existentes e intercalar las nuevas por id")
+  void withChanges_ShouldUpsertRows() {
+    ContractSnapshot snapshot =
+        ContractSnapshot.of(
+            List.of(
+                row(1L, 10L, ContractType.SALE, ContractStatus.PENDING, JANUARY, 100d, 150d),
+                row(5L, 10L, ContractType.SALE, ContractStatus.PENDING, JANUARY, 100d, 150d)),
+            JANUARY);
+
+    ContractSnapshot next =
+        snapshot.withChanges(
+            List.of(
+                row(5L, 10L, ContractType.SALE, ContractStatus.COMPLETED, FEBRUARY, 100d, 150d),
+                row(3L, 10L, ContractType.SALE, ContractStatus.PENDING, FEBRUARY, 10d, 20d)),
+            FEBRUARY);
+
+    assertThat(next.size()).isEqualTo(3);
+    assertThat(next.maxUpdatedAt()).isEqualTo(FEBRUARY);
+    assertThat(next.slice(NO_FILTER, SnapshotDimension.CONTRACT_STATUS))
+        .containsExactly(
+            new SnapshotSliceGroup("PENDING", 2, 110d, 170d),
+            new SnapshotSliceGroup("COMPLETED", 1, 100d, 150d));
+    assertThat(snapshot.slice(NO_FILTER, SnapshotDimension.CONTRACT_STATUS))
+        .containsExactly(new SnapshotSliceGroup("PENDING", 2, 200d, 300d));
+  }
+
+  @Test
+  @DisplayName("slice debe combinar los bloques escaneados en paralelo")
+  void slice_AcrossChunks_ShouldMergePartialTotals() {
+    int rows = ContractSnapshot.CHUNK_SIZE * 3 + 7;
+    List<ContractSnapshotRow> contracts = new ArrayList<>(rows);
+    for (long id = 1; id <= rows; id++) {
+      contracts.add(
+          row(id, id % 4, ContractType.SALE, ContractStatus.COMPLETED, JANUARY, 1d, 2d));
+    }
+    ContractSnapshot snapshot = ContractSnapshot.of(contracts, JANUARY);
+
+    List<SnapshotSliceGroup> total = snapshot.slice(NO_FILTER, null);
+    List<SnapshotSliceGroup> byUser = snapshot.slice(NO_FILTER, SnapshotDimension.USER);
+
+    assertThat(total).containsExactly(new SnapshotSliceGroup("TOTAL", rows, rows, rows * 2d));
+    assertThat(byUser).hasSize(4);
+    assertThat(byUser.stream().mapToLong(SnapshotSliceGroup::getContracts).sum()).isEqualTo(rows);
+  }
+
+  private ContractSnapshotRow row(
+      Long id,
+      Long userId,
+      ContractType type,
+      ContractStatus status,
+      LocalDateTime timestamp,
+      double purchasePrice,
+      double salePrice) {
+    return new ContractSnapshotRow(
+        id,
+        userId,
+        type,
+        status,
+        PaymentMethod.CASH,
+        purchasePrice,
+        salePrice,
+        timestamp,
+        timestamp);
+  }
+}
@@ -0,0 +1,74 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.ObjIntConsumer;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compara {@link Sheet#autoSizeColumn(int)} con {@link ExcelColumnWidthTracker} sobre hojas de
+ * 10k y 100k filas. Se ejecuta solo bajo demanda: {@code ./mvnw test -Dbenchmark=true
+ * -Dtest=ExcelColumnWidthBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExcelColumnWidthBenchmarkTest {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(ExcelColumnWidthBenchmarkTest.class);
+
+  private static final int COLUMNS = 11;
+
+  @ParameterizedTest(name = "{0} filas")
+  @ValueSource(ints = {10_000, 100_000})
+  @DisplayName("el seguimiento de anchos debe ser más rápido que autoSizeColumn")
+  void trackerShouldOutperformAutoSize(int rows) throws Exception {
+    long autoSizeNanos =
+        measure(
+            rows,
+            (sheet, columnCount) -> {
+              for (int i = 0; i < columnCount; i++) {
+                sheet.autoSizeColumn(i);
+              }
+            },
+            null);
+
+    ExcelColumnWidthTracker tracker = new ExcelColumnWidthTracker(COLUMNS);
+    long trackerNanos = measure(rows, (sheet, columnCount) -> tracker.applyTo(sheet), tracker);
+
+    String timings =
+        String.format(
+            "filas=%d autoSizeColumn=%d ms tracker=%d ms",
+            rows, autoSizeNanos / 1_000_000, trackerNanos / 1_000_000);
+    logger.info(timings);
+    assertThat(trackerNanos).as(timings).isLessThan(autoSizeNanos);
+  }
+
+  private long measure(
+      int rows, ObjIntConsumer<Sheet> sizing, ExcelColumnWidthTracker tracker) throws Exception {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      Sheet sheet = workbook.createSheet("benchmark");
+      long start = System.nanoTime();
+      for (int r = 0; r < rows; r++) {
+        Row row = sheet.createRow(r);
+        for (int c = 0; c < COLUMNS; c++) {
+          String value = "Contrato " + r + " columna " + c;
+          row.createCell(c).setCellValue(value);
+          if (tracker != null) {
+            tracker.track(c, value);
+          }
+        }
+      }
+      sizing.accept(sheet, COLUMNS);
+      return System.nanoTime() - start;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.AnalyticsSummaryResponse;
+import com.sgivu.purchasesale.dto.ContractTypeTotals;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.repository.PurchaseSaleAnalyticsRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleDailyRollupRepository;
+import com.sgivu.purchasesale.util.DateRange;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleAnalyticsServiceTest {
+
+  @Mock private PurchaseSaleAnalyticsRepository purchaseSaleAnalyticsRepository;
+  @Mock private PurchaseSaleDailyRollupRepository purchaseSaleDailyRollupRepository;
+
+  private PurchaseSaleAnalyticsService purchaseSaleAnalyticsService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleAnalyticsService =
+        new PurchaseSaleAnalyticsService(
+            purchaseSaleAnalyticsRepository, purchaseSaleDailyRollupRepository);
+  }
+
+  @Test
+  @DisplayName("getSummary debe combinar los totales completados de compras y ventas")
+  void getSummary_ShouldCombineCompletedTotals() {
+    when(purchaseSaleDailyRollupRepository.sumByContractType(
+            ContractStatus.COMPLETED, null, null))
+        .thenReturn(
+            List.of(
+                new ContractTypeTotals(ContractType.SALE, 2L, 40000000d, 48000000d),
+                new ContractTypeTotals(ContractType.PURCHASE, 3L, 30000000d, 0d)));
+
+    AnalyticsSummaryResponse summary =
+        purchaseSaleAnalyticsService.getSummary(DateRange.of(null, null));
+
+    assertThat(summary.getCompletedSales()).isEqualTo(2L);
+    assertThat(summary.getCompletedSalesTotal()).isEqualTo(48000000d);
+    assertThat(summary.getCompletedPurchases()).isEqualTo(3L);
+    assertThat(summary.getCompletedPurchasesTotal()).isEqualTo(30000000d);
+    assertThat(summary.getAverageMargin()).isEqualTo(4000000d);
+  }
+
+  @Test
+  @DisplayName("getSummary debe devolver ceros y sin margen cuando no hay contratos completados")
+  void getSummary_WithoutCompletedContracts_ShouldReturnZeros() {
+    when(purchaseSaleDailyRollupRepository.sumByContractType(
+            ContractStatus.COMPLETED, null, null))
+        .thenReturn(List.of());
+
+    AnalyticsSummaryResponse summary =
+        purchaseSaleAnalyticsService.getSummary(DateRange.of(null, null));
+
+    assertThat(summary.getCompletedSales()).isZero();
+    assertThat(summary.getCompletedPurchasesTotal()).isZero();
+    assertThat(summary.getAverageMargin()).isNull();
+  }
+
+  @Test
+  @DisplayName("getStatusBreakdown debe consultar el agregado con límites diarios semiabiertos")
+  void getStatusBreakdown_ShouldQueryRollupByDay() {
+    when(purchaseSaleDailyRollupRepository.breakdownByStatus(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1)))
+        .thenReturn(List.of());
+
+    assertThat(
+            purchaseSaleAnalyticsService.getStatusBreakdown(
+                DateRange.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("DateRange debe rechazar rangos invertidos")
+  void dateRange_WhenStartAfterEnd_ShouldThrowException() {
+    assertThatThrownBy(() -> DateRange.of(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
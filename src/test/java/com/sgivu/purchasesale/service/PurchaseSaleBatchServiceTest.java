@@ -0,0 +1,88 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.PurchaseSaleBatchItem;
+import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapperImpl;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleBatchServiceTest {
+
+  @Mock private PurchaseSaleRepository purchaseSaleRepository;
+  @Mock private PurchaseSaleDetailService purchaseSaleDetailService;
+
+  private PurchaseSaleBatchService purchaseSaleBatchService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleBatchService =
+        new PurchaseSaleBatchService(
+            purchaseSaleRepository, new PurchaseSaleMapperImpl(), purchaseSaleDetailService);
+  }
+
+  @Test
+  @DisplayName("getByIds debe respetar el orden pedido y marcar los ids inexistentes")
+  void getByIds_ShouldKeepRequestOrderAndMarkMissing() {
+    when(purchaseSaleRepository.findAllById(List.of(3L, 9L, 1L)))
+        .thenReturn(List.of(contract(1L), contract(3L)));
+
+    List<PurchaseSaleBatchItem> items =
+        purchaseSaleBatchService.getByIds(List.of(3L, 9L, 1L, 3L), false);
+
+    assertThat(items).extracting(PurchaseSaleBatchItem::getId).containsExactly(3L, 9L, 1L);
+    assertThat(items).extracting(PurchaseSaleBatchItem::isFound).containsExactly(true, false, true);
+    assertThat(items.get(1).getContract()).isNull();
+    assertThat(items.get(2).getContract().getId()).isEqualTo(1L);
+    verifyNoInteractions(purchaseSaleDetailService);
+  }
+
+  @Test
+  @DisplayName("getByIds detallado debe enriquecer los contratos encontrados en un solo paso")
+  void getByIds_Detailed_ShouldEnrichFoundContracts() {
+    List<PurchaseSale> contracts = List.of(contract(5L));
+    PurchaseSaleDetailResponse detail = new PurchaseSaleDetailResponse();
+    detail.setId(5L);
+    when(purchaseSaleRepository.findAllById(List.of(5L, 6L))).thenReturn(contracts);
+    when(purchaseSaleDetailService.toDetails(contracts)).thenReturn(List.of(detail));
+
+    List<PurchaseSaleBatchItem> items = purchaseSaleBatchService.getByIds(List.of(5L, 6L), true);
+
+    assertThat(items.get(0).getContract()).isSameAs(detail);
+    assertThat(items.get(1).isFound()).isFalse();
+    verify(purchaseSaleDetailService).toDetails(contracts);
+  }
+
+  @Test
+  @DisplayName("getByIds debe rechazar más ids que el máximo permitido")
+  void getByIds_WithTooManyIds_ShouldThrow() {
+    List<Long> ids =
+        LongStream.rangeClosed(1, PurchaseSaleBatchService.MAX_IDS + 1).boxed().toList();
+
+    assertThatThrownBy(() -> purchaseSaleBatchService.getByIds(ids, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(purchaseSaleRepository, never()).findAllById(anyList());
+  }
+
+  private static PurchaseSale contract(Long id) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(id);
+    return contract;
+  }
+}
@@ -0,0 +1,104 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.ChangeFeedEntry;
+import com.sgivu.purchasesale.dto.ChangeFeedResponse;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.PurchaseSaleTombstone;
+import com.sgivu.purchasesale.enums.ChangeOperation;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapperImpl;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleTombstoneRepository;
+import com.sgivu.purchasesale.util.ChangeFeedCursor;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleChangeFeedServiceTest {
+
+  private static final LocalDateTime T1 = LocalDateTime.of(2025, 5, 1, 10, 0);
+  private static final LocalDateTime T2 = T1.plusMinutes(1);
+  private static final LocalDateTime T3 = T1.plusMinutes(2);
+
+  @Mock private PurchaseSaleRepository purchaseSaleRepository;
+  @Mock private PurchaseSaleTombstoneRepository purchaseSaleTombstoneRepository;
+
+  private PurchaseSaleChangeFeedService purchaseSaleChangeFeedService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleChangeFeedService =
+        new PurchaseSaleChangeFeedService(
+            purchaseSaleRepository,
+            purchaseSaleTombstoneRepository,
+            new PurchaseSaleMapperImpl(),
+            Duration.ofSeconds(5));
+  }
+
+  @Test
+  @DisplayName("getChanges debe intercalar cambios y bajas y devolver el cursor del último")
+  void getChanges_ShouldMergeUpsertsAndTombstones() {
+    ChangeFeedCursor start = ChangeFeedCursor.START;
+    when(purchaseSaleRepository.findChangedAfter(
+            eq(start.changedAt()), eq(0L), any(), eq(PageRequest.of(0, 3))))
+        .thenReturn(List.of(contract(1L, T1), contract(3L, T3)));
+    when(purchaseSaleTombstoneRepository.findDeletedAfter(
+            eq(start.changedAt()), eq(0L), any(), eq(PageRequest.of(0, 3))))
+        .thenReturn(List.of(new PurchaseSaleTombstone(2L, 9L, T2)));
+
+    ChangeFeedResponse response = purchaseSaleChangeFeedService.getChanges(null, 2);
+
+    assertThat(response.getChanges())
+        .extracting(ChangeFeedEntry::getContractId, ChangeFeedEntry::getOperation)
+        .containsExactly(
+            tuple(1L, ChangeOperation.UPSERT),
+            tuple(2L, ChangeOperation.DELETE));
+    assertThat(response.isHasMore()).isTrue();
+    assertThat(ChangeFeedCursor.decode(response.getNextCursor()))
+        .isEqualTo(new ChangeFeedCursor(T2, 2L));
+  }
+
+  @Test
+  @DisplayName("getChanges sin novedades debe conservar el cursor recibido")
+  void getChanges_WithoutChanges_ShouldKeepCursor() {
+    String cursor = new ChangeFeedCursor(T3, 3L).encode();
+    when(purchaseSaleRepository.findChangedAfter(eq(T3), eq(3L), any(), any()))
+        .thenReturn(List.of());
+    when(purchaseSaleTombstoneRepository.findDeletedAfter(eq(T3), eq(3L), any(), any()))
+        .thenReturn(List.of());
+
+    ChangeFeedResponse response = purchaseSaleChangeFeedService.getChanges(cursor, 100);
+
+    assertThat(response.getChanges()).isEmpty();
+    assertThat(response.isHasMore()).isFalse();
+    assertThat(response.getNextCursor()).isEqualTo(cursor);
+  }
+
+  @Test
+  @DisplayName("getChanges debe rechazar cursores alterados")
+  void getChanges_WithInvalidCursor_ShouldThrowException() {
+    assertThatThrownBy(() -> purchaseSaleChangeFeedService.getChanges("no-es-un-cursor", 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private PurchaseSale contract(Long id, LocalDateTime updatedAt) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(id);
+    contract.setUpdatedAt(updatedAt);
+    return contract;
+  }
+}
@@ -0,0 +1,93 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.util.DateRange;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleCsvExportServiceTest {
+
+  @Mock private DataSource dataSource;
+  @Mock private Connection connection;
+  @Mock private PGConnection pgConnection;
+  @Mock private CopyManager copyManager;
+
+  private PurchaseSaleCsvExportService purchaseSaleCsvExportService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleCsvExportService = new PurchaseSaleCsvExportService(dataSource);
+  }
+
+  @Test
+  @DisplayName("buildCopySql debe aplicar el rango de fechas como límites semiabiertos")
+  void buildCopySql_ShouldApplyDateRange() {
+    String sql =
+        purchaseSaleCsvExportService.buildCopySql(
+            DateRange.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+
+    assertThat(sql)
+        .startsWith("COPY (SELECT id, client_id")
+        .contains("created_at >= TIMESTAMP '2025-01-01T00:00:00'")
+        .contains("created_at < TIMESTAMP '2025-02-01T00:00:00'")
+        .endsWith("TO STDOUT WITH (FORMAT csv, HEADER true)");
+  }
+
+  @Test
+  @DisplayName("buildCopySql debe omitir el filtro cuando no se envían fechas")
+  void buildCopySql_WithoutDates_ShouldNotFilter() {
+    String sql = purchaseSaleCsvExportService.buildCopySql(DateRange.of(null, null));
+
+    assertThat(sql).doesNotContain("WHERE");
+  }
+
+  @Test
+  @DisplayName("exportCsv debe copiar directamente al flujo de salida")
+  void exportCsv_ShouldStreamCopyOutput() throws Exception {
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    OutputStream outputStream = new ByteArrayOutputStream();
+
+    purchaseSaleCsvExportService.exportCsv(DateRange.of(null, null), outputStream);
+
+    verify(copyManager).copyOut(anyString(), eq(outputStream));
+    verify(connection).close();
+  }
+
+  @Test
+  @DisplayName("exportCsv debe envolver los errores de base de datos")
+  void exportCsv_WhenCopyFails_ShouldThrowIllegalState() throws Exception {
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    when(copyManager.copyOut(anyString(), any(OutputStream.class)))
+        .thenThrow(new SQLException("boom"));
+
+    assertThatThrownBy(
+            () ->
+                purchaseSaleCsvExportService.exportCsv(
+                    DateRange.of(null, null), new ByteArrayOutputStream()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
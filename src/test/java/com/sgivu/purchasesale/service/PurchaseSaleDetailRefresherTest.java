@@ -0,0 +1,147 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.PurchaseSaleDetail;
+import com.sgivu.purchasesale.repository.PurchaseSaleDetailRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleDetailRefresherTest {
+
+  @Mock private PurchaseSaleRepository purchaseSaleRepository;
+  @Mock private PurchaseSaleDetailRepository purchaseSaleDetailRepository;
+  @Mock private PurchaseSaleDetailService purchaseSaleDetailService;
+
+  private SimpleMeterRegistry meterRegistry;
+  private PurchaseSaleDetailRefresher purchaseSaleDetailRefresher;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    purchaseSaleDetailRefresher =
+        new PurchaseSaleDetailRefresher(
+            purchaseSaleRepository,
+            purchaseSaleDetailRepository,
+            purchaseSaleDetailService,
+            meterRegistry,
+            Duration.ofSeconds(5),
+            100);
+  }
+
+  @AfterEach
+  void tearDown() {
+    purchaseSaleDetailRefresher.shutdown();
+  }
+
+  @Test
+  @DisplayName("refresh debe guardar los resúmenes resueltos del contrato")
+  void refresh_ShouldSaveResolvedReadModel() {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(1L);
+    PurchaseSaleDetail detail = new PurchaseSaleDetail();
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(1L))).thenReturn(List.of(contract));
+    when(purchaseSaleDetailService.resolveReadModel(eq(contract), any(LocalDateTime.class)))
+        .thenReturn(detail);
+
+    purchaseSaleDetailRefresher.refresh(1L);
+
+    verify(purchaseSaleDetailRepository).save(detail);
+    assertThat(meterRegistry.counter("purchase_sale.details.refreshed").count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("refresh debe borrar la fila de un contrato eliminado")
+  void refresh_WhenContractWasDeleted_ShouldDeleteRow() {
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(1L))).thenReturn(List.of());
+
+    purchaseSaleDetailRefresher.refresh(1L);
+
+    verify(purchaseSaleDetailRepository).deleteById(1L);
+    verify(purchaseSaleDetailRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("refresh debe contar el fallo sin propagarlo para que el reconciliador reintente")
+  void refresh_WhenRemoteFails_ShouldCountFailure() {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(1L);
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(1L))).thenReturn(List.of(contract));
+    when(purchaseSaleDetailService.resolveReadModel(eq(contract), any(LocalDateTime.class)))
+        .thenThrow(new IllegalStateException("timeout"));
+
+    purchaseSaleDetailRefresher.refresh(1L);
+
+    assertThat(meterRegistry.counter("purchase_sale.details.failed").count()).isEqualTo(1.0);
+    verify(purchaseSaleDetailRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("reconcile debe revisar toda la tabla solo al arrancar y luego seguir los cambios")
+  void reconcile_AfterCatchUp_ShouldOnlyEnqueueChangedContractsWithOtherVersion() {
+    LocalDateTime version = LocalDateTime.of(2025, 3, 1, 10, 0);
+    PurchaseSale current = contract(1L, version);
+    PurchaseSale changed = contract(2L, version.plusMinutes(1));
+    PurchaseSaleDetail currentDetail = new PurchaseSaleDetail();
+    currentDetail.setContractId(1L);
+    currentDetail.setContractUpdatedAt(version);
+    PurchaseSaleDetail outdatedDetail = new PurchaseSaleDetail();
+    outdatedDetail.setContractId(2L);
+    outdatedDetail.setContractUpdatedAt(version);
+    when(purchaseSaleDetailRepository.findStaleContractIds(100)).thenReturn(List.of());
+    when(purchaseSaleRepository.findChangedAfter(
+            any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+        .thenReturn(List.of(current, changed));
+    when(purchaseSaleDetailRepository.findAllById(List.of(1L, 2L)))
+        .thenReturn(List.of(currentDetail, outdatedDetail));
+
+    purchaseSaleDetailRefresher.reconcile();
+    purchaseSaleDetailRefresher.reconcile();
+
+    verify(purchaseSaleDetailRepository).deleteOrphans();
+    verify(purchaseSaleDetailRepository).findStaleContractIds(100);
+    verify(purchaseSaleRepository, timeout(1000)).findCurrentByIdIn(List.of(2L));
+    verify(purchaseSaleRepository, never()).findCurrentByIdIn(List.of(1L));
+  }
+
+  @Test
+  @DisplayName("reconcile debe volver a encolar los contratos cuya actualización falló")
+  void reconcile_ShouldRetryFailedRefreshes() {
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(1L)))
+        .thenThrow(new IllegalStateException("timeout"))
+        .thenReturn(List.of());
+    when(purchaseSaleDetailRepository.findStaleContractIds(100)).thenReturn(List.of());
+
+    purchaseSaleDetailRefresher.refresh(1L);
+    purchaseSaleDetailRefresher.reconcile();
+
+    verify(purchaseSaleDetailRepository, timeout(1000)).deleteById(1L);
+  }
+
+  private static PurchaseSale contract(Long id, LocalDateTime updatedAt) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(id);
+    contract.setUpdatedAt(updatedAt);
+    return contract;
+  }
+}
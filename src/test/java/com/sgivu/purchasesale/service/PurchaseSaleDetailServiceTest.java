@@ -0,0 +1,187 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.client.ClientServiceClient;
+import com.sgivu.purchasesale.client.UserServiceClient;
+import com.sgivu.purchasesale.client.VehicleServiceClient;
+import com.sgivu.purchasesale.dto.Car;
+import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
+import com.sgivu.purchasesale.dto.VehicleSummary;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.entity.PurchaseSaleDetail;
+import com.sgivu.purchasesale.entity.VehicleSnapshot;
+import com.sgivu.purchasesale.exception.DownstreamUnavailableException;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapperImpl;
+import com.sgivu.purchasesale.repository.PurchaseSaleDetailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleDetailServiceTest {
+
+  @Mock private ClientServiceClient clientServiceClient;
+  @Mock private UserServiceClient userServiceClient;
+  @Mock private VehicleServiceClient vehicleServiceClient;
+  @Mock private PurchaseSaleDetailRepository purchaseSaleDetailRepository;
+
+  private static final LocalDateTime VERSION = LocalDateTime.of(2025, 3, 1, 10, 0, 0, 123_456_789);
+
+  private SimpleMeterRegistry meterRegistry;
+  private PurchaseSaleDetailService purchaseSaleDetailService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    purchaseSaleDetailService =
+        new PurchaseSaleDetailService(
+            new PurchaseSaleMapperImpl(),
+            clientServiceClient,
+            userServiceClient,
+            vehicleServiceClient,
+            purchaseSaleDetailRepository,
+            meterRegistry,
+            100);
+  }
+
+  @Test
+  @DisplayName("toDetails debe usar el modelo de lectura vigente sin llamadas remotas")
+  void toDetails_WithCurrentReadModel_ShouldSkipRemoteCalls() {
+    PurchaseSale contract = contract(1L, 30L);
+    // La base redondea updated_at a microsegundos.
+    when(purchaseSaleDetailRepository.findAllById(List.of(1L)))
+        .thenReturn(List.of(storedDetail(1L, 30L, VERSION.withNano(123_457_000))));
+
+    List<PurchaseSaleDetailResponse> details =
+        purchaseSaleDetailService.toDetails(List.of(contract));
+
+    assertThat(details.get(0).getVehicleSummary().getPlate()).isEqualTo("ABC123");
+    assertThat(details.get(0).getClientSummary()).isNull();
+    verifyNoInteractions(clientServiceClient, userServiceClient, vehicleServiceClient);
+  }
+
+  @Test
+  @DisplayName("toDetails debe enriquecer en vivo las filas con otro vehículo")
+  void toDetails_WithStaleReadModel_ShouldFallBackToLiveEnrichment() {
+    PurchaseSale contract = contract(1L, 31L);
+    when(purchaseSaleDetailRepository.findAllById(List.of(1L)))
+        .thenReturn(List.of(storedDetail(1L, 30L, VERSION)));
+    Car car = new Car();
+    car.setId(31L);
+    car.setPlate("XYZ987");
+    when(vehicleServiceClient.getCarById(31L)).thenReturn(car);
+
+    List<PurchaseSaleDetailResponse> details =
+        purchaseSaleDetailService.toDetails(List.of(contract));
+
+    assertThat(details.get(0).getVehicleSummary().getPlate()).isEqualTo("XYZ987");
+    verify(vehicleServiceClient).getCarById(31L);
+  }
+
+  @Test
+  @DisplayName("toDetails debe enriquecer en vivo las filas de otra versión del contrato")
+  void toDetails_WithOtherContractVersion_ShouldFallBackToLiveEnrichment() {
+    PurchaseSale contract = contract(1L, 30L);
+    when(purchaseSaleDetailRepository.findAllById(List.of(1L)))
+        .thenReturn(List.of(storedDetail(1L, 30L, VERSION.minusMinutes(5))));
+    Car car = new Car();
+    car.setId(30L);
+    car.setPlate("XYZ987");
+    when(vehicleServiceClient.getCarById(30L)).thenReturn(car);
+
+    List<PurchaseSaleDetailResponse> details =
+        purchaseSaleDetailService.toDetails(List.of(contract));
+
+    assertThat(details.get(0).getVehicleSummary().getPlate()).isEqualTo("XYZ987");
+  }
+
+  @Test
+  @DisplayName("toSignedDetails debe resolver en remoto solo los contratos sin datos de firma")
+  void toSignedDetails_ShouldUseSnapshotsAndResolveOnlyUnsignedContracts() {
+    PurchaseSale signed = contract(1L, 30L);
+    signed.setVehicleSnapshot(new VehicleSnapshot("CAR", "Mazda", "3", "ABC123"));
+    PurchaseSale unsigned = contract(2L, 31L);
+    when(purchaseSaleDetailRepository.findAllById(List.of(2L))).thenReturn(List.of());
+    Car car = new Car();
+    car.setId(31L);
+    car.setPlate("XYZ987");
+    when(vehicleServiceClient.getCarById(31L)).thenReturn(car);
+
+    List<PurchaseSaleDetailResponse> details =
+        purchaseSaleDetailService.toSignedDetails(List.of(signed, unsigned));
+
+    assertThat(details)
+        .extracting(detail -> detail.getVehicleSummary().getPlate())
+        .containsExactly("ABC123", "XYZ987");
+    assertThat(details.get(0).getVehicleSummary().getId()).isEqualTo(30L);
+    verify(vehicleServiceClient, never()).getCarById(30L);
+  }
+
+  @Test
+  @DisplayName("Con el circuito abierto debe devolver el último resumen conocido, degradado")
+  void summarizeVehicles_WhenCircuitOpen_ShouldReturnDegradedLastKnown() {
+    Car car = new Car();
+    car.setId(30L);
+    car.setPlate("ABC123");
+    when(vehicleServiceClient.getCarById(30L))
+        .thenReturn(car)
+        .thenThrow(new DownstreamUnavailableException("sgivu-vehicle", null));
+    when(vehicleServiceClient.getCarById(31L))
+        .thenThrow(new DownstreamUnavailableException("sgivu-vehicle", null));
+
+    purchaseSaleDetailService.summarizeVehicles(List.of(30L));
+    Map<Long, VehicleSummary> degraded =
+        purchaseSaleDetailService.summarizeVehicles(List.of(30L, 31L));
+
+    assertThat(degraded.get(30L).getPlate()).isEqualTo("ABC123");
+    assertThat(degraded.get(30L).isDegraded()).isTrue();
+    assertThat(degraded.get(31L).getType()).isEqualTo("UNKNOWN");
+    assertThat(degraded.get(31L).isDegraded()).isTrue();
+    assertThat(meterRegistry.find("purchase_sale.downstream.degraded").counters()).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("resolveReadModel no debe producir filas con resúmenes degradados")
+  void resolveReadModel_WhenDegraded_ShouldThrow() {
+    PurchaseSale contract = contract(1L, 31L);
+    when(vehicleServiceClient.getCarById(31L))
+        .thenThrow(new DownstreamUnavailableException("sgivu-vehicle", null));
+
+    assertThatThrownBy(
+            () -> purchaseSaleDetailService.resolveReadModel(contract, LocalDateTime.now()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static PurchaseSale contract(Long id, Long vehicleId) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(id);
+    contract.setVehicleId(vehicleId);
+    contract.setUpdatedAt(VERSION);
+    return contract;
+  }
+
+  private static PurchaseSaleDetail storedDetail(
+      Long contractId, Long vehicleId, LocalDateTime contractUpdatedAt) {
+    PurchaseSaleDetail detail = new PurchaseSaleDetail();
+    detail.setContractId(contractId);
+    detail.setVehicleId(vehicleId);
+    detail.setVehicleType("CAR");
+    detail.setVehiclePlate("ABC123");
+    detail.setContractUpdatedAt(contractUpdatedAt);
+    detail.setRefreshedAt(LocalDateTime.now());
+    return detail;
+  }
+}
@@ -0,0 +1,144 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sgivu.purchasesale.enums.ContractEventType;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.event.PurchaseSaleChangeNotification;
+import com.sgivu.purchasesale.service.PurchaseSaleEventStreamService.SubscriptionFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class PurchaseSaleEventStreamServiceTest {
+
+  private PurchaseSaleEventStreamService purchaseSaleEventStreamService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleEventStreamService =
+        new PurchaseSaleEventStreamService(4, 8, Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("Un filtro vacío debe aceptar cualquier cambio")
+  void emptyFilter_ShouldMatchEverything() {
+    SubscriptionFilter filter = new SubscriptionFilter(null, null, null);
+
+    assertThat(filter.matches(notification(1L, 10L, 20L, ContractStatus.ACTIVE))).isTrue();
+  }
+
+  @Test
+  @DisplayName("El filtro debe exigir todos los criterios informados")
+  void filter_ShouldRequireAllCriteria() {
+    SubscriptionFilter filter = new SubscriptionFilter(10L, null, ContractStatus.COMPLETED);
+
+    assertThat(filter.matches(notification(1L, 10L, 20L, ContractStatus.COMPLETED))).isTrue();
+    assertThat(filter.matches(notification(2L, 10L, 20L, ContractStatus.ACTIVE))).isFalse();
+    assertThat(filter.matches(notification(3L, 11L, 20L, ContractStatus.COMPLETED))).isFalse();
+  }
+
+  @Test
+  @DisplayName("subscribe debe registrar al suscriptor aunque el historial no tenga su evento")
+  void subscribe_WithUnknownLastEventId_ShouldRegisterSubscriber() {
+    purchaseSaleEventStreamService.publish(notification(1L, 10L, 20L, ContractStatus.ACTIVE));
+
+    purchaseSaleEventStreamService.subscribe(new SubscriptionFilter(null, null, null), 99L);
+
+    assertThat(purchaseSaleEventStreamService.subscriberCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("subscribe debe pedir RESYNC cuando lo pendiente no cabe en la cola")
+  void subscribe_WhenReplayExceedsBuffer_ShouldSendResync() throws Exception {
+    RecordingEmitter emitter = new RecordingEmitter(null);
+    PurchaseSaleEventStreamService service = serviceWith(emitter);
+    for (long id = 1; id <= 6; id++) {
+      service.publish(notification(id, 10L, 20L, ContractStatus.ACTIVE));
+    }
+
+    service.subscribe(new SubscriptionFilter(null, null, null), 1L);
+
+    assertThat(emitter.sent.poll(5, TimeUnit.SECONDS)).contains("event:RESYNC");
+    assertThat(emitter.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  @DisplayName("Con la cola llena se envía lo encolado antes de cerrar la conexión")
+  void publish_WhenQueueOverflows_ShouldFlushQueuedEventsBeforeClosing() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter emitter = new RecordingEmitter(release);
+    PurchaseSaleEventStreamService service = serviceWith(emitter);
+    service.subscribe(new SubscriptionFilter(null, null, null), null);
+
+    service.publish(notification(1L, 10L, 20L, ContractStatus.ACTIVE));
+    assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+    for (long id = 2; id <= 7; id++) {
+      service.publish(notification(id, 10L, 20L, ContractStatus.ACTIVE));
+    }
+    release.countDown();
+
+    assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(emitter.sent)
+        .extracting(event -> event.substring(0, event.indexOf('\n')))
+        .containsExactly("id:1", "id:2", "id:3", "id:4", "id:5");
+  }
+
+  private PurchaseSaleEventStreamService serviceWith(SseEmitter emitter) {
+    return new PurchaseSaleEventStreamService(4, 8, Duration.ofMinutes(1)) {
+      @Override
+      SseEmitter newEmitter() {
+        return emitter;
+      }
+    };
+  }
+
+  /** Registra lo enviado; con {@code release} el primer envío espera hasta que se libere. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final CountDownLatch release;
+
+    RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      sending.countDown();
+      if (release != null) {
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      sent.add(
+          builder.build().stream()
+              .map(part -> String.valueOf(part.getData()))
+              .collect(Collectors.joining()));
+    }
+
+    @Override
+    public void complete() {
+      completed.countDown();
+    }
+  }
+
+  private static PurchaseSaleChangeNotification notification(
+      long id, Long vehicleId, Long clientId, ContractStatus status) {
+    return new PurchaseSaleChangeNotification(
+        id, ContractEventType.UPDATED, id, vehicleId, clientId, status, LocalDateTime.now());
+  }
+}
@@ -0,0 +1,126 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.ContractStatusTransitionRequest;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionResult;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.TransitionOutcome;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleExpiryServiceTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 2, 0);
+  private static final LocalDateTime CUTOFF = NOW.minusDays(30);
+
+  @Mock private PurchaseSaleRepository purchaseSaleRepository;
+  @Mock private PurchaseSaleService purchaseSaleService;
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  private SimpleMeterRegistry meterRegistry;
+  private PurchaseSaleExpiryService purchaseSaleExpiryService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    purchaseSaleExpiryService =
+        new PurchaseSaleExpiryService(
+            purchaseSaleRepository,
+            purchaseSaleService,
+            jdbcTemplate,
+            meterRegistry,
+            true,
+            Duration.ofDays(30),
+            2,
+            3,
+            7,
+            20);
+  }
+
+  @Test
+  @DisplayName("expireChunks debe recorrer por id y reiniciar al terminar la pasada")
+  void expireChunks_ShouldWalkKeysetAndRestartAfterLastChunk() {
+    when(purchaseSaleRepository.findIdsCreatedBefore(
+            ContractStatus.PENDING, CUTOFF, 0L, PageRequest.of(0, 2)))
+        .thenReturn(List.of(1L, 4L));
+    when(purchaseSaleRepository.findIdsCreatedBefore(
+            ContractStatus.PENDING, CUTOFF, 4L, PageRequest.of(0, 2)))
+        .thenReturn(List.of(9L));
+    when(purchaseSaleService.transitionStatus(any(ContractStatusTransitionRequest.class)))
+        .thenReturn(
+            List.of(result(1L, TransitionOutcome.UPDATED), result(4L, TransitionOutcome.UPDATED)))
+        .thenReturn(List.of(result(9L, TransitionOutcome.STATUS_MISMATCH)));
+
+    int canceled = purchaseSaleExpiryService.expireChunks(NOW);
+
+    assertThat(canceled).isEqualTo(2);
+    assertThat(meterRegistry.counter("purchase_sale.expiry.canceled").count()).isEqualTo(2.0);
+    assertThat(meterRegistry.counter("purchase_sale.expiry.skipped").count()).isEqualTo(1.0);
+    verify(purchaseSaleService, times(2)).transitionStatus(any());
+
+    purchaseSaleExpiryService.expireChunks(NOW);
+
+    verify(purchaseSaleRepository, times(2))
+        .findIdsCreatedBefore(eq(ContractStatus.PENDING), eq(CUTOFF), eq(0L), any());
+  }
+
+  @Test
+  @DisplayName("expireChunks no debe superar el número de bloques por ejecución")
+  void expireChunks_ShouldStopAfterChunksPerRun() {
+    when(purchaseSaleRepository.findIdsCreatedBefore(
+            eq(ContractStatus.PENDING), eq(CUTOFF), any(), any()))
+        .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L, 6L), List.of(7L, 8L));
+    when(purchaseSaleService.transitionStatus(any(ContractStatusTransitionRequest.class)))
+        .thenReturn(List.of());
+
+    purchaseSaleExpiryService.expireChunks(NOW);
+
+    verify(purchaseSaleService, times(3)).transitionStatus(any());
+  }
+
+  @Test
+  @DisplayName("isPeakHour debe respetar franjas que cruzan la medianoche")
+  void isPeakHour_ShouldHandleWindows() {
+    assertThat(purchaseSaleExpiryService.isPeakHour(7)).isTrue();
+    assertThat(purchaseSaleExpiryService.isPeakHour(20)).isFalse();
+    assertThat(purchaseSaleExpiryService.isPeakHour(2)).isFalse();
+
+    PurchaseSaleExpiryService overnight =
+        new PurchaseSaleExpiryService(
+            purchaseSaleRepository,
+            purchaseSaleService,
+            jdbcTemplate,
+            meterRegistry,
+            true,
+            Duration.ofDays(30),
+            2,
+            3,
+            22,
+            6);
+    assertThat(overnight.isPeakHour(23)).isTrue();
+    assertThat(overnight.isPeakHour(3)).isTrue();
+    assertThat(overnight.isPeakHour(12)).isFalse();
+  }
+
+  private static ContractStatusTransitionResult result(Long id, TransitionOutcome outcome) {
+    return ContractStatusTransitionResult.builder().id(id).outcome(outcome).build();
+  }
+}
@@ -0,0 +1,70 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.AgingBucketTotals;
+import com.sgivu.purchasesale.dto.InventoryAgingSummary;
+import com.sgivu.purchasesale.enums.AgingBucket;
+import com.sgivu.purchasesale.repository.PurchaseSaleInventoryRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleInventoryRepository.AgingBucketRow;
+import com.sgivu.purchasesale.repository.PurchaseSaleInventoryRepository.HoldingTimeSummaryRow;
+import com.sgivu.purchasesale.util.DateRange;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleInventoryServiceTest {
+
+  @Mock private PurchaseSaleInventoryRepository purchaseSaleInventoryRepository;
+
+  private PurchaseSaleInventoryService purchaseSaleInventoryService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleInventoryService =
+        new PurchaseSaleInventoryService(purchaseSaleInventoryRepository);
+  }
+
+  @Test
+  @DisplayName("getSummary debe completar los rangos de antigüedad vacíos y sumar el capital")
+  void getSummary_ShouldFillEmptyBucketsAndTotals() {
+    HoldingTimeSummaryRow sold = mock(HoldingTimeSummaryRow.class);
+    when(sold.getVehicles()).thenReturn(4L);
+    when(sold.getAverageHoldingDays()).thenReturn(37.5);
+    when(purchaseSaleInventoryRepository.summarizeHoldingTimes(null, null)).thenReturn(sold);
+    List<AgingBucketRow> bucketRows =
+        List.of(
+            bucketRow(AgingBucket.DAYS_181_PLUS, 1L, 9000000d),
+            bucketRow(AgingBucket.DAYS_0_30, 2L, 30000000d));
+    when(purchaseSaleInventoryRepository.countUnsoldByAgingBucket()).thenReturn(bucketRows);
+
+    InventoryAgingSummary summary =
+        purchaseSaleInventoryService.getSummary(DateRange.of(null, null));
+
+    assertThat(summary.getSoldVehicles()).isEqualTo(4L);
+    assertThat(summary.getAverageHoldingDays()).isEqualTo(37.5);
+    assertThat(summary.getUnsoldVehicles()).isEqualTo(3L);
+    assertThat(summary.getCapitalTied()).isEqualTo(39000000d);
+    assertThat(summary.getAgingBuckets())
+        .extracting(AgingBucketTotals::getAgingBucket)
+        .containsExactly(AgingBucket.values());
+    assertThat(summary.getAgingBuckets())
+        .extracting(AgingBucketTotals::getVehicles)
+        .containsExactly(2L, 0L, 0L, 0L, 1L);
+  }
+
+  private AgingBucketRow bucketRow(AgingBucket bucket, Long vehicles, Double capitalTied) {
+    AgingBucketRow row = mock(AgingBucketRow.class);
+    when(row.getAgingBucket()).thenReturn(bucket);
+    when(row.getVehicles()).thenReturn(vehicles);
+    when(row.getCapitalTied()).thenReturn(capitalTied);
+    return row;
+  }
+}
@@ -0,0 +1,73 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.dto.UserLeaderboardEntry;
+import com.sgivu.purchasesale.dto.UserSummary;
+import com.sgivu.purchasesale.enums.UserRankingMetric;
+import com.sgivu.purchasesale.repository.PurchaseSaleLeaderboardRepository;
+import com.sgivu.purchasesale.util.DateRange;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleLeaderboardServiceTest {
+
+  @Mock private PurchaseSaleLeaderboardRepository purchaseSaleLeaderboardRepository;
+  @Mock private PurchaseSaleDetailService purchaseSaleDetailService;
+
+  private PurchaseSaleLeaderboardService purchaseSaleLeaderboardService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleLeaderboardService =
+        new PurchaseSaleLeaderboardService(
+            purchaseSaleLeaderboardRepository, purchaseSaleDetailService);
+  }
+
+  @Test
+  @DisplayName("getTopUsers debe limitar la consulta y enriquecer solo a los ganadores")
+  void getTopUsers_ShouldEnrichOnlyWinners() {
+    when(purchaseSaleLeaderboardRepository.findTopUsersByMargin(null, null, PageRequest.of(0, 2)))
+        .thenReturn(
+            List.of(
+                new UserLeaderboardEntry(7L, 3L, 90000000d, 9000000d),
+                new UserLeaderboardEntry(4L, 5L, 80000000d, 6000000d)));
+    UserSummary topUser = UserSummary.builder().id(7L).fullName("Ana Gómez").build();
+    when(purchaseSaleDetailService.summarizeUsers(List.of(7L, 4L)))
+        .thenReturn(Map.of(7L, topUser));
+
+    List<UserLeaderboardEntry> ranking =
+        purchaseSaleLeaderboardService.getTopUsers(
+            DateRange.of(null, null), UserRankingMetric.MARGIN, 2);
+
+    assertThat(ranking).extracting(UserLeaderboardEntry::getRank).containsExactly(1, 2);
+    assertThat(ranking.get(0).getUserSummary()).isEqualTo(topUser);
+    verify(purchaseSaleLeaderboardRepository, never())
+        .findTopUsersByCompletedSales(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("el tamaño del ranking debe estar acotado")
+  void getTopClients_WithLimitOutOfRange_ShouldThrowException() {
+    assertThatThrownBy(
+            () ->
+                purchaseSaleLeaderboardService.getTopClientsByRevenue(
+                    DateRange.of(null, null), PurchaseSaleLeaderboardService.MAX_LIMIT + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(purchaseSaleLeaderboardRepository, purchaseSaleDetailService);
+  }
+}
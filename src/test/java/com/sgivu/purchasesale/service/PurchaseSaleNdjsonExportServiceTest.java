@@ -0,0 +1,99 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
+import com.sgivu.purchasesale.mapper.PurchaseSaleMapperImpl;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.hibernate.jpa.SpecHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleNdjsonExportServiceTest {
+
+  @Mock private PurchaseSaleRepository purchaseSaleRepository;
+  @Mock private PurchaseSaleDetailService purchaseSaleDetailService;
+  @Mock private EntityManager entityManager;
+
+  private final PurchaseSaleMapper purchaseSaleMapper = new PurchaseSaleMapperImpl();
+  private PurchaseSaleNdjsonExportService purchaseSaleNdjsonExportService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleNdjsonExportService =
+        new PurchaseSaleNdjsonExportService(
+            purchaseSaleRepository,
+            purchaseSaleMapper,
+            purchaseSaleDetailService,
+            entityManager,
+            new ObjectMapper().findAndRegisterModules(),
+            10);
+  }
+
+  @Test
+  @DisplayName("writeAll debe escribir una línea por contrato y desasociar cada entidad")
+  void writeAll_ShouldWriteOneLinePerContract() throws Exception {
+    PurchaseSale first = contract(1L);
+    PurchaseSale second = contract(2L);
+    AtomicBoolean closed = new AtomicBoolean();
+    when(purchaseSaleRepository.streamAll())
+        .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    purchaseSaleNdjsonExportService.writeAll(false, outputStream);
+
+    String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines[0]).startsWith("{").contains("\"id\":1");
+    assertThat(lines[1]).contains("\"id\":2");
+    verify(entityManager).detach(first);
+    verify(entityManager).detach(second);
+    verify(entityManager)
+        .setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+    verify(entityManager).setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  @DisplayName("writeAll en modo detallado debe usar el enriquecedor con caché acotada")
+  void writeAll_Detailed_ShouldUseBoundedDetailer() throws Exception {
+    PurchaseSale contract = contract(7L);
+    when(purchaseSaleRepository.streamAll()).thenReturn(Stream.of(contract));
+    when(purchaseSaleDetailService.streamingDetailer(10))
+        .thenReturn(purchaseSaleMapper::toPurchaseSaleDetailResponse);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    purchaseSaleNdjsonExportService.writeAll(true, outputStream);
+
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).contains("\"id\":7").endsWith("\n");
+    verify(purchaseSaleDetailService).streamingDetailer(10);
+  }
+
+  private static PurchaseSale contract(Long id) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(id);
+    contract.setContractType(ContractType.PURCHASE);
+    contract.setContractStatus(ContractStatus.ACTIVE);
+    contract.setPurchasePrice(1000d);
+    contract.setSalePrice(0d);
+    return contract;
+  }
+}
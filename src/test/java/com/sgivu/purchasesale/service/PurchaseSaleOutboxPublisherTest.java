@@ -0,0 +1,137 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.entity.PurchaseSaleOutboxEvent;
+import com.sgivu.purchasesale.enums.ContractEventType;
+import com.sgivu.purchasesale.event.InMemoryOutboxEventSink;
+import com.sgivu.purchasesale.event.OutboxMessage;
+import com.sgivu.purchasesale.repository.PurchaseSaleOutboxRepository;
+import com.sgivu.purchasesale.service.PurchaseSaleOutboxPublisher.BatchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleOutboxPublisherTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+  @Mock private PurchaseSaleOutboxRepository purchaseSaleOutboxRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private FailingSink sink;
+  private PurchaseSaleOutboxPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sink = new FailingSink();
+    publisher =
+        new PurchaseSaleOutboxPublisher(
+            purchaseSaleOutboxRepository,
+            sink,
+            transactionManager,
+            meterRegistry,
+            10,
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(30),
+            Duration.ofDays(7));
+  }
+
+  @Test
+  @DisplayName("publishBatch debe publicar en orden y marcar los eventos enviados")
+  void publishBatch_ShouldPublishInOrder() {
+    PurchaseSaleOutboxEvent first = event(1L, 5L);
+    PurchaseSaleOutboxEvent second = event(2L, 6L);
+    when(purchaseSaleOutboxRepository.tryLockPublisher(anyLong())).thenReturn(true);
+    when(purchaseSaleOutboxRepository.findPublishable(NOW, 10)).thenReturn(List.of(first, second));
+
+    BatchResult result = publisher.publishBatch(NOW);
+
+    assertThat(result).isEqualTo(new BatchResult(2, 2));
+    assertThat(sink.messages()).extracting(OutboxMessage::id).containsExactly(1L, 2L);
+    assertThat(first.getPublishedAt()).isEqualTo(NOW);
+    assertThat(meterRegistry.counter("purchase_sale.outbox.published").count()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Un fallo debe programar el reintento y retener los eventos siguientes del vehículo")
+  void publishBatch_WhenSinkFails_ShouldBlockVehicle() {
+    PurchaseSaleOutboxEvent failing = event(1L, 5L);
+    PurchaseSaleOutboxEvent sameVehicle = event(2L, 5L);
+    PurchaseSaleOutboxEvent otherVehicle = event(3L, 6L);
+    sink.failOn = 1L;
+    when(purchaseSaleOutboxRepository.tryLockPublisher(anyLong())).thenReturn(true);
+    when(purchaseSaleOutboxRepository.findPublishable(NOW, 10))
+        .thenReturn(List.of(failing, sameVehicle, otherVehicle));
+
+    BatchResult result = publisher.publishBatch(NOW);
+
+    assertThat(result.published()).isEqualTo(1);
+    assertThat(sink.messages()).extracting(OutboxMessage::id).containsExactly(3L);
+    assertThat(failing.getAttempts()).isEqualTo(1);
+    assertThat(failing.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(1));
+    assertThat(failing.getLastError()).isEqualTo("sink caído");
+    assertThat(failing.getPublishedAt()).isNull();
+    assertThat(sameVehicle.getPublishedAt()).isNull();
+    assertThat(sameVehicle.getAttempts()).isZero();
+  }
+
+  @Test
+  @DisplayName("publishBatch no debe leer eventos si otra réplica tiene el candado")
+  void publishBatch_WithoutLock_ShouldSkip() {
+    when(purchaseSaleOutboxRepository.tryLockPublisher(anyLong())).thenReturn(false);
+
+    assertThat(publisher.publishBatch(NOW)).isEqualTo(BatchResult.EMPTY);
+    verify(purchaseSaleOutboxRepository, never()).findPublishable(any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("La espera entre reintentos debe duplicarse hasta el máximo")
+  void backoff_ShouldGrowExponentiallyUpToMax() {
+    assertThat(publisher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+    assertThat(publisher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+    assertThat(publisher.backoff(10)).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  private static PurchaseSaleOutboxEvent event(Long id, Long vehicleId) {
+    PurchaseSaleOutboxEvent event = new PurchaseSaleOutboxEvent();
+    event.setId(id);
+    event.setContractId(100L + id);
+    event.setVehicleId(vehicleId);
+    event.setEventType(ContractEventType.UPDATED);
+    event.setPayload("{}");
+    event.setCreatedAt(NOW);
+    event.setNextAttemptAt(NOW);
+    return event;
+  }
+
+  private static final class FailingSink extends InMemoryOutboxEventSink {
+
+    private Long failOn;
+
+    @Override
+    public void publish(OutboxMessage message) {
+      if (failOn != null && failOn == message.id()) {
+        throw new IllegalStateException("sink caído");
+      }
+      super.publish(message);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.sgivu.purchasesale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSalePartitionServiceTest {
+
+  @Mock private PurchaseSaleRepository purchaseSaleRepository;
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private PurchaseSalePartitionService purchaseSalePartitionService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    purchaseSalePartitionService =
+        new PurchaseSalePartitionService(
+            purchaseSaleRepository,
+            jdbcTemplate,
+            transactionManager,
+            meterRegistry,
+            2,
+            true,
+            Duration.ofDays(365),
+            10,
+            5);
+  }
+
+  @Test
+  @DisplayName("monthsToPartition debe cubrir la partición por defecto y los meses siguientes")
+  void monthsToPartition_ShouldIncludeDefaultPartitionMonthsAndUpcoming() {
+    when(jdbcTemplate.queryForList(anyString(), eq(Timestamp.class)))
+        .thenReturn(List.of(Timestamp.valueOf(LocalDateTime.of(2021, 5, 1, 0, 0))));
+
+    List<YearMonth> months = purchaseSalePartitionService.monthsToPartition(YearMonth.of(2025, 12));
+
+    assertThat(months)
+        .containsExactly(
+            YearMonth.of(2021, 5),
+            YearMonth.of(2025, 12),
+            YearMonth.of(2026, 1),
+            YearMonth.of(2026, 2));
+    assertThat(PurchaseSalePartitionService.partitionName(YearMonth.of(2026, 1)))
+        .isEqualTo("purchase_sales_p2026_01");
+  }
+
+  @Test
+  @DisplayName("archiveClosedContracts debe detenerse con el primer bloque incompleto")
+  void archiveClosedContracts_ShouldStopAfterPartialChunk() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class)))
+        .thenReturn(true);
+    when(purchaseSaleRepository.archiveClosedBefore(any(LocalDateTime.class), eq(10)))
+        .thenReturn(10, 4);
+
+    purchaseSalePartitionService.archiveClosedContracts();
+
+    verify(purchaseSaleRepository, times(2)).archiveClosedBefore(any(LocalDateTime.class), eq(10));
+    assertThat(meterRegistry.counter("purchase_sale.archive.archived").count()).isEqualTo(14.0);
+  }
+
+  @Test
+  @DisplayName("archiveClosedContracts no debe archivar si otra réplica tiene el candado")
+  void archiveClosedContracts_WithoutLock_ShouldSkip() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class)))
+        .thenReturn(false);
+
+    purchaseSalePartitionService.archiveClosedContracts();
+
+    verify(purchaseSaleRepository, never()).archiveClosedBefore(any(), any(Integer.class));
+  }
+
+  @Test
+  @DisplayName("createPartition no debe crearla si otra réplica lo hizo antes de tomar el candado")
+  void createPartition_WhenCreatedMeanwhile_ShouldSkipDdl() {
+    when(jdbcTemplate.queryForObject(
+            contains("pg_try_advisory_xact_lock"), eq(Boolean.class), any(Object[].class)))
+        .thenReturn(true);
+    when(jdbcTemplate.queryForObject(
+            contains("to_regclass"), eq(Boolean.class), any(Object[].class)))
+        .thenReturn(true);
+
+    assertThat(purchaseSalePartitionService.createPartition(YearMonth.of(2026, 1))).isTrue();
+
+    verify(jdbcTemplate, never()).execute(anyString());
+    assertThat(meterRegistry.counter("purchase_sale.partitions.created").count()).isZero();
+  }
+}
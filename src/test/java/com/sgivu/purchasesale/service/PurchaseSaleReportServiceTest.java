@@ -1,11 +1,16 @@
 package com.sgivu.purchasesale.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.sgivu.purchasesale.client.DeadlinePropagationInterceptor;
 import com.sgivu.purchasesale.dto.ClientSummary;
 import com.sgivu.purchasesale.dto.PurchaseSaleDetailResponse;
 import com.sgivu.purchasesale.dto.UserSummary;
@@ -15,15 +20,34 @@ import com.sgivu.purchasesale.enums.ContractStatus;
 import com.sgivu.purchasesale.enums.ContractType;
 import com.sgivu.purchasesale.enums.PaymentMethod;
 import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 
 @ExtendWith(MockitoExtension.class)
 class PurchaseSaleReportServiceTest {
@@ -31,19 +55,27 @@ class PurchaseSaleReportServiceTest {
   @Mock private PurchaseSaleRepository purchaseSaleRepository;
   @Mock private PurchaseSaleDetailService purchaseSaleDetailService;
 
+  private ExecutorService reportExecutor;
   private PurchaseSaleReportService purchaseSaleReportService;
 
   @BeforeEach
   void setUp() {
+    reportExecutor = Executors.newFixedThreadPool(2);
     purchaseSaleReportService =
-        new PurchaseSaleReportService(purchaseSaleRepository, purchaseSaleDetailService);
+        new PurchaseSaleReportService(
+            purchaseSaleRepository, purchaseSaleDetailService, reportExecutor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reportExecutor.shutdownNow();
   }
 
   @Test
   @DisplayName("generatePdf debe producir un arreglo de bytes no vacío")
   void generatePdf_ShouldReturnDocumentBytes() {
     when(purchaseSaleRepository.findAll(any(Sort.class))).thenReturn(List.of(sampleContract()));
-    when(purchaseSaleDetailService.toDetails(anyList())).thenReturn(List.of(sampleDetail()));
+    when(purchaseSaleDetailService.toSignedDetails(anyList())).thenReturn(List.of(sampleDetail()));
 
     byte[] pdf = purchaseSaleReportService.generatePdf(null, null);
 
@@ -55,7 +87,7 @@ class PurchaseSaleReportServiceTest {
   @DisplayName("generateExcel debe producir un arreglo de bytes no vacío")
   void generateExcel_ShouldReturnDocumentBytes() {
     when(purchaseSaleRepository.findAll(any(Sort.class))).thenReturn(List.of(sampleContract()));
-    when(purchaseSaleDetailService.toDetails(anyList())).thenReturn(List.of(sampleDetail()));
+    when(purchaseSaleDetailService.toSignedDetails(anyList())).thenReturn(List.of(sampleDetail()));
 
     byte[] excel = purchaseSaleReportService.generateExcel(null, null);
 
@@ -63,6 +95,147 @@ class PurchaseSaleReportServiceTest {
     verify(purchaseSaleRepository).findAll(any(Sort.class));
   }
 
+  @Test
+  @DisplayName("generateExcel debe ajustar el ancho de cada columna al texto más largo")
+  void generateExcel_ShouldSizeColumnsFromLongestValue() throws Exception {
+    when(purchaseSaleRepository.findAll(any(Sort.class))).thenReturn(List.of(sampleContract()));
+    when(purchaseSaleDetailService.toSignedDetails(anyList())).thenReturn(List.of(sampleDetail()));
+
+    byte[] excel = purchaseSaleReportService.generateExcel(null, null);
+
+    try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
+      Sheet sheet = workbook.getSheetAt(0);
+      String client = sheet.getRow(3).getCell(3).getStringCellValue();
+      assertThat(sheet.getColumnWidth(3)).isGreaterThanOrEqualTo(client.length() * 256);
+      assertThat(sheet.getColumnWidth(0)).isGreaterThanOrEqualTo("ID".length() * 256);
+      assertThat(sheet.getColumnWidth(6)).isGreaterThanOrEqualTo("Precio de compra".length() * 256);
+    }
+  }
+
+  @Test
+  @DisplayName("generateExcel por meses debe crear una hoja de totales y una hoja por mes")
+  void generateExcel_PartitionedByMonth_ShouldCreateSheetPerMonth() throws Exception {
+    when(purchaseSaleRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            eq(LocalDate.of(2025, 1, 1).atStartOfDay()),
+            eq(LocalDate.of(2025, 2, 1).atStartOfDay()),
+            any(Sort.class)))
+        .thenReturn(List.of(sampleContract()));
+    when(purchaseSaleRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            eq(LocalDate.of(2025, 2, 1).atStartOfDay()),
+            eq(LocalDate.of(2025, 3, 1).atStartOfDay()),
+            any(Sort.class)))
+        .thenReturn(List.of());
+    when(purchaseSaleDetailService.toSignedDetails(anyList()))
+        .thenAnswer(
+            invocation ->
+                invocation.<List<PurchaseSale>>getArgument(0).isEmpty()
+                    ? List.of()
+                    : List.of(sampleDetail()));
+
+    byte[] excel =
+        purchaseSaleReportService.generateExcel(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28), true);
+
+    try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(excel))) {
+      assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+      assertThat(workbook.getSheetName(0)).isEqualTo("Totales");
+      assertThat(workbook.getSheetName(1)).isEqualTo("2025-01");
+
+      Sheet totals = workbook.getSheet("Totales");
+      assertThat(totals.getRow(3).getCell(0).getStringCellValue()).isEqualTo("2025-01");
+      assertThat(totals.getRow(3).getCell(1).getNumericCellValue()).isEqualTo(1d);
+      assertThat(totals.getRow(4).getCell(0).getStringCellValue()).isEqualTo("2025-02");
+      assertThat(totals.getRow(4).getCell(1).getNumericCellValue()).isZero();
+      assertThat(totals.getRow(5).getCell(5).getNumericCellValue()).isEqualTo(18000000d);
+    }
+  }
+
+  @Test
+  @DisplayName("generatePdf por meses debe producir un documento cuando no hay contratos")
+  void generatePdf_PartitionedByMonth_WithoutContracts_ShouldReturnDocument() {
+    when(purchaseSaleRepository.findMinCreatedAt()).thenReturn(Optional.empty());
+    when(purchaseSaleRepository.findMaxCreatedAt()).thenReturn(Optional.empty());
+
+    byte[] pdf = purchaseSaleReportService.generatePdf(null, null, true);
+
+    assertThat(pdf).isNotEmpty();
+  }
+
+  @Test
+  @DisplayName("generateExcel por meses debe interrumpir los meses en curso cuando uno falla")
+  void generateExcel_PartitionedByMonth_WhenPartitionFails_ShouldInterruptOthers()
+      throws Exception {
+    CountDownLatch februaryStarted = new CountDownLatch(1);
+    CountDownLatch februaryInterrupted = new CountDownLatch(1);
+    when(purchaseSaleRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            eq(LocalDate.of(2025, 1, 1).atStartOfDay()),
+            eq(LocalDate.of(2025, 2, 1).atStartOfDay()),
+            any(Sort.class)))
+        .thenAnswer(
+            invocation -> {
+              februaryStarted.await(5, TimeUnit.SECONDS);
+              throw new DataAccessResourceFailureException("Conexión perdida");
+            });
+    when(purchaseSaleRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            eq(LocalDate.of(2025, 2, 1).atStartOfDay()),
+            eq(LocalDate.of(2025, 3, 1).atStartOfDay()),
+            any(Sort.class)))
+        .thenAnswer(
+            invocation -> {
+              februaryStarted.countDown();
+              try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+              } catch (InterruptedException ex) {
+                februaryInterrupted.countDown();
+                throw ex;
+              }
+              return List.of(sampleContract());
+            });
+
+    assertThatThrownBy(
+            () ->
+                purchaseSaleReportService.generateExcel(
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28), true))
+        .isInstanceOf(IllegalStateException.class)
+        .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+
+    assertThat(februaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    verify(purchaseSaleDetailService, never()).toSignedDetails(anyList());
+  }
+
+  @Test
+  @DisplayName("generateExcel por meses debe reenviar el plazo de la petición desde cada mes")
+  void generateExcel_PartitionedByMonth_ShouldForwardRequestDeadline() throws Exception {
+    DeadlinePropagationInterceptor interceptor = new DeadlinePropagationInterceptor();
+    ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+    List<String> forwarded = new CopyOnWriteArrayList<>();
+    when(purchaseSaleRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            any(LocalDateTime.class), any(LocalDateTime.class), any(Sort.class)))
+        .thenReturn(List.of(sampleContract()));
+    when(purchaseSaleDetailService.toSignedDetails(anyList()))
+        .thenAnswer(
+            invocation -> {
+              MockClientHttpRequest request =
+                  new MockClientHttpRequest(
+                      HttpMethod.GET, URI.create("http://sgivu-vehicle/v1/cars/7"));
+              interceptor.intercept(request, new byte[0], execution);
+              forwarded.add(request.getHeaders().getFirst(RequestDeadline.HEADER));
+              return List.of(sampleDetail());
+            });
+
+    RequestDeadline.start(Duration.ofSeconds(30));
+    try {
+      purchaseSaleReportService.generateExcel(
+          LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28), true);
+    } finally {
+      RequestDeadline.clear();
+    }
+
+    assertThat(forwarded)
+        .hasSize(2)
+        .allSatisfy(value -> assertThat(Long.parseLong(value)).isBetween(1L, 30000L));
+  }
+
   private PurchaseSale sampleContract() {
     PurchaseSale purchaseSale = new PurchaseSale();
     purchaseSale.setId(1L);
@@ -0,0 +1,99 @@
+package com.sgivu.purchasesale.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractStatus;
+import com.sgivu.purchasesale.enums.ContractType;
+import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.repository.PurchaseSaleDailyRollupRepository;
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService.RollupContribution;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseSaleRollupServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+  @Mock private PurchaseSaleDailyRollupRepository purchaseSaleDailyRollupRepository;
+
+  private PurchaseSaleRollupService purchaseSaleRollupService;
+
+  @BeforeEach
+  void setUp() {
+    purchaseSaleRollupService = new PurchaseSaleRollupService(purchaseSaleDailyRollupRepository);
+  }
+
+  @Test
+  @DisplayName("recordCreated debe sumar el contrato a su fila diaria")
+  void recordCreated_ShouldAddContribution() {
+    purchaseSaleRollupService.recordCreated(buildContract(ContractStatus.PENDING));
+
+    verify(purchaseSaleDailyRollupRepository)
+        .applyDelta(DAY, "SALE", "PENDING", "CASH", 1, 20000000d, 24000000d);
+  }
+
+  @Test
+  @DisplayName("recordUpdated debe mover el contrato entre filas cuando cambia el estado")
+  void recordUpdated_ShouldMoveBetweenStatusBuckets() {
+    PurchaseSale contract = buildContract(ContractStatus.PENDING);
+    RollupContribution previous = purchaseSaleRollupService.contributionOf(contract);
+    contract.setContractStatus(ContractStatus.COMPLETED);
+
+    purchaseSaleRollupService.recordUpdated(previous, contract);
+
+    verify(purchaseSaleDailyRollupRepository)
+        .applyDelta(DAY, "SALE", "PENDING", "CASH", -1, -20000000d, -24000000d);
+    verify(purchaseSaleDailyRollupRepository)
+        .applyDelta(DAY, "SALE", "COMPLETED", "CASH", 1, 20000000d, 24000000d);
+  }
+
+  @Test
+  @DisplayName("recordUpdated no debe escribir cuando la contribución no cambia")
+  void recordUpdated_WithoutChanges_ShouldSkipWrites() {
+    PurchaseSale contract = buildContract(ContractStatus.ACTIVE);
+
+    purchaseSaleRollupService.recordUpdated(
+        purchaseSaleRollupService.contributionOf(contract), contract);
+
+    verify(purchaseSaleDailyRollupRepository, never())
+        .applyDelta(
+            any(), anyString(), anyString(), anyString(), anyLong(), anyDouble(), anyDouble());
+  }
+
+  @Test
+  @DisplayName("rebuild debe bloquear, vaciar y recalcular la tabla en ese orden")
+  void rebuild_ShouldLockDeleteAndReinsert() {
+    purchaseSaleRollupService.rebuild();
+
+    InOrder order = inOrder(purchaseSaleDailyRollupRepository);
+    order.verify(purchaseSaleDailyRollupRepository).lockForRebuild();
+    order.verify(purchaseSaleDailyRollupRepository).deleteAllRows();
+    order.verify(purchaseSaleDailyRollupRepository).insertFromContracts();
+  }
+
+  private PurchaseSale buildContract(ContractStatus status) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(1L);
+    contract.setCreatedAt(DAY.atTime(10, 30));
+    contract.setContractType(ContractType.SALE);
+    contract.setContractStatus(status);
+    contract.setPaymentMethod(PaymentMethod.CASH);
+    contract.setPurchasePrice(20000000d);
+    contract.setSalePrice(24000000d);
+    return contract;
+  }
+}
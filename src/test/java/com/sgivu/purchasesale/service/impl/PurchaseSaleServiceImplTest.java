@@ -2,28 +2,51 @@ package com.sgivu.purchasesale.service.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.sgivu.purchasesale.client.ClientServiceClient;
 import com.sgivu.purchasesale.client.UserServiceClient;
 import com.sgivu.purchasesale.client.VehicleServiceClient;
 import com.sgivu.purchasesale.dto.Car;
+import com.sgivu.purchasesale.dto.Company;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionRequest;
+import com.sgivu.purchasesale.dto.ContractStatusTransitionResult;
 import com.sgivu.purchasesale.dto.Person;
 import com.sgivu.purchasesale.dto.PurchaseSaleRequest;
 import com.sgivu.purchasesale.dto.User;
+import com.sgivu.purchasesale.entity.ClientSnapshot;
 import com.sgivu.purchasesale.entity.PurchaseSale;
+import com.sgivu.purchasesale.enums.ContractEventType;
 import com.sgivu.purchasesale.enums.ContractStatus;
 import com.sgivu.purchasesale.enums.ContractType;
 import com.sgivu.purchasesale.enums.PaymentMethod;
+import com.sgivu.purchasesale.enums.TransitionOutcome;
+import com.sgivu.purchasesale.event.PurchaseSaleChangedEvent;
+import com.sgivu.purchasesale.exception.DeadlineExceededException;
+import com.sgivu.purchasesale.exception.ResourceNotFoundException;
 import com.sgivu.purchasesale.mapper.PurchaseSaleMapper;
 import com.sgivu.purchasesale.mapper.PurchaseSaleMapperImpl;
 import com.sgivu.purchasesale.repository.PurchaseSaleRepository;
+import com.sgivu.purchasesale.repository.PurchaseSaleRepository.ContractRow;
+import com.sgivu.purchasesale.service.PurchaseSaleCacheEvictor;
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService;
+import com.sgivu.purchasesale.service.PurchaseSaleRollupService.RollupContribution;
+import com.sgivu.purchasesale.util.RequestDeadline;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +54,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 
 @ExtendWith(MockitoExtension.class)
 class PurchaseSaleServiceImplTest {
@@ -44,6 +70,9 @@ class PurchaseSaleServiceImplTest {
   @Mock private ClientServiceClient clientServiceClient;
   @Mock private VehicleServiceClient vehicleServiceClient;
   @Mock private UserServiceClient userServiceClient;
+  @Mock private PurchaseSaleRollupService purchaseSaleRollupService;
+  @Mock private PurchaseSaleCacheEvictor purchaseSaleCacheEvictor;
+  @Mock private ApplicationEventPublisher applicationEventPublisher;
 
   private PurchaseSaleServiceImpl purchaseSaleService;
   private PurchaseSaleMapper purchaseSaleMapper;
@@ -57,7 +86,10 @@ class PurchaseSaleServiceImplTest {
             purchaseSaleMapper,
             clientServiceClient,
             vehicleServiceClient,
-            userServiceClient);
+            userServiceClient,
+            purchaseSaleRollupService,
+            purchaseSaleCacheEvictor,
+            applicationEventPublisher);
   }
 
   @Test
@@ -74,7 +106,7 @@ class PurchaseSaleServiceImplTest {
     existingPurchase.setContractType(ContractType.PURCHASE);
     existingPurchase.setContractStatus(ContractStatus.COMPLETED);
 
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID))
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID))
         .thenReturn(List.of(existingPurchase));
     when(purchaseSaleRepository.save(any(PurchaseSale.class)))
         .thenAnswer(
@@ -101,6 +133,23 @@ class PurchaseSaleServiceImplTest {
     verify(vehicleServiceClient).getCarById(VEHICLE_ID);
   }
 
+  @Test
+  @DisplayName("create no debe guardar el contrato si el plazo de la petición se agotó")
+  void create_WhenDeadlineExpired_ShouldNotSave() {
+    PurchaseSaleRequest request = buildBaseRequest();
+    configureSuccessfulExternalLookups();
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+
+    RequestDeadline.start(Duration.ZERO);
+    try {
+      assertThatThrownBy(() -> purchaseSaleService.create(request))
+          .isInstanceOf(DeadlineExceededException.class);
+    } finally {
+      RequestDeadline.clear();
+    }
+    verify(purchaseSaleRepository, never()).save(any(PurchaseSale.class));
+  }
+
   @Test
   @DisplayName("create debe persistir una venta cuando existe una compra activa o completada")
   void create_ShouldPersistSaleWithValidPurchase() {
@@ -117,7 +166,7 @@ class PurchaseSaleServiceImplTest {
     existingPurchase.setContractType(ContractType.PURCHASE);
     existingPurchase.setContractStatus(ContractStatus.COMPLETED);
 
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID))
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID))
         .thenReturn(List.of(existingPurchase));
     when(purchaseSaleRepository.save(any(PurchaseSale.class)))
         .thenAnswer(
@@ -143,7 +192,7 @@ class PurchaseSaleServiceImplTest {
     request.setSalePrice(19000000d);
 
     configureSuccessfulExternalLookups();
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
 
     assertThatThrownBy(() -> purchaseSaleService.create(request))
         .isInstanceOf(IllegalArgumentException.class)
@@ -165,7 +214,7 @@ class PurchaseSaleServiceImplTest {
     existingPurchase.setContractType(ContractType.PURCHASE);
     existingPurchase.setContractStatus(ContractStatus.COMPLETED);
 
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID))
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID))
         .thenReturn(List.of(existingPurchase));
 
     assertThatThrownBy(() -> purchaseSaleService.create(request))
@@ -195,7 +244,7 @@ class PurchaseSaleServiceImplTest {
     existingSale.setContractType(ContractType.SALE);
     existingSale.setContractStatus(ContractStatus.ACTIVE);
 
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID))
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID))
         .thenReturn(List.of(existingPurchase, existingSale));
 
     assertThatThrownBy(() -> purchaseSaleService.create(request))
@@ -215,13 +264,73 @@ class PurchaseSaleServiceImplTest {
     existing.setContractType(ContractType.PURCHASE);
     existing.setContractStatus(ContractStatus.ACTIVE);
 
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID)).thenReturn(List.of(existing));
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of(existing));
 
     assertThatThrownBy(() -> purchaseSaleService.create(request))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("ya tiene una compra registrada");
   }
 
+  @Test
+  @DisplayName("create debe guardar los datos de los participantes resueltos al validar")
+  void create_ShouldStoreParticipantSnapshots() {
+    PurchaseSaleRequest request = buildBaseRequest();
+
+    Person person = new Person();
+    person.setId(CLIENT_ID);
+    person.setFirstName("Ana");
+    person.setLastName("Gómez");
+    person.setNationalId(123L);
+    when(clientServiceClient.getPersonById(CLIENT_ID)).thenReturn(person);
+    User user = new User();
+    user.setId(USER_ID);
+    user.setUsername("asesor");
+    when(userServiceClient.getUserById(USER_ID)).thenReturn(user);
+    Car car = new Car();
+    car.setId(VEHICLE_ID);
+    car.setBrand("Mazda");
+    car.setPlate("ABC123");
+    when(vehicleServiceClient.getCarById(VEHICLE_ID)).thenReturn(car);
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+    when(purchaseSaleRepository.save(any(PurchaseSale.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    PurchaseSale result = purchaseSaleService.create(request);
+
+    assertThat(result.getClientSnapshot().getName()).isEqualTo("Ana Gómez");
+    assertThat(result.getClientSnapshot().getIdentifier()).isEqualTo("CC 123");
+    assertThat(result.getUserSnapshot().getUsername()).isEqualTo("asesor");
+    assertThat(result.getVehicleSnapshot().getType()).isEqualTo("CAR");
+    assertThat(result.getVehicleSnapshot().getPlate()).isEqualTo("ABC123");
+  }
+
+  @Test
+  @DisplayName("update no debe reemplazar los datos de firma si los participantes no cambian")
+  void update_WithSameParticipants_ShouldKeepSnapshots() {
+    PurchaseSaleRequest request = buildBaseRequest();
+
+    configureSuccessfulExternalLookups();
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+    ClientSnapshot signedClient = new ClientSnapshot("PERSON", "Al firmar", null, null, null);
+    PurchaseSale stored = new PurchaseSale();
+    stored.setId(77L);
+    stored.setClientId(CLIENT_ID);
+    stored.setUserId(USER_ID);
+    stored.setVehicleId(VEHICLE_ID);
+    stored.setClientSnapshot(signedClient);
+    stored.setContractType(ContractType.PURCHASE);
+    stored.setContractStatus(ContractStatus.PENDING);
+    when(purchaseSaleRepository.findById(77L)).thenReturn(Optional.of(stored));
+    when(purchaseSaleRepository.save(any(PurchaseSale.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    PurchaseSale result = purchaseSaleService.update(77L, request).orElseThrow();
+
+    assertThat(result.getClientSnapshot()).isSameAs(signedClient);
+    assertThat(result.getUserSnapshot()).isNull();
+    assertThat(result.getVehicleSnapshot()).isNull();
+  }
+
   @Test
   @DisplayName("update debe mantener la lógica de compra y forzar salePrice en cero")
   void update_ShouldApplyPurchaseDefaults() {
@@ -229,7 +338,7 @@ class PurchaseSaleServiceImplTest {
     request.setContractStatus(ContractStatus.COMPLETED);
 
     configureSuccessfulExternalLookups();
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
 
     PurchaseSale stored = new PurchaseSale();
     stored.setId(77L);
@@ -255,10 +364,77 @@ class PurchaseSaleServiceImplTest {
     assertThat(updated.getContractStatus()).isEqualTo(ContractStatus.COMPLETED);
     assertThat(updated.getPurchasePrice()).isEqualTo(PURCHASE_PRICE);
 
-    verify(purchaseSaleRepository, times(1)).findByVehicleId(VEHICLE_ID);
+    verify(purchaseSaleRepository, times(1)).findCurrentByVehicleId(VEHICLE_ID);
     verify(purchaseSaleRepository).save(eq(stored));
   }
 
+  @Test
+  @DisplayName("update debe trasladar en el agregado diario la contribución previa al guardado")
+  void update_ShouldMoveRollupContribution() {
+    PurchaseSaleRequest request = buildBaseRequest();
+    request.setContractStatus(ContractStatus.COMPLETED);
+
+    configureSuccessfulExternalLookups();
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+
+    PurchaseSale stored = new PurchaseSale();
+    stored.setId(77L);
+    stored.setContractType(ContractType.PURCHASE);
+    stored.setContractStatus(ContractStatus.PENDING);
+    RollupContribution previous =
+        new RollupContribution(
+            LocalDate.of(2025, 1, 10),
+            ContractType.PURCHASE,
+            ContractStatus.PENDING,
+            PaymentMethod.CASH,
+            10000000d,
+            0d);
+
+    when(purchaseSaleRepository.findById(77L)).thenReturn(Optional.of(stored));
+    when(purchaseSaleRollupService.contributionOf(stored)).thenReturn(previous);
+    when(purchaseSaleRepository.save(any(PurchaseSale.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    purchaseSaleService.update(77L, request);
+
+    verify(purchaseSaleRollupService).recordUpdated(previous, stored);
+  }
+
+  @Test
+  @DisplayName("deleteById debe eliminar en una sola sentencia y publicar la baja")
+  void deleteById_ShouldDeleteWithSingleStatementAndPublishEvent() {
+    ContractRow deleted = mock(ContractRow.class);
+    when(deleted.getId()).thenReturn(77L);
+    when(deleted.getVehicleId()).thenReturn(VEHICLE_ID);
+    when(deleted.getContractStatus()).thenReturn(ContractStatus.ACTIVE);
+    when(purchaseSaleRepository.deleteReturning(eq(77L), any(LocalDateTime.class)))
+        .thenReturn(Optional.of(deleted));
+
+    boolean result = purchaseSaleService.deleteById(77L);
+
+    assertThat(result).isTrue();
+    verify(purchaseSaleRepository, never()).findById(any());
+    verify(purchaseSaleCacheEvictor).evictContract(77L);
+    ArgumentCaptor<PurchaseSaleChangedEvent> event =
+        ArgumentCaptor.forClass(PurchaseSaleChangedEvent.class);
+    verify(applicationEventPublisher).publishEvent(event.capture());
+    assertThat(event.getValue().type()).isEqualTo(ContractEventType.DELETED);
+    assertThat(event.getValue().contractId()).isEqualTo(77L);
+    assertThat(event.getValue().vehicleId()).isEqualTo(VEHICLE_ID);
+    assertThat(event.getValue().contractStatus()).isEqualTo(ContractStatus.ACTIVE);
+  }
+
+  @Test
+  @DisplayName("deleteById debe devolver false sin publicar eventos cuando el contrato no existe")
+  void deleteById_WhenMissing_ShouldReturnFalse() {
+    when(purchaseSaleRepository.deleteReturning(eq(77L), any(LocalDateTime.class)))
+        .thenReturn(Optional.empty());
+
+    assertThat(purchaseSaleService.deleteById(77L)).isFalse();
+    verify(purchaseSaleCacheEvictor, never()).evictContract(any());
+    verify(applicationEventPublisher, never()).publishEvent(any());
+  }
+
   @Test
   @DisplayName("update no debe permitir cambiar el tipo de contrato")
   void update_ShouldRejectContractTypeChange() {
@@ -267,7 +443,7 @@ class PurchaseSaleServiceImplTest {
     request.setSalePrice(20000000d);
 
     configureSuccessfulExternalLookups();
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID)).thenReturn(List.of());
 
     PurchaseSale stored = new PurchaseSale();
     stored.setId(88L);
@@ -312,7 +488,7 @@ class PurchaseSaleServiceImplTest {
     canceledPurchase.setContractType(ContractType.PURCHASE);
     canceledPurchase.setContractStatus(ContractStatus.CANCELED);
 
-    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID))
+    when(purchaseSaleRepository.findCurrentByVehicleId(VEHICLE_ID))
         .thenReturn(List.of(canceledPurchase, storedSale));
     when(purchaseSaleRepository.findById(91L)).thenReturn(Optional.of(storedSale));
     when(purchaseSaleRepository.save(any(PurchaseSale.class)))
@@ -324,6 +500,197 @@ class PurchaseSaleServiceImplTest {
     assertThat(result.orElseThrow().getContractStatus()).isEqualTo(ContractStatus.CANCELED);
   }
 
+  @Test
+  @DisplayName("findByClientId no debe consultar servicios remotos si hay contratos locales")
+  void findByClientId_WithLocalContracts_ShouldSkipRemoteLookup() {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setClientId(CLIENT_ID);
+    when(purchaseSaleRepository.findByClientId(CLIENT_ID)).thenReturn(List.of(contract));
+
+    assertThat(purchaseSaleService.findByClientId(CLIENT_ID)).containsExactly(contract);
+    verifyNoInteractions(clientServiceClient);
+  }
+
+  @Test
+  @DisplayName("findByClientId debe devolver lista vacía si el cliente existe sin contratos")
+  void findByClientId_WithKnownClientWithoutContracts_ShouldReturnEmpty() {
+    when(purchaseSaleRepository.findByClientId(CLIENT_ID)).thenReturn(List.of());
+    when(clientServiceClient.getPersonById(CLIENT_ID)).thenThrow(notFound());
+    Company company = new Company();
+    company.setId(CLIENT_ID);
+    when(clientServiceClient.getCompanyById(CLIENT_ID)).thenReturn(company);
+
+    assertThat(purchaseSaleService.findByClientId(CLIENT_ID)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("findByVehicleId debe lanzar 404 si el vehículo no existe")
+  void findByVehicleId_WithUnknownVehicle_ShouldThrowNotFound() {
+    when(purchaseSaleRepository.findByVehicleId(VEHICLE_ID)).thenReturn(List.of());
+    when(vehicleServiceClient.getCarById(VEHICLE_ID)).thenThrow(notFound());
+    when(vehicleServiceClient.getMotorcycleById(VEHICLE_ID)).thenThrow(notFound());
+
+    assertThatThrownBy(() -> purchaseSaleService.findByVehicleId(VEHICLE_ID))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("findByUserId debe propagar errores remotos distintos de 404")
+  void findByUserId_WhenRemoteFails_ShouldPropagate() {
+    when(purchaseSaleRepository.findByUserId(USER_ID)).thenReturn(List.of());
+    when(userServiceClient.getUserById(USER_ID))
+        .thenThrow(HttpClientErrorException.create(HttpStatus.FORBIDDEN, "", null, null, null));
+
+    assertThatThrownBy(() -> purchaseSaleService.findByUserId(USER_ID))
+        .isInstanceOf(HttpClientErrorException.class);
+  }
+
+  @Test
+  @DisplayName("transitionStatus debe devolver el resultado de cada id en el orden pedido")
+  void transitionStatus_ShouldReportOutcomePerId() {
+    PurchaseSale pending = contract(1L, ContractType.PURCHASE, ContractStatus.PENDING);
+    PurchaseSale active = contract(2L, ContractType.PURCHASE, ContractStatus.ACTIVE);
+    PurchaseSale changedMeanwhile = contract(4L, ContractType.PURCHASE, ContractStatus.PENDING);
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(1L, 2L, 3L, 4L)))
+        .thenReturn(List.of(pending, active, changedMeanwhile));
+    ContractRow updated = mock(ContractRow.class);
+    when(updated.getId()).thenReturn(1L);
+    when(updated.getContractStatus()).thenReturn(ContractStatus.CANCELED);
+    when(purchaseSaleRepository.transitionStatus(
+            eq(List.of(1L, 4L)),
+            eq("PENDING"),
+            eq("CANCELED"),
+            eq(pending.getCreatedAt()),
+            eq(changedMeanwhile.getCreatedAt()),
+            any(LocalDateTime.class)))
+        .thenReturn(List.of(updated));
+
+    List<ContractStatusTransitionResult> results =
+        purchaseSaleService.transitionStatus(
+            transitionRequest(List.of(1L, 2L, 3L, 1L, 4L), ContractStatus.CANCELED));
+
+    assertThat(results)
+        .extracting(
+            ContractStatusTransitionResult::getId, ContractStatusTransitionResult::getOutcome)
+        .containsExactly(
+            tuple(1L, TransitionOutcome.UPDATED),
+            tuple(2L, TransitionOutcome.STATUS_MISMATCH),
+            tuple(3L, TransitionOutcome.NOT_FOUND),
+            tuple(4L, TransitionOutcome.STATUS_MISMATCH));
+    verify(purchaseSaleRepository, never()).findByVehicleIdIn(any());
+    verify(purchaseSaleCacheEvictor).evictContracts(List.of(1L, 4L));
+    ArgumentCaptor<PurchaseSaleChangedEvent> event =
+        ArgumentCaptor.forClass(PurchaseSaleChangedEvent.class);
+    verify(applicationEventPublisher).publishEvent(event.capture());
+    assertThat(event.getValue().type()).isEqualTo(ContractEventType.UPDATED);
+    assertThat(event.getValue().contractStatus()).isEqualTo(ContractStatus.CANCELED);
+  }
+
+  @Test
+  @DisplayName("transitionStatus debe validar las reglas del vehículo cuando el destino lo exige")
+  void transitionStatus_SaleWithoutStock_ShouldReportRuleViolation() {
+    PurchaseSale sale = contract(5L, ContractType.SALE, ContractStatus.PENDING);
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(5L))).thenReturn(List.of(sale));
+    when(purchaseSaleRepository.findByVehicleIdIn(Set.of(VEHICLE_ID))).thenReturn(List.of(sale));
+
+    List<ContractStatusTransitionResult> results =
+        purchaseSaleService.transitionStatus(
+            transitionRequest(List.of(5L), ContractStatus.COMPLETED));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getOutcome()).isEqualTo(TransitionOutcome.RULE_VIOLATION);
+    assertThat(results.get(0).getMessage()).contains("no cuenta con una compra activa");
+    verify(purchaseSaleRepository, never())
+        .transitionStatus(any(), any(), any(), any(), any(), any());
+    verifyNoInteractions(applicationEventPublisher, vehicleServiceClient);
+  }
+
+  @Test
+  @DisplayName("transitionStatus debe validar cada contrato contra los ya aceptados en el lote")
+  void transitionStatus_TwoPurchasesOfSameVehicle_ShouldRejectSecond() {
+    PurchaseSale first = contract(6L, ContractType.PURCHASE, ContractStatus.CANCELED);
+    PurchaseSale second = contract(7L, ContractType.PURCHASE, ContractStatus.CANCELED);
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(6L, 7L)))
+        .thenReturn(List.of(first, second));
+    when(purchaseSaleRepository.findByVehicleIdIn(Set.of(VEHICLE_ID)))
+        .thenReturn(List.of(first, second));
+    ContractRow updated = mock(ContractRow.class);
+    when(updated.getId()).thenReturn(6L);
+    when(updated.getContractStatus()).thenReturn(ContractStatus.PENDING);
+    when(purchaseSaleRepository.transitionStatus(
+            eq(List.of(6L)),
+            eq("CANCELED"),
+            eq("PENDING"),
+            eq(first.getCreatedAt()),
+            eq(first.getCreatedAt()),
+            any(LocalDateTime.class)))
+        .thenReturn(List.of(updated));
+    ContractStatusTransitionRequest request =
+        transitionRequest(List.of(6L, 7L), ContractStatus.PENDING);
+    request.setFromStatus(ContractStatus.CANCELED);
+
+    List<ContractStatusTransitionResult> results = purchaseSaleService.transitionStatus(request);
+
+    assertThat(results)
+        .extracting(
+            ContractStatusTransitionResult::getId, ContractStatusTransitionResult::getOutcome)
+        .containsExactly(
+            tuple(6L, TransitionOutcome.UPDATED), tuple(7L, TransitionOutcome.RULE_VIOLATION));
+    assertThat(first.getContractStatus()).isEqualTo(ContractStatus.CANCELED);
+  }
+
+  @Test
+  @DisplayName("transitionStatus debe validar con los contratos de la base, no con la caché")
+  void transitionStatus_ShouldUseDatabaseRowsOverCachedCopies() {
+    PurchaseSale cached = contract(8L, ContractType.PURCHASE, ContractStatus.PENDING);
+    PurchaseSale current = contract(8L, ContractType.PURCHASE, ContractStatus.CANCELED);
+    lenient().when(purchaseSaleRepository.findAllById(List.of(8L))).thenReturn(List.of(cached));
+    lenient().when(purchaseSaleRepository.findById(8L)).thenReturn(Optional.of(cached));
+    when(purchaseSaleRepository.findCurrentByIdIn(List.of(8L))).thenReturn(List.of(current));
+
+    List<ContractStatusTransitionResult> results =
+        purchaseSaleService.transitionStatus(
+            transitionRequest(List.of(8L), ContractStatus.CANCELED));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getOutcome()).isEqualTo(TransitionOutcome.STATUS_MISMATCH);
+    verify(purchaseSaleRepository, never())
+        .transitionStatus(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("transitionStatus debe rechazar una solicitud sin ids ni filtro")
+  void transitionStatus_WithoutIdsOrFilter_ShouldThrow() {
+    assertThatThrownBy(
+            () ->
+                purchaseSaleService.transitionStatus(
+                    transitionRequest(List.of(), ContractStatus.CANCELED)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static ContractStatusTransitionRequest transitionRequest(
+      List<Long> ids, ContractStatus toStatus) {
+    ContractStatusTransitionRequest request = new ContractStatusTransitionRequest();
+    request.setIds(ids);
+    request.setFromStatus(ContractStatus.PENDING);
+    request.setToStatus(toStatus);
+    return request;
+  }
+
+  private static PurchaseSale contract(Long id, ContractType type, ContractStatus status) {
+    PurchaseSale contract = new PurchaseSale();
+    contract.setId(id);
+    contract.setVehicleId(VEHICLE_ID);
+    contract.setContractType(type);
+    contract.setContractStatus(status);
+    contract.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(id));
+    return contract;
+  }
+
+  private static HttpClientErrorException notFound() {
+    return HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null);
+  }
+
   private PurchaseSaleRequest buildBaseRequest() {
     PurchaseSaleRequest request = new PurchaseSaleRequest();
     request.setClientId(CLIENT_ID);
@@ -0,0 +1,49 @@
+package com.sgivu.purchasesale.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sgivu.purchasesale.enums.DetailInclude;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DetailSelectionTest {
+
+  @Test
+  @DisplayName("parse debe incluir el id y ordenar los campos según la respuesta")
+  void parse_ShouldAlwaysIncludeIdInDeclarationOrder() {
+    DetailSelection selection =
+        DetailSelection.parse(List.of("salePrice", " vehicleId "), List.of("vehicle"));
+
+    assertThat(selection.fields()).containsExactly("id", "vehicleId", "salePrice");
+    assertThat(selection.includes()).containsExactly(DetailInclude.VEHICLE);
+  }
+
+  @Test
+  @DisplayName("Sin fields ni include debe seleccionar todos los campos y resúmenes")
+  void parse_WithoutParameters_ShouldSelectEverything() {
+    DetailSelection selection = DetailSelection.parse(null, null);
+
+    assertThat(selection.fields()).containsExactlyElementsOf(DetailSelection.CONTRACT_FIELDS);
+    assertThat(selection.includes()).containsExactlyInAnyOrder(DetailInclude.values());
+  }
+
+  @Test
+  @DisplayName("columnsToSelect debe agregar los ids que necesitan los resúmenes pedidos")
+  void columnsToSelect_ShouldAddReferencedIds() {
+    DetailSelection selection = DetailSelection.parse(List.of("salePrice"), List.of("CLIENT"));
+
+    assertThat(selection.columnsToSelect()).containsExactly("id", "salePrice", "clientId");
+    assertThat(selection.fields()).doesNotContain("clientId");
+  }
+
+  @Test
+  @DisplayName("parse debe rechazar campos e include desconocidos")
+  void parse_WithUnknownValues_ShouldThrow() {
+    assertThatThrownBy(() -> DetailSelection.parse(List.of("password"), null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DetailSelection.parse(null, List.of("dealer")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}